@@ -4,10 +4,6 @@ import com.fasterxml.jackson.annotation.JsonView;
 import io.swagger.v3.oas.models.media.Schema;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 
 public class AnnotatedType {
@@ -23,6 +19,8 @@ public class AnnotatedType {
     private boolean skipSchemaName;
     private boolean skipJsonIdentity;
     private String propertyName;
+    // identity of type and ctx annotations, dropped whenever one of them is set
+    private AnnotatedTypeKey key;
 
     public AnnotatedType() {
     }
@@ -141,6 +139,7 @@ public class AnnotatedType {
 
     public void setCtxAnnotations(Annotation[] ctxAnnotations) {
         this.ctxAnnotations = ctxAnnotations;
+        this.key = null;
     }
 
     public AnnotatedType ctxAnnotations(Annotation[] ctxAnnotations) {
@@ -154,6 +153,7 @@ public class AnnotatedType {
 
     public void setType(Type type) {
         this.type = type;
+        this.key = null;
     }
 
     public AnnotatedType type(Type type) {
@@ -196,6 +196,15 @@ public class AnnotatedType {
         return this;
     }
 
+    AnnotatedTypeKey key() {
+        AnnotatedTypeKey result = key;
+        if (result == null) {
+            result = new AnnotatedTypeKey(type, ctxAnnotations);
+            key = result;
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -204,41 +213,11 @@ public class AnnotatedType {
         if (!(o instanceof AnnotatedType)) {
             return false;
         }
-        AnnotatedType that = (AnnotatedType) o;
-
-        if ((type == null && that.type != null) || (type != null && that.type == null)) {
-            return false;
-        }
-
-        if (type != null && that.type != null && !type.equals(that.type)) {
-            return false;
-        }
-        return Arrays.equals(this.ctxAnnotations, that.ctxAnnotations);
+        return key().equals(((AnnotatedType) o).key());
     }
 
-
     @Override
     public int hashCode() {
-        if (ctxAnnotations == null || ctxAnnotations.length == 0) {
-            return Objects.hash(type, "fixed");
-        }
-        List<Annotation> meaningfulAnnotations = new ArrayList<>();
-
-        boolean hasDifference = false;
-        for (Annotation a: ctxAnnotations) {
-            if(!a.annotationType().getName().startsWith("sun") && !a.annotationType().getName().startsWith("jdk")) {
-                meaningfulAnnotations.add(a);
-            } else {
-                hasDifference = true;
-            }
-        }
-        int result = 1;
-        result = 31 * result + (type == null ? 0 : Objects.hash(type, "fixed"));
-        if (hasDifference) {
-            result = 31 * result + meaningfulAnnotations.hashCode();
-        } else {
-            result = 31 * result + Arrays.hashCode(ctxAnnotations);
-        }
-        return result;
+        return key().hashCode();
     }
 }
@@ -0,0 +1,57 @@
+package io.swagger.v3.core.converter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable identity of an {@link AnnotatedType}: its type and ctx annotations, with the hash computed once.
+ *
+ * {@link AnnotatedType} keeps the key it handed out until its type or ctx annotations are set again, so hashing the
+ * same annotated type repeatedly does not walk its annotations again.
+ */
+public final class AnnotatedTypeKey {
+
+    private final Type type;
+    private final Annotation[] ctxAnnotations;
+    private final int hash;
+
+    AnnotatedTypeKey(Type type, Annotation[] ctxAnnotations) {
+        this.type = type;
+        this.ctxAnnotations = ctxAnnotations == null ? null : ctxAnnotations.clone();
+        this.hash = 31 * Objects.hashCode(type) + Arrays.hashCode(ctxAnnotations);
+    }
+
+    public static AnnotatedTypeKey of(AnnotatedType annotatedType) {
+        return annotatedType.key();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AnnotatedTypeKey)) {
+            return false;
+        }
+        AnnotatedTypeKey that = (AnnotatedTypeKey) o;
+        return hash == that.hash
+                && Objects.equals(type, that.type)
+                && Arrays.equals(ctxAnnotations, that.ctxAnnotations);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotatedTypeKey{type=" + type + ", ctxAnnotations=" + Arrays.toString(ctxAnnotations) + '}';
+    }
+}
@@ -0,0 +1,194 @@
+package io.swagger.v3.core.converter;
+
+import io.swagger.v3.core.util.OptionalUtils;
+import io.swagger.v3.oas.models.media.Schema;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import org.rainday.logging.Logger;
+import org.rainday.logging.LoggerFactory;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * {@link ModelConverterContext} which can be shared by threads resolving types at the same time.
+ *
+ * Every type is resolved once: a thread resolving a type another thread is already resolving waits for that
+ * resolution instead of starting its own. A thread resolving a type it is itself resolving, or which would have to
+ * wait for a thread waiting on it, gets the schema defined for the type so far, as {@link ModelConverterContextImpl}
+ * returns for recursive types.
+ *
+ * Schemas are not copied and not locked. A converter must only change the schema of the type it resolves, before it
+ * returns it. {@code ModelResolver} does not hold to this for polymorphic types: resolving a type with
+ * {@code @JsonSubTypes} rewrites the schemas of its subtypes into composed schemas and redefines them, while another
+ * thread may be reading or resolving those subtypes. Types with subtypes must therefore not be resolved from several
+ * threads through this context; resolve them from a single thread, or with a {@link ModelConverterContextImpl}. The
+ * {@code Reader} does not use this context.
+ */
+public class ConcurrentModelConverterContext implements ModelConverterContext {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentModelConverterContext.class);
+
+    private final List<ModelConverter> converters;
+    private final ModelConverterChains chains;
+    private final ConcurrentMap<String, Schema> modelByName = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<AnnotatedTypeKey, Schema> modelByType = new ConcurrentHashMap<>();
+    // resolutions in progress, and the completed ones which resolved a schema
+    private final ConcurrentMap<AnnotatedTypeKey, Resolution> resolutions = new ConcurrentHashMap<>();
+    // the resolution each blocked thread waits for, guarded by itself
+    private final Map<Thread, Resolution> waiting = new HashMap<>();
+
+    public ConcurrentModelConverterContext(List<ModelConverter> converters) {
+        this(new ArrayList<>(converters), null);
+    }
+
+    ConcurrentModelConverterContext(ModelConverterChains chains) {
+        this(chains.getConverters(), chains);
+    }
+
+    private ConcurrentModelConverterContext(List<ModelConverter> converters, ModelConverterChains chains) {
+        this.converters = converters;
+        this.chains = chains;
+    }
+
+    @Override
+    public Iterator<ModelConverter> getConverters() {
+        return converters.iterator();
+    }
+
+    @Override
+    public void defineModel(String name, Schema model) {
+        AnnotatedType aType = null;
+        defineModel(name, model, aType, null);
+    }
+
+    @Override
+    public void defineModel(String name, Schema model, Type type, String prevName) {
+        defineModel(name, model, new AnnotatedType().type(type), prevName);
+    }
+
+    @Override
+    public void defineModel(String name, Schema model, AnnotatedType type, String prevName) {
+        if (logger.isTraceEnabled()) {
+            logger.trace(String.format("defineModel %s %s", name, model));
+        }
+        modelByName.put(name, model);
+
+        if (StringUtils.isNotBlank(prevName) && !prevName.equals(name)) {
+            modelByName.remove(prevName);
+        }
+
+        if (type != null && type.getType() != null) {
+            modelByType.put(type.key(), model);
+        }
+    }
+
+    @Override
+    public Map<String, Schema> getDefinedModels() {
+        return Collections.unmodifiableMap(modelByName);
+    }
+
+    @Override
+    public Schema resolve(AnnotatedType type) {
+
+        AnnotatedType aType = OptionalUtils.unwrapOptional(type);
+        if (aType != null) {
+            return resolve(aType);
+        }
+
+        AnnotatedTypeKey key = type.key();
+        Resolution resolution = new Resolution(Thread.currentThread());
+        Resolution existing = resolutions.putIfAbsent(key, resolution);
+        if (existing != null) {
+            return await(key, existing);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("resolve %s", type.getType()));
+        }
+        Schema resolved = null;
+        try {
+            Iterator<ModelConverter> converters = chains == null ? this.getConverters() : chains.forType(type.getType()).iterator();
+            if (converters.hasNext()) {
+                ModelConverter converter = converters.next();
+                logger.trace("trying extension " + converter);
+                resolved = converter.resolve(type, this, converters);
+            }
+        } catch (RuntimeException | Error e) {
+            resolutions.remove(key, resolution);
+            resolution.future.completeExceptionally(e);
+            throw e;
+        }
+        if (resolved != null) {
+            modelByType.put(key, resolved);
+
+            if (resolved.getName() != null) {
+                modelByName.put(resolved.getName(), resolved);
+            }
+        } else {
+            // resolved again next time, as the single threaded context does
+            resolutions.remove(key, resolution);
+        }
+        resolution.future.complete(resolved);
+        return resolved;
+    }
+
+    private Schema await(AnnotatedTypeKey key, Resolution resolution) {
+        if (resolution.future.isDone()) {
+            return resolved(key, resolution);
+        }
+        Thread current = Thread.currentThread();
+        synchronized (waiting) {
+            // the owner is this thread, or waits for it through other resolutions: return what is defined so far
+            Thread owner = resolution.owner;
+            while (owner != null) {
+                if (owner == current) {
+                    return modelByType.get(key);
+                }
+                Resolution awaited = waiting.get(owner);
+                owner = awaited == null ? null : awaited.owner;
+            }
+            waiting.put(current, resolution);
+        }
+        try {
+            return resolved(key, resolution);
+        } finally {
+            synchronized (waiting) {
+                waiting.remove(current);
+            }
+        }
+    }
+
+    private Schema resolved(AnnotatedTypeKey key, Resolution resolution) {
+        try {
+            return resolution.future.get() == null ? null : modelByType.get(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return modelByType.get(key);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class Resolution {
+        private final Thread owner;
+        private final CompletableFuture<Schema> future = new CompletableFuture<>();
+
+        Resolution(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.swagger.v3.core.converter;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Converter chains of {@link ModelConverters} per raw class, leaving out the {@link SelectiveModelConverter}s which
+ * do not apply to the class. Chains are computed once per class and held in a {@link ClassValue}; a new instance is
+ * created whenever the converters change.
+ */
+final class ModelConverterChains {
+
+    private final List<ModelConverter> converters;
+    private final ClassValue<List<ModelConverter>> chains;
+
+    ModelConverterChains(List<ModelConverter> converters) {
+        this.converters = Collections.unmodifiableList(new ArrayList<>(converters));
+        boolean selective = false;
+        for (ModelConverter converter : converters) {
+            selective |= converter instanceof SelectiveModelConverter;
+        }
+        this.chains = !selective ? null : new ClassValue<List<ModelConverter>>() {
+            @Override
+            protected List<ModelConverter> computeValue(Class<?> type) {
+                return chainFor(type);
+            }
+        };
+    }
+
+    List<ModelConverter> getConverters() {
+        return converters;
+    }
+
+    /**
+     * @return the converters applying to the raw class of the type, in order
+     */
+    List<ModelConverter> forType(Type type) {
+        if (chains == null || type == null) {
+            return converters;
+        }
+        return chains.get(rawClass(type));
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof JavaType) {
+            return ((JavaType) type).getRawClass();
+        }
+        return TypeFactory.defaultInstance().constructType(type).getRawClass();
+    }
+
+    private List<ModelConverter> chainFor(Class<?> cls) {
+        List<ModelConverter> chain = new ArrayList<>(converters.size());
+        for (ModelConverter converter : converters) {
+            if (!(converter instanceof SelectiveModelConverter) || appliesTo((SelectiveModelConverter) converter, cls)) {
+                chain.add(converter);
+            }
+        }
+        return chain.size() == converters.size() ? converters : Collections.unmodifiableList(chain);
+    }
+
+    private static boolean appliesTo(SelectiveModelConverter converter, Class<?> cls) {
+        if (converter.getApplicableClasses().isEmpty()
+                && converter.getApplicablePackages().isEmpty()
+                && converter.getApplicableAnnotations().isEmpty()) {
+            return true;
+        }
+        for (Class<?> applicable : converter.getApplicableClasses()) {
+            if (applicable.isAssignableFrom(cls)) {
+                return true;
+            }
+        }
+        String className = cls.getName();
+        for (String pkg : converter.getApplicablePackages()) {
+            if (className.startsWith(pkg) && className.length() > pkg.length() && className.charAt(pkg.length()) == '.') {
+                return true;
+            }
+        }
+        for (Class<? extends Annotation> annotation : converter.getApplicableAnnotations()) {
+            if (cls.isAnnotationPresent(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -20,12 +20,22 @@ public class ModelConverterContextImpl implements ModelConverterContext {
     private static final Logger logger = LoggerFactory.getLogger(ModelConverterContextImpl.class);
 
     private final List<ModelConverter> converters;
+    private final ModelConverterChains chains;
     private final Map<String, Schema> modelByName;
-    private final HashMap<AnnotatedType, Schema> modelByType;
-    private final Set<AnnotatedType> processedTypes;
+    private final HashMap<AnnotatedTypeKey, Schema> modelByType;
+    private final Set<AnnotatedTypeKey> processedTypes;
 
     public ModelConverterContextImpl(List<ModelConverter> converters) {
+        this(converters, null);
+    }
+
+    ModelConverterContextImpl(ModelConverterChains chains) {
+        this(chains.getConverters(), chains);
+    }
+
+    private ModelConverterContextImpl(List<ModelConverter> converters, ModelConverterChains chains) {
         this.converters = converters;
+        this.chains = chains;
         modelByName = new TreeMap<>();
         modelByType = new HashMap<>();
         processedTypes = new HashSet<>();
@@ -63,7 +73,7 @@ public class ModelConverterContextImpl implements ModelConverterContext {
         }
 
         if (type != null && type.getType() != null) {
-            modelByType.put(type, model);
+            modelByType.put(type.key(), model);
         }
     }
 
@@ -80,15 +90,17 @@ public class ModelConverterContextImpl implements ModelConverterContext {
             return resolve(aType);
         }
 
-        if (processedTypes.contains(type)) {
-            return modelByType.get(type);
+        AnnotatedTypeKey key = type.key();
+        if (processedTypes.contains(key)) {
+            return modelByType.get(key);
         } else {
-            processedTypes.add(type);
+            processedTypes.add(key);
         }
         if (logger.isDebugEnabled()) {
             logger.debug(String.format("resolve %s", type.getType()));
         }
-        Iterator<ModelConverter> converters = this.getConverters();
+        // only the converters applying to the raw class when they are known
+        Iterator<ModelConverter> converters = chains == null ? this.getConverters() : chains.forType(type.getType()).iterator();
         Schema resolved = null;
         if (converters.hasNext()) {
             ModelConverter converter = converters.next();
@@ -96,14 +108,14 @@ public class ModelConverterContextImpl implements ModelConverterContext {
             resolved = converter.resolve(type, this, converters);
         }
         if (resolved != null) {
-            modelByType.put(type, resolved);
+            modelByType.put(key, resolved);
 
             Schema resolvedImpl = resolved;
             if (resolvedImpl.getName() != null) {
                 modelByName.put(resolvedImpl.getName(), resolved);
             }
         } else {
-            processedTypes.remove(type);
+            processedTypes.remove(key);
         }
 
         return resolved;
@@ -1,19 +1,21 @@
 package io.swagger.v3.core.converter;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.swagger.v3.core.jackson.AbstractModelConverter;
 import io.swagger.v3.core.jackson.ModelResolver;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.media.Schema;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.rainday.logging.Logger;
 import org.rainday.logging.LoggerFactory;
@@ -22,12 +24,17 @@ public class ModelConverters {
     private static final ModelConverters SINGLETON = new ModelConverters();
     static Logger logger = LoggerFactory.getLogger(ModelConverters.class);
     private final List<ModelConverter> converters;
-    private final Set<String> skippedPackages = new HashSet<>();
-    private final Set<String> skippedClasses = new HashSet<>();
+    private final PackageTrie skippedPackages = new PackageTrie();
+    private final Set<String> skippedClasses = ConcurrentHashMap.newKeySet();
+    // recreated whenever a package or class is skipped
+    private volatile ClassValue<Boolean> processedClasses = newProcessedClasses();
+    private volatile ModelResolutionCache resolutionCache;
+    private volatile ModelConverterChains chains;
 
     public ModelConverters() {
         converters = new CopyOnWriteArrayList<>();
         converters.add(new ModelResolver(Json.mapper()));
+        chains = new ModelConverterChains(converters);
     }
 
     public static ModelConverters getInstance() {
@@ -36,10 +43,54 @@ public class ModelConverters {
 
     public void addConverter(ModelConverter converter) {
         converters.add(0, converter);
+        chains = new ModelConverterChains(converters);
+        clearResolutionCache();
     }
 
     public void removeConverter(ModelConverter converter) {
         converters.remove(converter);
+        chains = new ModelConverterChains(converters);
+        clearResolutionCache();
+    }
+
+    /**
+     * Shares resolved schemas between calls, see {@link ModelResolutionCache}. Disabled by default; the cache should
+     * be cleared or disabled between generation runs when the models can change.
+     *
+     * @param maxSize maximum number of cached types
+     */
+    public void enableResolutionCache(int maxSize) {
+        this.resolutionCache = new ModelResolutionCache(maxSize);
+    }
+
+    public void disableResolutionCache() {
+        this.resolutionCache = null;
+    }
+
+    /**
+     * @return the resolution cache with its hit and miss counters, null if it is disabled
+     */
+    public ModelResolutionCache getResolutionCache() {
+        return resolutionCache;
+    }
+
+    private void clearResolutionCache() {
+        ModelResolutionCache cache = resolutionCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Drops what the converters cached while introspecting types, see
+     * {@link AbstractModelConverter#clearIntrospectionCache()}.
+     */
+    public void clearIntrospectionCaches() {
+        for (ModelConverter converter : converters) {
+            if (converter instanceof AbstractModelConverter) {
+                ((AbstractModelConverter) converter).clearIntrospectionCache();
+            }
+        }
     }
 
     public List<ModelConverter> getConverters() {
@@ -47,12 +98,18 @@ public class ModelConverters {
     }
 
     public void addPackageToSkip(String pkg) {
-        this.skippedPackages.add(pkg);
+        synchronized (skippedPackages) {
+            this.skippedPackages.add(pkg);
+        }
+        this.processedClasses = newProcessedClasses();
+        clearResolutionCache();
     }
 
     public void addClassToSkip(String cls) {
         logger.warn("skipping class " + cls);
         this.skippedClasses.add(cls);
+        this.processedClasses = newProcessedClasses();
+        clearResolutionCache();
     }
 
     public Map<String, Schema> read(Type type) {
@@ -62,10 +119,9 @@ public class ModelConverters {
     public Map<String, Schema> read(AnnotatedType type) {
         Map<String, Schema> modelMap = new HashMap<>();
         if (shouldProcess(type.getType())) {
-            ModelConverterContextImpl context = new ModelConverterContextImpl(
-                    converters);
-            Schema resolve = context.resolve(type);
-            for (Entry<String, Schema> entry : context.getDefinedModels()
+            ResolvedSchema resolvedSchema = resolve(type);
+            Schema resolve = resolvedSchema.schema;
+            for (Entry<String, Schema> entry : resolvedSchema.referencedSchemas
                     .entrySet()) {
                 if (entry.getValue().equals(resolve)) {
                     modelMap.put(entry.getKey(), entry.getValue());
@@ -81,12 +137,8 @@ public class ModelConverters {
 
     public Map<String, Schema> readAll(AnnotatedType type) {
         if (shouldProcess(type.getType())) {
-            ModelConverterContextImpl context = new ModelConverterContextImpl(
-                    converters);
-    
             logger.debug("ModelConverters readAll from " + type);
-            context.resolve(type);
-            return context.getDefinedModels();
+            return resolve(type).referencedSchemas;
         }
         return new HashMap<>();
     }
@@ -96,14 +148,7 @@ public class ModelConverters {
     }
     public ResolvedSchema readAllAsResolvedSchema(AnnotatedType type) {
         if (shouldProcess(type.getType())) {
-            ModelConverterContextImpl context = new ModelConverterContextImpl(
-                    converters);
-
-            ResolvedSchema resolvedSchema = new ResolvedSchema();
-            resolvedSchema.schema = context.resolve(type);
-            resolvedSchema.referencedSchemas = context.getDefinedModels();
-
-            return resolvedSchema;
+            return resolve(type);
         }
         return null;
     }
@@ -114,32 +159,70 @@ public class ModelConverters {
      * @return
      */
     public ResolvedSchema resolveAsResolvedSchema(AnnotatedType type) {
-        ModelConverterContextImpl context = new ModelConverterContextImpl(
-                converters);
+        return resolve(type);
+    }
+
+    private ResolvedSchema resolve(AnnotatedType type) {
+        ModelResolutionCache cache = resolutionCache;
+        if (cache != null) {
+            ResolvedSchema cached = cache.get(type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ModelConverterContextImpl context = new ModelConverterContextImpl(chains);
 
         ResolvedSchema resolvedSchema = new ResolvedSchema();
         resolvedSchema.schema = context.resolve(type);
         resolvedSchema.referencedSchemas = context.getDefinedModels();
 
+        if (cache != null) {
+            cache.put(type, resolvedSchema);
+        }
         return resolvedSchema;
     }
 
+    /**
+     * @return a context resolving with the current converters which threads can share, to resolve independent types in
+     * parallel into the same set of schemas; types with subtypes must not be resolved in parallel, see
+     * {@link ConcurrentModelConverterContext}
+     */
+    public ConcurrentModelConverterContext newConcurrentContext() {
+        return new ConcurrentModelConverterContext(chains);
+    }
+
     public boolean isRegisteredAsSkippedClass(String className) {
         return skippedClasses.contains(className);
     }
 
     private boolean shouldProcess(Type type) {
-        final Class<?> cls = TypeFactory.defaultInstance().constructType(type).getRawClass();
-        if (cls.isPrimitive()) {
-            return false;
+        final Class<?> cls;
+        if (type instanceof Class) {
+            cls = (Class<?>) type;
+        } else if (type instanceof JavaType) {
+            cls = ((JavaType) type).getRawClass();
+        } else {
+            cls = TypeFactory.defaultInstance().constructType(type).getRawClass();
         }
-        String className = cls.getName();
-        for (String packageName : skippedPackages) {
-            if (className.startsWith(packageName)) {
-                return false;
+        return processedClasses.get(cls);
+    }
+
+    private ClassValue<Boolean> newProcessedClasses() {
+        return new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue(Class<?> cls) {
+                if (cls.isPrimitive()) {
+                    return false;
+                }
+                String className = cls.getName();
+                synchronized (skippedPackages) {
+                    if (skippedPackages.matches(className)) {
+                        return false;
+                    }
+                }
+                return !skippedClasses.contains(className);
             }
-        }
-        return !skippedClasses.contains(className);
+        };
     }
 
     static {
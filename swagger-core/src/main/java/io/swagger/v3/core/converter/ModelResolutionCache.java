@@ -0,0 +1,161 @@
+package io.swagger.v3.core.converter;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.swagger.v3.core.util.SchemaCopier;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the schemas {@link ModelConverters} resolved, shared by the contexts it creates so that a type
+ * used by many operations is only introspected once per generation run.
+ *
+ * Entries are keyed by the type together with everything of the {@link AnnotatedType} which changes the result (ctx
+ * annotations, {@link JsonView}, name and flags); types with a parent schema or an unwrapped handler are not cached.
+ * Cached schemas are copies, callers get their own copies on every hit and are free to modify them. The least recently
+ * used entry is evicted once {@link #getMaxSize()} is reached.
+ */
+public class ModelResolutionCache {
+
+    private final int maxSize;
+    private final Map<Key, ResolvedSchema> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ModelResolutionCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, ResolvedSchema>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ResolvedSchema> eldest) {
+                return size() > ModelResolutionCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return a copy of the cached resolution, null if the type is not cached or cannot be cached
+     */
+    public ResolvedSchema get(AnnotatedType type) {
+        Key key = Key.of(type);
+        if (key == null) {
+            return null;
+        }
+        ResolvedSchema cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return copy(cached);
+    }
+
+    /**
+     * Caches a copy of the resolution of the type, if it can be cached.
+     */
+    public void put(AnnotatedType type, ResolvedSchema resolvedSchema) {
+        Key key = Key.of(type);
+        if (key == null) {
+            return;
+        }
+        ResolvedSchema copy = copy(resolvedSchema);
+        synchronized (entries) {
+            entries.put(key, copy);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static ResolvedSchema copy(ResolvedSchema resolvedSchema) {
+        ResolvedSchema copy = new ResolvedSchema();
+        copy.schema = SchemaCopier.copy(resolvedSchema.schema);
+        if (resolvedSchema.referencedSchemas != null) {
+            Map<String, Schema> referencedSchemas = new TreeMap<>();
+            resolvedSchema.referencedSchemas.forEach((name, schema) -> referencedSchemas.put(name, SchemaCopier.copy(schema)));
+            copy.referencedSchemas = Collections.unmodifiableMap(referencedSchemas);
+        }
+        return copy;
+    }
+
+    private static final class Key {
+        private final AnnotatedTypeKey annotatedType;
+        private final JsonView jsonView;
+        private final String name;
+        private final String propertyName;
+        private final int flags;
+        private final int hash;
+
+        private Key(AnnotatedType type) {
+            this.annotatedType = type.key();
+            this.jsonView = type.getJsonViewAnnotation();
+            this.name = type.getName();
+            this.propertyName = type.getPropertyName();
+            this.flags = (type.isSkipOverride() ? 1 : 0)
+                    | (type.isSchemaProperty() ? 2 : 0)
+                    | (type.isResolveAsRef() ? 4 : 0)
+                    | (type.isSkipSchemaName() ? 8 : 0)
+                    | (type.isSkipJsonIdentity() ? 16 : 0);
+            this.hash = Objects.hash(annotatedType, jsonView, name, propertyName, flags);
+        }
+
+        static Key of(AnnotatedType type) {
+            if (type == null || type.getType() == null || type.getParent() != null || type.getJsonUnwrappedHandler() != null) {
+                return null;
+            }
+            return new Key(type);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hash == that.hash
+                    && flags == that.flags
+                    && annotatedType.equals(that.annotatedType)
+                    && Objects.equals(jsonView, that.jsonView)
+                    && Objects.equals(name, that.name)
+                    && Objects.equals(propertyName, that.propertyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
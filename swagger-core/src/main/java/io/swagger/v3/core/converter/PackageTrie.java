@@ -0,0 +1,56 @@
+package io.swagger.v3.core.converter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Package prefixes split by segment, matching a class name in as many map lookups as it has segments instead of
+ * comparing it with every prefix.
+ *
+ * Matching is the same as {@code className.startsWith(prefix)}: all segments of a prefix but the last must be
+ * segments of the class name, the last one only has to start the following segment of the class name.
+ */
+final class PackageTrie {
+
+    private final Node root = new Node();
+
+    void add(String prefix) {
+        String[] segments = prefix.split("\\.", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length - 1; i++) {
+            node = node.children.computeIfAbsent(segments[i], segment -> new Node());
+        }
+        String last = segments[segments.length - 1];
+        if (!node.prefixes.contains(last)) {
+            node.prefixes.add(last);
+        }
+    }
+
+    boolean matches(String className) {
+        Node node = root;
+        int start = 0;
+        while (node != null) {
+            int end = className.indexOf('.', start);
+            String segment = end < 0 ? className.substring(start) : className.substring(start, end);
+            for (String prefix : node.prefixes) {
+                if (segment.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            if (end < 0) {
+                return false;
+            }
+            node = node.children.get(segment);
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        // last segments of the prefixes ending here
+        private final List<String> prefixes = new ArrayList<>(1);
+    }
+}
@@ -0,0 +1,28 @@
+package io.swagger.v3.core.converter;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * {@link ModelConverter} which only resolves some types. {@link ModelConverters} leaves it out of the chain of every
+ * raw class it does not apply to, without calling it.
+ *
+ * A converter applies to a raw class which is one of, or a subtype of, {@link #getApplicableClasses()}, is in one of
+ * {@link #getApplicablePackages()} or their subpackages, or is annotated with one of
+ * {@link #getApplicableAnnotations()}. A converter declaring none of them applies to every class.
+ */
+public interface SelectiveModelConverter extends ModelConverter {
+
+    default Set<Class<?>> getApplicableClasses() {
+        return Collections.emptySet();
+    }
+
+    default Set<String> getApplicablePackages() {
+        return Collections.emptySet();
+    }
+
+    default Set<Class<? extends Annotation>> getApplicableAnnotations() {
+        return Collections.emptySet();
+    }
+}
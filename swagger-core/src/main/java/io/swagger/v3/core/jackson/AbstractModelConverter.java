@@ -27,6 +27,13 @@ public abstract class AbstractModelConverter implements ModelConverter {
      * again.
      */
     protected Map<JavaType, String> _resolvedTypeNames = new ConcurrentHashMap<>();
+    /**
+     * Jackson only caches class annotations, the full bean descriptions are introspected once per type here and
+     * shared by everything resolved with this converter until {@link #clearIntrospectionCache()}, which the reader
+     * calls once a read is done so that no class of an earlier read is kept.
+     */
+    private final Map<JavaType, BeanDescription> _serializationDescriptions = new ConcurrentHashMap<>();
+    private final Map<JavaType, BeanDescription> _deserializationDescriptions = new ConcurrentHashMap<>();
 
     protected AbstractModelConverter(ObjectMapper mapper) {
         this (mapper, TypeNameResolver.std);
@@ -54,6 +61,54 @@ public abstract class AbstractModelConverter implements ModelConverter {
         }
     }
 
+    /**
+     * @return the serialization bean description of the type, introspected on first use
+     */
+    protected BeanDescription _introspect(JavaType type) {
+        BeanDescription beanDesc = _serializationDescriptions.get(type);
+        if (beanDesc == null) {
+            beanDesc = _mapper.getSerializationConfig().introspect(type);
+            BeanDescription existing = _serializationDescriptions.putIfAbsent(type, collected(beanDesc));
+            if (existing != null) {
+                beanDesc = existing;
+            }
+        }
+        return beanDesc;
+    }
+
+    /**
+     * @return the deserialization bean description of the type, introspected on first use
+     */
+    protected BeanDescription _introspectForDeserialization(JavaType type) {
+        BeanDescription beanDesc = _deserializationDescriptions.get(type);
+        if (beanDesc == null) {
+            beanDesc = _mapper.getDeserializationConfig().introspect(type);
+            BeanDescription existing = _deserializationDescriptions.putIfAbsent(type, collected(beanDesc));
+            if (existing != null) {
+                beanDesc = existing;
+            }
+        }
+        return beanDesc;
+    }
+
+    /**
+     * Collects the properties of a bean description before it is shared. Jackson collects them lazily and without
+     * locking, threads resolving in parallel must only see a description whose collection is done.
+     */
+    private static BeanDescription collected(BeanDescription beanDesc) {
+        beanDesc.findProperties();
+        return beanDesc;
+    }
+
+    /**
+     * Drops the cached bean descriptions, needed when the mapper is reconfigured and once a generation run is done,
+     * so that the classes it read can be unloaded.
+     */
+    public void clearIntrospectionCache() {
+        _serializationDescriptions.clear();
+        _deserializationDescriptions.clear();
+    }
+
     protected String _typeName(JavaType type) {
         return _typeName(type, null);
     }
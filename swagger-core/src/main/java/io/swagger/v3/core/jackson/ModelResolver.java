@@ -40,7 +40,7 @@ import io.swagger.v3.core.util.ObjectMapperFactory;
 import io.swagger.v3.core.util.OptionalUtils;
 import io.swagger.v3.core.util.PrimitiveType;
 import io.swagger.v3.core.util.ReflectionUtils;
-import io.swagger.v3.oas.annotations.media.DiscriminatorMapping;
+import io.swagger.v3.core.util.SchemaCopier;
 import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.ComposedSchema;
@@ -69,6 +69,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.xml.bind.annotation.XmlAccessType;
@@ -98,6 +99,13 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
      */
     public static boolean enumsAsRef = System.getProperty(SET_PROPERTY_OF_ENUMS_AS_REF) != null;
 
+    private final SubtypeGraph subtypeGraph = new SubtypeGraph(_mapper, _intr);
+    /**
+     * Values of the enums resolved so far, keyed by enum class and the enum features of the mapper when they were
+     * computed.
+     */
+    private final Map<EnumValuesKey, List<String>> enumValues = new ConcurrentHashMap<>();
+
     public ModelResolver(ObjectMapper mapper) {
         super(mapper);
     }
@@ -108,6 +116,13 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
     public ObjectMapper objectMapper() {
         return _mapper;
     }
+
+    @Override
+    public void clearIntrospectionCache() {
+        super.clearIntrospectionCache();
+        subtypeGraph.clear();
+        enumValues.clear();
+    }
     
     /**
      * ModelResolver entrance 入口
@@ -153,7 +168,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
 
         final BeanDescription beanDesc;
         {
-            BeanDescription recurBeanDesc = _mapper.getSerializationConfig().introspect(type);
+            BeanDescription recurBeanDesc = _introspect(type);
 
             HashSet<String> visited = new HashSet<>();
             JsonSerialize jsonSerialize = recurBeanDesc.getClassAnnotations().get(JsonSerialize.class);
@@ -162,9 +177,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
                 if (visited.contains(asName)) break;
                 visited.add(asName);
 
-                recurBeanDesc = _mapper.getSerializationConfig().introspect(
-                        _mapper.constructType(jsonSerialize.as())
-                );
+                recurBeanDesc = _introspect(_mapper.constructType(jsonSerialize.as()));
                 jsonSerialize = recurBeanDesc.getClassAnnotations().get(JsonSerialize.class);
             }
             beanDesc = recurBeanDesc;
@@ -385,7 +398,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
             JavaType valueType = type.getContentType();
             String pName = null;
             if (valueType != null) {
-                BeanDescription valueTypeBeanDesc = _mapper.getSerializationConfig().introspect(valueType);
+                BeanDescription valueTypeBeanDesc = _introspect(valueType);
                 pName = _typeName(valueType, valueTypeBeanDesc);
             }
             Annotation[] schemaAnnotations = null;
@@ -518,7 +531,8 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
         List<Schema> props = new ArrayList<>();
         Map<String, Schema> modelProps = new LinkedHashMap<>();
 
-        List<BeanPropertyDefinition> properties = beanDesc.findProperties();
+        // the description is shared, filter a copy of its properties
+        List<BeanPropertyDefinition> properties = new ArrayList<>(beanDesc.findProperties());
         List<String> ignoredProps = getIgnoredProperties(beanDesc);
         properties.removeIf(p -> ignoredProps.contains(p.getName()));
         for (BeanPropertyDefinition propDef : properties) {
@@ -528,7 +542,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
 
             AnnotatedMember member = propDef.getPrimaryMember();
             if (member == null) {
-                final BeanDescription deserBeanDesc = _mapper.getDeserializationConfig().introspect(type);
+                final BeanDescription deserBeanDesc = _introspectForDeserialization(type);
                 List<BeanPropertyDefinition> deserProperties = deserBeanDesc.findProperties();
                 for (BeanPropertyDefinition prop : deserProperties) {
                     if (StringUtils.isNotBlank(prop.getInternalName()) && prop.getInternalName().equals(propDef.getInternalName())) {
@@ -646,7 +660,10 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
                         //return context.resolve(t);
                     }
                 });
-                property = clone(context.resolve(aType));
+                // the resolved schema may be shared (e.g. a model defined in the context), it is only copied once
+                // it is known to be modified; properties replaced by a $ref are not copied at all
+                final Schema resolvedProperty = context.resolve(aType);
+                property = resolvedProperty;
 
                 if (property != null) {
                     Boolean required = md.getRequired();
@@ -657,8 +674,25 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
                             addRequiredItem(model, propName);
                         }
                     }
-                    if (property.get$ref() == null) {
-                        if (accessMode != null) {
+                    final BeanDescription propBeanDesc = _introspect(propType);
+                    if (!propType.isContainerType()) {
+                        if ("object".equals(property.getType())) {
+                            // create a reference for the property
+                            String pName = _typeName(propType, propBeanDesc);
+                            if (StringUtils.isNotBlank(property.getName())) {
+                                pName = property.getName();
+                            }
+
+                            if (context.getDefinedModels().containsKey(pName)) {
+                                property = new Schema().$ref(constructRef(pName));
+                            }
+                        } else if (property.get$ref() != null) {
+                            property = new Schema().$ref(StringUtils.isNotEmpty(property.get$ref()) ? property.get$ref() : property.getName());
+                        }
+                    }
+                    if (property == resolvedProperty) {
+                        property = clone(resolvedProperty);
+                        if (property.get$ref() == null && accessMode != null) {
                             switch (accessMode) {
                                 case AUTO:
                                     break;
@@ -674,22 +708,6 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
                             }
                         }
                     }
-                    final BeanDescription propBeanDesc = _mapper.getSerializationConfig().introspect(propType);
-                    if (property != null && !propType.isContainerType()) {
-                        if ("object".equals(property.getType())) {
-                            // create a reference for the property
-                            String pName = _typeName(propType, propBeanDesc);
-                            if (StringUtils.isNotBlank(property.getName())) {
-                                pName = property.getName();
-                            }
-
-                            if (context.getDefinedModels().containsKey(pName)) {
-                                property = new Schema().$ref(constructRef(pName));
-                            }
-                        } else if (property.get$ref() != null) {
-                            property = new Schema().$ref(StringUtils.isNotEmpty(property.get$ref()) ? property.get$ref() : property.getName());
-                        }
-                    }
                     property.setName(propName);
                     JAXBAnnotationsHelper.apply(propBeanDesc.getClassInfo(), annotations, property);
                     applyBeanValidatorAnnotations(property, annotations, model);
@@ -891,19 +909,11 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
     private Schema clone(Schema property) {
         if(property == null)
             return property;
-        try {
-            String cloneName = property.getName();
-            property = Json.mapper().readValue(Json.pretty(property), Schema.class);
-            property.setName(cloneName);
-        } catch (IOException e) {
-            logger.error("Could not clone property, e", e);
-        }
-        return property;
+        return SchemaCopier.copy(property);
     }
 
     private boolean isSubtype(AnnotatedClass childClass, Class<?> parentClass) {
-        final BeanDescription parentDesc = _mapper.getSerializationConfig().introspectClassAnnotations(parentClass);
-        List<NamedType> subTypes =_intr.findSubtypes(parentDesc.getClassInfo());
+        List<NamedType> subTypes = subtypeGraph.node(parentClass).getSubtypes();
         if (subTypes == null) {
             return false;
         }
@@ -926,7 +936,25 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
         final boolean useIndex = _mapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX);
         final boolean useToString = _mapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING);
 
+        EnumValuesKey key = new EnumValuesKey(propClass, useIndex, useToString);
+        List<String> values = enumValues.get(key);
+        if (values == null) {
+            values = findEnumValues(propClass, useIndex, useToString);
+            enumValues.putIfAbsent(key, values);
+        }
 
+        if (property instanceof StringSchema && !values.isEmpty()) {
+            StringSchema sp = (StringSchema) property;
+            // every schema gets its own list, the cached one is shared
+            if (sp.getEnum() == null) {
+                sp.setEnum(new ArrayList<>(values));
+            } else {
+                sp.getEnum().addAll(values);
+            }
+        }
+    }
+
+    private List<String> findEnumValues(Class<?> propClass, boolean useIndex, boolean useToString) {
         Optional<Method> jsonValueMethod = Arrays.stream(propClass.getMethods())
                 .filter(m -> m.isAnnotationPresent(JsonValue.class))
                 .filter(m -> m.getAnnotation(JsonValue.class).value())
@@ -938,6 +966,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
         Enum<?>[] enumConstants = enumClass.getEnumConstants();
         String[] enumValues = _intr.findEnumValues(propClass, enumConstants, new String[enumConstants.length]);
 
+        List<String> values = new ArrayList<>(enumConstants.length);
         for (Enum<?> en : enumConstants) {
             String n;
 
@@ -955,10 +984,34 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
             } else {
                 n = _intr.findEnumValue(en);
             }
-            if (property instanceof StringSchema) {
-                StringSchema sp = (StringSchema) property;
-                sp.addEnumItem(n);
+            values.add(n);
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private static final class EnumValuesKey {
+        private final Class<?> enumClass;
+        private final boolean useIndex;
+        private final boolean useToString;
+
+        EnumValuesKey(Class<?> enumClass, boolean useIndex, boolean useToString) {
+            this.enumClass = enumClass;
+            this.useIndex = useIndex;
+            this.useToString = useToString;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof EnumValuesKey)) {
+                return false;
             }
+            EnumValuesKey that = (EnumValuesKey) o;
+            return enumClass == that.enumClass && useIndex == that.useIndex && useToString == that.useToString;
+        }
+
+        @Override
+        public int hashCode() {
+            return 4 * enumClass.hashCode() + (useIndex ? 2 : 0) + (useToString ? 1 : 0);
         }
     }
 
@@ -998,14 +1051,9 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
             }
             if (innerModel.getProperties() != null) {
                 for (Schema prop : (Collection<Schema>) innerModel.getProperties().values()) {
-                    try {
-                        Schema clonedProp = Json.mapper().readValue(Json.pretty(prop), Schema.class);
-                        clonedProp.setName(prefix + prop.getName() + suffix);
-                        props.add(clonedProp);
-                    } catch (IOException e) {
-                        logger.error("Exception cloning property", e);
-                        return;
-                    }
+                    Schema clonedProp = SchemaCopier.copy(prop);
+                    clonedProp.setName(prefix + prop.getName() + suffix);
+                    props.add(clonedProp);
                 }
             }
         }
@@ -1173,32 +1221,18 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
     }
 
     private boolean resolveSubtypes(Schema model, BeanDescription bean, ModelConverterContext context) {
-        final List<NamedType> types = _intr.findSubtypes(bean.getClassInfo());
+        /**
+         * The graph leaves out the class itself and the sub-types the introspector finds for its super classes and
+         * implemented interfaces, as they are also found for the class.
+         */
+        final List<NamedType> types = subtypeGraph.node(bean.getClassInfo().getAnnotated()).getDirectSubtypes();
         if (types == null) {
             return false;
         }
 
-        /**
-         * Remove the current class from the child classes. This happens if @JsonSubTypes references
-         * the annotated class as a subtype.
-         */
-        removeSelfFromSubTypes(types, bean);
-
-        /**
-         * As the introspector will find @JsonSubTypes for a child class that are present on its super classes, the
-         * code segment below will also run the introspector on the parent class, and then remove any sub-types that are
-         * found for the parent from the sub-types found for the child. The same logic all applies to implemented
-         * interfaces, and is accounted for below.
-         */
-        removeSuperClassAndInterfaceSubTypes(types, bean);
-
         int count = 0;
-        final Class<?> beanClass = bean.getClassInfo().getAnnotated();
         for (NamedType subtype : types) {
             final Class<?> subtypeType = subtype.getType();
-            if (!beanClass.isAssignableFrom(subtypeType)) {
-                continue;
-            }
 
             final Schema subtypeModel = context.resolve(new AnnotatedType().type(subtypeType));
 
@@ -1281,37 +1315,6 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
         return count != 0;
     }
 
-    private void removeSelfFromSubTypes(List<NamedType> types, BeanDescription bean) {
-        Class<?> beanClass= bean.getType().getRawClass();
-        types.removeIf(type -> beanClass.equals(type.getType()));
-    }
-
-    private void removeSuperClassAndInterfaceSubTypes(List<NamedType> types, BeanDescription bean) {
-        Class<?> beanClass = bean.getType().getRawClass();
-        Class<?> superClass = beanClass.getSuperclass();
-        if (superClass != null && !superClass.equals(Object.class)) {
-            removeSuperSubTypes(types, superClass);
-        }
-        if (!types.isEmpty()) {
-            Class<?>[] superInterfaces = beanClass.getInterfaces();
-            for (Class<?> superInterface : superInterfaces) {
-                removeSuperSubTypes(types, superInterface);
-                if (types.isEmpty()) {
-                    break;
-                }
-            }
-        }
-    }
-
-    private void removeSuperSubTypes(List<NamedType> resultTypes, Class<?> superClass) {
-        JavaType superType = _mapper.constructType(superClass);
-        BeanDescription superBean = _mapper.getSerializationConfig().introspect(superType);
-        final List<NamedType> superTypes = _intr.findSubtypes(superBean.getClassInfo());
-        if (superTypes != null) {
-            resultTypes.removeAll(superTypes);
-        }
-    }
-
     private void removeParentProperties(Schema child, Schema parent) {
         final Map<String, Schema> baseProps = parent.getProperties();
         final Map<String, Schema> subtypeProps = child.getProperties();
@@ -1437,7 +1440,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
 
 
         if (access == null) {
-            final BeanDescription beanDesc = _mapper.getDeserializationConfig().introspect(type);
+            final BeanDescription beanDesc = _introspectForDeserialization(type);
             List<BeanPropertyDefinition> properties = beanDesc.findProperties();
             for (BeanPropertyDefinition prop : properties) {
                 if (StringUtils.isNotBlank(prop.getInternalName()) && prop.getInternalName().equals(propDef.getInternalName())) {
@@ -1675,30 +1678,13 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
 
     protected Discriminator resolveDiscriminator(JavaType type, ModelConverterContext context) {
 
-        io.swagger.v3.oas.annotations.media.Schema declaredSchemaAnnotation = AnnotationsUtils.getSchemaDeclaredAnnotation(type.getRawClass());
-
-        String disc = (declaredSchemaAnnotation == null) ? "" : declaredSchemaAnnotation.discriminatorProperty();
-
-        if (disc.isEmpty()) {
-            // longer method would involve AnnotationIntrospector.findTypeResolver(...) but:
-            JsonTypeInfo typeInfo = type.getRawClass().getDeclaredAnnotation(JsonTypeInfo.class);
-            if (typeInfo != null) {
-                disc = typeInfo.property();
-            }
-        }
-        if (!disc.isEmpty()) {
+        SubtypeGraph.Node node = subtypeGraph.node(type.getRawClass());
+        String disc = node.getDiscriminatorProperty();
+        if (disc != null) {
             Discriminator discriminator = new Discriminator()
                     .propertyName(disc);
-            if (declaredSchemaAnnotation != null) {
-                DiscriminatorMapping[] mappings = declaredSchemaAnnotation.discriminatorMapping();
-                if (mappings != null && mappings.length > 0) {
-                    for (DiscriminatorMapping mapping : mappings) {
-                        if (!mapping.value().isEmpty() && !mapping.schema().equals(Void.class)) {
-                            discriminator.mapping(mapping.value(), constructRef(context.resolve(new AnnotatedType().type(mapping.schema())).getName()));
-                        }
-                    }
-                }
-            }
+            node.getDiscriminatorMapping().forEach((value, schema) ->
+                    discriminator.mapping(value, constructRef(context.resolve(new AnnotatedType().type(schema)).getName())));
 
             return discriminator;
         }
@@ -1809,7 +1795,7 @@ public class ModelResolver extends AbstractModelConverter implements ModelConver
                                 ((io.swagger.v3.oas.annotations.media.ArraySchema) resolvedSchemaOrArrayAnnotation).schema() :
                                 (io.swagger.v3.oas.annotations.media.Schema) resolvedSchemaOrArrayAnnotation;
 
-        final BeanDescription beanDesc = _mapper.getSerializationConfig().introspect(type);
+        final BeanDescription beanDesc = _introspect(type);
         Annotated a = beanDesc.getClassInfo();
         Annotation[] annotations = annotatedType.getCtxAnnotations();
         resolveSchemaMembers(schema, a, annotations, schemaAnnotation);
@@ -0,0 +1,131 @@
+package io.swagger.v3.core.jackson;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import io.swagger.v3.core.util.AnnotationsUtils;
+import io.swagger.v3.oas.annotations.media.DiscriminatorMapping;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polymorphic hierarchy of the types resolved by a {@link ModelResolver}, introspected once per class.
+ *
+ * The introspector also returns the {@code @JsonSubTypes} a class inherits from its superclass and interfaces; a
+ * node keeps those declared on the class itself apart as its direct subtypes, together with the discriminator
+ * property and mappings declared on the class.
+ */
+final class SubtypeGraph {
+
+    private final ObjectMapper mapper;
+    private final AnnotationIntrospector intr;
+    private final Map<Class<?>, Node> nodes = new ConcurrentHashMap<>();
+
+    SubtypeGraph(ObjectMapper mapper, AnnotationIntrospector intr) {
+        this.mapper = mapper;
+        this.intr = intr;
+    }
+
+    Node node(Class<?> cls) {
+        Node node = nodes.get(cls);
+        if (node == null) {
+            // not computeIfAbsent, computing a node looks up the nodes of its supertypes
+            node = new Node(cls);
+            Node existing = nodes.putIfAbsent(cls, node);
+            if (existing != null) {
+                node = existing;
+            }
+        }
+        return node;
+    }
+
+    void clear() {
+        nodes.clear();
+    }
+
+    final class Node {
+        private final List<NamedType> subtypes;
+        private final List<NamedType> directSubtypes;
+        private final String discriminatorProperty;
+        private final Map<String, Class<?>> discriminatorMapping;
+
+        private Node(Class<?> cls) {
+            List<NamedType> found = intr.findSubtypes(mapper.getSerializationConfig().introspectClassAnnotations(cls).getClassInfo());
+            this.subtypes = found == null ? null : Collections.unmodifiableList(new ArrayList<>(found));
+            this.directSubtypes = found == null ? null : Collections.unmodifiableList(directSubtypes(cls, new ArrayList<>(found)));
+
+            io.swagger.v3.oas.annotations.media.Schema declaredSchema = AnnotationsUtils.getSchemaDeclaredAnnotation(cls);
+            String property = declaredSchema == null ? "" : declaredSchema.discriminatorProperty();
+            if (property.isEmpty()) {
+                // longer method would involve AnnotationIntrospector.findTypeResolver(...) but:
+                JsonTypeInfo typeInfo = cls.getDeclaredAnnotation(JsonTypeInfo.class);
+                if (typeInfo != null) {
+                    property = typeInfo.property();
+                }
+            }
+            this.discriminatorProperty = property.isEmpty() ? null : property;
+            Map<String, Class<?>> mapping = new LinkedHashMap<>();
+            if (discriminatorProperty != null && declaredSchema != null) {
+                for (DiscriminatorMapping declared : declaredSchema.discriminatorMapping()) {
+                    if (!declared.value().isEmpty() && !declared.schema().equals(Void.class)) {
+                        mapping.put(declared.value(), declared.schema());
+                    }
+                }
+            }
+            this.discriminatorMapping = Collections.unmodifiableMap(mapping);
+        }
+
+        private List<NamedType> directSubtypes(Class<?> cls, List<NamedType> types) {
+            // a class referenced as its own subtype
+            types.removeIf(type -> cls.equals(type.getType()));
+            Class<?> superClass = cls.getSuperclass();
+            if (superClass != null && !superClass.equals(Object.class)) {
+                removeAll(types, node(superClass).subtypes);
+            }
+            for (Class<?> superInterface : cls.getInterfaces()) {
+                if (types.isEmpty()) {
+                    break;
+                }
+                removeAll(types, node(superInterface).subtypes);
+            }
+            types.removeIf(type -> !cls.isAssignableFrom(type.getType()));
+            return types;
+        }
+
+        private void removeAll(List<NamedType> types, List<NamedType> inherited) {
+            if (inherited != null) {
+                types.removeAll(inherited);
+            }
+        }
+
+        /**
+         * @return all subtypes the introspector finds for the class, including inherited ones, null if there are none
+         */
+        List<NamedType> getSubtypes() {
+            return subtypes;
+        }
+
+        /**
+         * @return the subtypes declared for the class itself, null if the introspector finds none
+         */
+        List<NamedType> getDirectSubtypes() {
+            return directSubtypes;
+        }
+
+        /**
+         * @return the discriminator property from {@code @Schema} or {@code @JsonTypeInfo}, null if there is none
+         */
+        String getDiscriminatorProperty() {
+            return discriminatorProperty;
+        }
+
+        Map<String, Class<?>> getDiscriminatorMapping() {
+            return discriminatorMapping;
+        }
+    }
+}
@@ -1318,6 +1318,9 @@ public abstract class AnnotationsUtils {
             //
         } catch (IllegalAccessException e) {
             //
+        } finally {
+            // merges with the annotations read before are dropped even when the class cannot be updated
+            MergedSchemaAnnotations.clear(clazz);
         }
 
     }
@@ -1327,26 +1330,20 @@ public abstract class AnnotationsUtils {
      */
     public static Annotation mergeSchemaAnnotations(
             Annotation[] ctxAnnotations, JavaType type) {
+        return MergedSchemaAnnotations.of(type.getRawClass())
+                .merge(getSchemaAnnotation(ctxAnnotations), getArraySchemaAnnotation(ctxAnnotations));
+    }
+
+    static Annotation mergeSchemaAnnotations(MergedSchemaAnnotations typeAnnotations, io.swagger.v3.oas.annotations.media.Schema cS, io.swagger.v3.oas.annotations.media.ArraySchema cA) {
         // get type array and schema
-        io.swagger.v3.oas.annotations.media.Schema tS = type.getRawClass().getDeclaredAnnotation(io.swagger.v3.oas.annotations.media.Schema.class);
-        if (!hasSchemaAnnotation(tS)) {
-            tS = null;
-        }
-        io.swagger.v3.oas.annotations.media.ArraySchema tA = type.getRawClass().getDeclaredAnnotation(io.swagger.v3.oas.annotations.media.ArraySchema.class);
-        if (!hasArrayAnnotation(tA)) {
-            tA = null;
-        }
+        io.swagger.v3.oas.annotations.media.Schema tS = typeAnnotations.schema;
+        io.swagger.v3.oas.annotations.media.ArraySchema tA = typeAnnotations.arraySchema;
+        io.swagger.v3.oas.annotations.media.Schema tAs = typeAnnotations.arraySchemaSchema;
 
-        io.swagger.v3.oas.annotations.media.Schema tAs = tA == null ? null : tA.schema();
-        if (!hasSchemaAnnotation(tAs)) {
-            tAs = null;
-        }
         // get ctx array and schema
-        io.swagger.v3.oas.annotations.media.Schema cS = getSchemaAnnotation(ctxAnnotations);
         if (!hasSchemaAnnotation(cS)) {
             cS = null;
         }
-        io.swagger.v3.oas.annotations.media.ArraySchema cA = getArraySchemaAnnotation(ctxAnnotations);
         if (!hasArrayAnnotation(cA)) {
             cA = null;
         }
@@ -1414,320 +1411,7 @@ public abstract class AnnotationsUtils {
         } else if (!hasSchemaAnnotation(patch)) {
             return master;
         }
-        Annotation schema = new io.swagger.v3.oas.annotations.media.Schema() {
-            @Override
-            public Class<?> implementation() {
-                if (!master.implementation().equals(Void.class) || patch.implementation().equals(Void.class)) {
-                    return master.implementation();
-                }
-                return patch.implementation();
-            }
-
-            @Override
-            public Class<?> not() {
-                if (!master.not().equals(Void.class) || patch.not().equals(Void.class)) {
-                    return master.not();
-                }
-                return patch.not();
-            }
-
-            @Override
-            public Class<?>[] oneOf() {
-                if (master.oneOf().length > 0 || patch.oneOf().length == 0) {
-                    return master.oneOf();
-                }
-                return patch.oneOf();
-            }
-
-            @Override
-            public Class<?>[] anyOf() {
-                if (master.anyOf().length > 0 || patch.anyOf().length == 0) {
-                    return master.anyOf();
-                }
-                return patch.anyOf();
-            }
-
-            @Override
-            public Class<?>[] allOf() {
-                if (master.allOf().length > 0 || patch.allOf().length == 0) {
-                    return master.allOf();
-                }
-                return patch.allOf();
-            }
-
-            @Override
-            public String name() {
-                if (StringUtils.isNotBlank(master.name()) || StringUtils.isBlank(patch.name())) {
-                    return master.name();
-                }
-                return patch.name();
-            }
-
-            @Override
-            public String title() {
-                if (StringUtils.isNotBlank(master.title()) || StringUtils.isBlank(patch.title())) {
-                    return master.title();
-                }
-                return patch.title();
-            }
-
-            @Override
-            public double multipleOf() {
-                if (master.multipleOf() != 0 || patch.multipleOf() == 0) {
-                    return master.multipleOf();
-                }
-                return patch.multipleOf();
-
-            }
-
-            @Override
-            public String maximum() {
-                if (StringUtils.isNotBlank(master.maximum()) || StringUtils.isBlank(patch.maximum())) {
-                    return master.maximum();
-                }
-                return patch.maximum();
-            }
-
-            @Override
-            public boolean exclusiveMaximum() {
-                if (master.exclusiveMaximum() || !patch.exclusiveMaximum()) {
-                    return master.exclusiveMaximum();
-                }
-                return patch.exclusiveMaximum();
-            }
-
-            @Override
-            public String minimum() {
-                if (StringUtils.isNotBlank(master.minimum()) || StringUtils.isBlank(patch.minimum())) {
-                    return master.minimum();
-                }
-                return patch.minimum();
-            }
-
-            @Override
-            public boolean exclusiveMinimum() {
-                if (master.exclusiveMinimum() || !patch.exclusiveMinimum()) {
-                    return master.exclusiveMinimum();
-                }
-                return patch.exclusiveMinimum();
-            }
-
-            @Override
-            public int maxLength() {
-                if ((   master.maxLength() != Integer.MAX_VALUE && master.maxLength() > 0) ||
-                        (patch.maxLength() == Integer.MAX_VALUE || patch.maxLength() == 0)   ) {
-                    return master.maxLength();
-                }
-                return patch.maxLength();
-            }
-
-            @Override
-            public int minLength() {
-                if (master.minLength() != 0 || patch.minLength() == 0) {
-                    return master.minLength();
-                }
-                return patch.minLength();
-            }
-
-            @Override
-            public String pattern() {
-                if (StringUtils.isNotBlank(master.pattern()) || StringUtils.isBlank(patch.pattern())) {
-                    return master.pattern();
-                }
-                return patch.pattern();
-            }
-
-            @Override
-            public int maxProperties() {
-                if (master.maxProperties() != 0 || patch.maxProperties() == 0) {
-                    return master.maxProperties();
-                }
-                return patch.maxProperties();
-            }
-
-            @Override
-            public int minProperties() {
-                if (master.minProperties() != 0 || patch.minProperties() == 0) {
-                    return master.minProperties();
-                }
-                return patch.minProperties();
-            }
-
-            @Override
-            public String[] requiredProperties() {
-                if (master.requiredProperties().length > 0 || patch.requiredProperties().length == 0) {
-                    return master.requiredProperties();
-                }
-                return patch.requiredProperties();
-            }
-
-            @Override
-            public boolean required() {
-                if (master.required() || !patch.required()) {
-                    return master.required();
-                }
-                return patch.required();
-            }
-
-            @Override
-            public String description() {
-                if (StringUtils.isNotBlank(master.description()) || StringUtils.isBlank(patch.description())) {
-                    return master.description();
-                }
-                return patch.description();
-            }
-
-            @Override
-            public String format() {
-                if (StringUtils.isNotBlank(master.format()) || StringUtils.isBlank(patch.format())) {
-                    return master.format();
-                }
-                return patch.format();
-            }
-
-            @Override
-            public String ref() {
-                if (StringUtils.isNotBlank(master.ref()) || StringUtils.isBlank(patch.ref())) {
-                    return master.ref();
-                }
-                return patch.ref();
-            }
-
-            @Override
-            public boolean nullable() {
-                if (master.nullable() || !patch.nullable()) {
-                    return master.nullable();
-                }
-                return patch.nullable();
-            }
-
-            @Override
-            public boolean readOnly() {
-                if (master.readOnly() || !patch.readOnly()) {
-                    return master.readOnly();
-                }
-                return patch.readOnly();
-            }
-
-            @Override
-            public boolean writeOnly() {
-                if (master.writeOnly() || !patch.writeOnly()) {
-                    return master.writeOnly();
-                }
-                return patch.writeOnly();
-            }
-
-            @Override
-            public AccessMode accessMode() {
-                if (!master.accessMode().equals(AccessMode.AUTO) || patch.accessMode().equals(AccessMode.AUTO)) {
-                    return master.accessMode();
-                }
-                return patch.accessMode();
-            }
-
-            @Override
-            public String example() {
-                if (StringUtils.isNotBlank(master.example()) || StringUtils.isBlank(patch.example())) {
-                    return master.example();
-                }
-                return patch.example();
-            }
-
-            @Override
-            public io.swagger.v3.oas.annotations.ExternalDocumentation externalDocs() {
-                if (getExternalDocumentation(master.externalDocs()).isPresent() || !getExternalDocumentation(patch.externalDocs()).isPresent()) {
-                    return master.externalDocs();
-                }
-                return patch.externalDocs();
-            }
-
-            @Override
-            public boolean deprecated() {
-                if (master.deprecated() || !patch.deprecated()) {
-                    return master.deprecated();
-                }
-                return patch.deprecated();
-            }
-
-            @Override
-            public String type() {
-                if (StringUtils.isNotBlank(master.type()) || StringUtils.isBlank(patch.type())) {
-                    return master.type();
-                }
-                return patch.type();
-            }
-
-            @Override
-            public String[] allowableValues() {
-                if (master.allowableValues().length > 0 || patch.allowableValues().length == 0) {
-                    return master.allowableValues();
-                }
-                return patch.allowableValues();
-            }
-
-            @Override
-            public String defaultValue() {
-                if (StringUtils.isNotBlank(master.defaultValue()) || StringUtils.isBlank(patch.defaultValue())) {
-                    return master.defaultValue();
-                }
-                return patch.defaultValue();
-            }
-
-            @Override
-            public String discriminatorProperty() {
-                if (StringUtils.isNotBlank(master.discriminatorProperty()) || StringUtils.isBlank(patch.discriminatorProperty())) {
-                    return master.discriminatorProperty();
-                }
-                return patch.discriminatorProperty();
-            }
-
-            @Override
-            public DiscriminatorMapping[] discriminatorMapping() {
-                if (master.discriminatorMapping().length > 0 || patch.discriminatorMapping().length == 0) {
-                    return master.discriminatorMapping();
-                }
-                return patch.discriminatorMapping();
-            }
-
-            @Override
-            public boolean hidden() {
-                if (master.hidden() || !patch.hidden()) {
-                    return master.hidden();
-                }
-                return patch.hidden();
-            }
-
-            @Override
-            public boolean enumAsRef() {
-                if (master.enumAsRef() || !patch.enumAsRef()) {
-                    return master.enumAsRef();
-                }
-                return patch.enumAsRef();
-            }
-
-            @Override
-            public Class<?>[] subTypes() {
-                if (master.subTypes().length > 0 || patch.subTypes().length == 0) {
-                    return master.subTypes();
-                }
-                return patch.subTypes();
-            }
-
-            @Override
-            public Extension[] extensions() {
-                if (master.extensions().length > 0 || patch.extensions().length == 0) {
-                    return master.extensions();
-                }
-                return patch.extensions();
-            }
-
-            @Override
-            public Class<? extends Annotation> annotationType() {
-                return io.swagger.v3.oas.annotations.media.Schema.class;
-            }
-        };
-
-        return (io.swagger.v3.oas.annotations.media.Schema)schema;
+        return new MergedSchemaAnnotations.MergedSchema(master, patch);
     }
 
     public static io.swagger.v3.oas.annotations.media.ArraySchema mergeArraySchemaAnnotations(
@@ -1740,75 +1424,15 @@ public abstract class AnnotationsUtils {
         } else if (!hasArrayAnnotation(patch)) {
             return master;
         }
-        Annotation newArraySchema = new io.swagger.v3.oas.annotations.media.ArraySchema() {
-
-            @Override
-            public Class<? extends Annotation> annotationType() {
-                return io.swagger.v3.oas.annotations.media.ArraySchema.class;
-            }
-
-            @Override
-            public io.swagger.v3.oas.annotations.media.Schema schema() {
-                io.swagger.v3.oas.annotations.media.Schema patchSchema = patch.schema();
-                if (!hasSchemaAnnotation(patchSchema)) {
-                    patchSchema = null;
-                }
-
-                if (patchSchema == null) {
-                    return master.schema();
-                } else {
-                    return mergeSchemaAnnotations(master.schema(), patch.schema());
-                }
-            }
-
-            @Override
-            public io.swagger.v3.oas.annotations.media.Schema arraySchema() {
-                io.swagger.v3.oas.annotations.media.Schema patchSchema = patch.arraySchema();
-                if (!hasSchemaAnnotation(patchSchema)) {
-                    patchSchema = null;
-                }
-
-                if (patchSchema == null) {
-                    return master.arraySchema();
-                } else {
-                    return mergeSchemaAnnotations(master.arraySchema(), patch.arraySchema());
-                }
-            }
-
-            @Override
-            public int maxItems() {
-                if (master.maxItems() != 0 || patch.maxItems() == 0) {
-                    return master.maxItems();
-                }
-                return patch.maxItems();
-            }
-
-            @Override
-            public int minItems() {
-                if (master.minItems() != 0 || patch.minItems() == 0) {
-                    return master.minItems();
-                }
-                return patch.minItems();
-            }
-
-            @Override
-            public boolean uniqueItems() {
-                if (master.uniqueItems() || !patch.uniqueItems()) {
-                    return master.uniqueItems();
-                }
-                return patch.uniqueItems();
-            }
-
-            @Override
-            public Extension[] extensions() {
-                if (master.extensions().length > 0 || patch.extensions().length == 0) {
-                    return master.extensions();
-                }
-                return patch.extensions();
-            }
-        };
-
-        return (io.swagger.v3.oas.annotations.media.ArraySchema)newArraySchema;
+        io.swagger.v3.oas.annotations.media.Schema patchSchema = patch.schema();
+        io.swagger.v3.oas.annotations.media.Schema patchArraySchema = patch.arraySchema();
+        return new MergedSchemaAnnotations.MergedArraySchema(
+                hasSchemaAnnotation(patchSchema) ? mergeSchemaAnnotations(master.schema(), patchSchema) : master.schema(),
+                hasSchemaAnnotation(patchArraySchema) ? mergeSchemaAnnotations(master.arraySchema(), patchArraySchema) : master.arraySchema(),
+                master.maxItems() != 0 || patch.maxItems() == 0 ? master.maxItems() : patch.maxItems(),
+                master.minItems() != 0 || patch.minItems() == 0 ? master.minItems() : patch.minItems(),
+                master.uniqueItems() || patch.uniqueItems(),
+                master.extensions().length > 0 || patch.extensions().length == 0 ? master.extensions() : patch.extensions());
     }
 
     public static io.swagger.v3.oas.annotations.media.ArraySchema mergeArrayWithSchemaAnnotation(
@@ -1820,45 +1444,8 @@ public abstract class AnnotationsUtils {
         if (!hasSchemaAnnotation(schema)) {
             return arraySchema;
         }
-        Annotation newArraySchema = new io.swagger.v3.oas.annotations.media.ArraySchema() {
-
-            @Override
-            public Class<? extends Annotation> annotationType() {
-                return io.swagger.v3.oas.annotations.media.ArraySchema.class;
-            }
-
-            @Override
-            public io.swagger.v3.oas.annotations.media.Schema schema() {
-                return schema;
-            }
-
-            @Override
-            public io.swagger.v3.oas.annotations.media.Schema arraySchema() {
-                return arraySchema.arraySchema();
-            }
-
-            @Override
-            public int maxItems() {
-                return arraySchema.maxItems();
-            }
-
-            @Override
-            public int minItems() {
-                return arraySchema.minItems();
-            }
-
-            @Override
-            public boolean uniqueItems() {
-                return arraySchema.uniqueItems();
-            }
-
-            @Override
-            public Extension[] extensions() {
-                return arraySchema.extensions();
-            }
-        };
-
-        return (io.swagger.v3.oas.annotations.media.ArraySchema)newArraySchema;
+        return new MergedSchemaAnnotations.MergedArraySchema(schema, arraySchema.arraySchema(),
+                arraySchema.maxItems(), arraySchema.minItems(), arraySchema.uniqueItems(), arraySchema.extensions());
     }
 
 }
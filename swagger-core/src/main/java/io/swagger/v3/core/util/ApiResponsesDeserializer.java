@@ -1,14 +1,12 @@
 package io.swagger.v3.core.util;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import java.io.IOException;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -16,18 +14,23 @@ public class ApiResponsesDeserializer extends JsonDeserializer<ApiResponses> {
     @Override
     public ApiResponses deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
+        JsonToken t = jp.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            t = jp.nextToken();
+        }
+        if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+            return (ApiResponses) ctxt.handleUnexpectedToken(ApiResponses.class, jp);
+        }
         ApiResponses result = new ApiResponses();
-        JsonNode node = jp.getCodec().readTree(jp);
-        ObjectNode objectNode = (ObjectNode)node;
         Map<String, Object> extensions = new LinkedHashMap<>();
-        for (Iterator<String> it = objectNode.fieldNames(); it.hasNext(); ) {
-            String childName = it.next();
-            JsonNode child = objectNode.get(childName);
+        for (; t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+            String childName = jp.getCurrentName();
+            boolean isNull = jp.nextToken() == JsonToken.VALUE_NULL;
             // if name start with `x-` consider it an extesion
             if (childName.startsWith("x-")) {
-                extensions.put(childName, Json.mapper().convertValue(child, Object.class));
+                extensions.put(childName, isNull ? null : ctxt.readValue(jp, Object.class));
             } else {
-                result.put(childName, Json.mapper().convertValue(child, ApiResponse.class));
+                result.put(childName, isNull ? null : ctxt.readValue(jp, ApiResponse.class));
             }
         }
         if (!extensions.isEmpty()) {
@@ -0,0 +1,479 @@
+package io.swagger.v3.core.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Loads an {@link OpenAPI} from a memory-mapped JSON file, only deserializing the path items and component schemas
+ * which are used.
+ *
+ * One pass over the file notes where each entry of {@code paths} and {@code components/schemas} starts and ends, and
+ * binds everything else. The returned {@link OpenAPI#getPaths() paths} and
+ * {@link Components#getSchemas() schemas} hold all names in file order, and deserialize an
+ * entry from the mapped file the first time its value is read. Iterating over the values, serializing or comparing
+ * them deserializes all entries. An entry which can't be deserialized fails with an {@link UncheckedIOException}
+ * when it is read, not on load.
+ *
+ * The file must be UTF-8 and must not change while the definition is in use. Like the maps they replace, the lazy
+ * maps may be read concurrently as long as nobody modifies them.
+ */
+public final class LazyOpenAPI {
+
+    private LazyOpenAPI() {
+    }
+
+    public static OpenAPI load(Path file) throws IOException {
+        ByteBuffer json;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("OpenAPI definition " + file + " is too large to be mapped");
+            }
+            json = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return load(json);
+    }
+
+    /**
+     * @param json UTF-8 JSON definition from its position to its limit, kept and read again for each lazy entry
+     */
+    public static OpenAPI load(ByteBuffer json) throws IOException {
+        json = json.slice();
+        Index<PathItem> pathItems = new Index<>(json, Json.mapper().readerFor(PathItem.class));
+        Index<Schema> schemas = new Index<>(json, Json.mapper().readerFor(Schema.class));
+        LazyPaths paths = null;
+        LazySchemas componentSchemas = null;
+
+        // everything but the indexed entries, bound as usual once the file has been read
+        TokenBuffer rest;
+        try (JsonParser jp = Json.mapper().getFactory().createParser(new ByteBufferBackedInputStream(json.duplicate()))) {
+            rest = new TokenBuffer(jp, null);
+            if (jp.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("OpenAPI definition must be a JSON object, found " + jp.currentToken());
+            }
+            rest.writeStartObject();
+            for (JsonToken t = jp.nextToken(); t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+                String name = jp.getCurrentName();
+                JsonToken value = jp.nextToken();
+                if (value == JsonToken.START_OBJECT && "paths".equals(name)) {
+                    paths = new LazyPaths(pathItems);
+                    index(jp, pathItems, paths, true);
+                } else if (value == JsonToken.START_OBJECT && "components".equals(name)) {
+                    rest.writeFieldName(name);
+                    rest.writeStartObject();
+                    for (t = jp.nextToken(); t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+                        String component = jp.getCurrentName();
+                        if (jp.nextToken() == JsonToken.START_OBJECT && "schemas".equals(component)) {
+                            componentSchemas = new LazySchemas(schemas);
+                            index(jp, schemas, componentSchemas, false);
+                        } else {
+                            rest.writeFieldName(component);
+                            rest.copyCurrentStructure(jp);
+                        }
+                    }
+                    rest.writeEndObject();
+                } else {
+                    rest.writeFieldName(name);
+                    rest.copyCurrentStructure(jp);
+                }
+            }
+            rest.writeEndObject();
+        }
+
+        OpenAPI openAPI = Json.mapper().readValue(rest.asParser(), OpenAPI.class);
+        if (paths != null) {
+            openAPI.setPaths(paths);
+        }
+        if (componentSchemas != null) {
+            if (openAPI.getComponents() == null) {
+                openAPI.setComponents(new Components());
+            }
+            openAPI.getComponents().setSchemas(componentSchemas);
+        }
+        return openAPI;
+    }
+
+    /**
+     * Notes the range of each object entry and binds the others, as {@link PathsDeserializer} and the schema map do.
+     */
+    private static <V> void index(JsonParser jp, Index<V> index, Map<String, V> map, boolean paths) throws IOException {
+        for (JsonToken t = jp.nextToken(); t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+            String name = jp.getCurrentName();
+            t = jp.nextToken();
+            if (paths && name.startsWith("x-")) {
+                ((Paths) map).addExtension(name, Json.mapper().readValue(jp, Object.class));
+            } else if (t == JsonToken.START_OBJECT) {
+                long start = jp.getTokenLocation().getByteOffset();
+                jp.skipChildren();
+                // keeps the name in file order, then the range
+                map.put(name, null);
+                index.add(name, (int) start, (int) jp.getCurrentLocation().getByteOffset());
+            } else {
+                map.put(name, t == JsonToken.VALUE_NULL ? null : index.reader.<V>readValue(jp));
+            }
+        }
+    }
+
+    /**
+     * Ranges of the entries of one map which have not been read yet.
+     */
+    private static final class Index<V> {
+        private final ByteBuffer json;
+        private final ObjectReader reader;
+        private final Map<Object, int[]> pending = new HashMap<>();
+
+        Index(ByteBuffer json, ObjectReader reader) {
+            this.json = json;
+            this.reader = reader;
+        }
+
+        synchronized void add(String name, int start, int end) {
+            pending.put(name, new int[]{start, end});
+        }
+
+        synchronized void resolve(Map<String, V> map, Object key) {
+            int[] range = pending.get(key);
+            // already read, or removed through the key set
+            if (range == null || !map.containsKey(key)) {
+                return;
+            }
+            ByteBuffer entry = json.duplicate();
+            entry.limit(range[1]).position(range[0]);
+            V value;
+            try (InputStream in = new ByteBufferBackedInputStream(entry)) {
+                value = reader.readValue(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("failed to read " + key + " of OpenAPI definition", e);
+            }
+            // drops the range
+            map.put((String) key, value);
+        }
+
+        synchronized void resolveAll(Map<String, V> map) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            for (Object key : new ArrayList<>(pending.keySet())) {
+                resolve(map, key);
+            }
+            pending.clear();
+        }
+
+        synchronized void forget(Object key) {
+            pending.remove(key);
+        }
+
+        synchronized void clear() {
+            pending.clear();
+        }
+    }
+
+    /**
+     * {@link Paths} whose path items are read from the file on first access. Not equal to a {@link Paths} with the
+     * same entries, as {@link Paths#equals(Object)} compares classes. Serialized as a {@link Paths} holding all
+     * entries, since the mapped file is not.
+     */
+    private static final class LazyPaths extends Paths {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Index<PathItem> index;
+
+        LazyPaths(Index<PathItem> index) {
+            this.index = index;
+        }
+
+        @Override
+        public PathItem get(Object key) {
+            index.resolve(this, key);
+            return super.get(key);
+        }
+
+        @Override
+        public PathItem getOrDefault(Object key, PathItem defaultValue) {
+            index.resolve(this, key);
+            return super.getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            index.resolveAll(this);
+            return super.containsValue(value);
+        }
+
+        @Override
+        public Collection<PathItem> values() {
+            index.resolveAll(this);
+            return super.values();
+        }
+
+        @Override
+        public Set<Map.Entry<String, PathItem>> entrySet() {
+            index.resolveAll(this);
+            return super.entrySet();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super PathItem> action) {
+            index.resolveAll(this);
+            super.forEach(action);
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super PathItem, ? extends PathItem> function) {
+            index.resolveAll(this);
+            super.replaceAll(function);
+        }
+
+        @Override
+        public PathItem put(String key, PathItem value) {
+            index.forget(key);
+            return super.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends PathItem> m) {
+            for (String key : m.keySet()) {
+                index.forget(key);
+            }
+            super.putAll(m);
+        }
+
+        @Override
+        public PathItem putIfAbsent(String key, PathItem value) {
+            index.resolve(this, key);
+            return super.putIfAbsent(key, value);
+        }
+
+        @Override
+        public PathItem remove(Object key) {
+            index.resolve(this, key);
+            return super.remove(key);
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            index.resolve(this, key);
+            return super.remove(key, value);
+        }
+
+        @Override
+        public PathItem replace(String key, PathItem value) {
+            index.resolve(this, key);
+            return super.replace(key, value);
+        }
+
+        @Override
+        public boolean replace(String key, PathItem oldValue, PathItem newValue) {
+            index.resolve(this, key);
+            return super.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public PathItem computeIfAbsent(String key, Function<? super String, ? extends PathItem> mappingFunction) {
+            index.resolve(this, key);
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public PathItem computeIfPresent(String key, BiFunction<? super String, ? super PathItem, ? extends PathItem> remappingFunction) {
+            index.resolve(this, key);
+            return super.computeIfPresent(key, remappingFunction);
+        }
+
+        @Override
+        public PathItem compute(String key, BiFunction<? super String, ? super PathItem, ? extends PathItem> remappingFunction) {
+            index.resolve(this, key);
+            return super.compute(key, remappingFunction);
+        }
+
+        @Override
+        public PathItem merge(String key, PathItem value, BiFunction<? super PathItem, ? super PathItem, ? extends PathItem> remappingFunction) {
+            index.resolve(this, key);
+            return super.merge(key, value, remappingFunction);
+        }
+
+        @Override
+        public void clear() {
+            index.clear();
+            super.clear();
+        }
+
+        @Override
+        public Object clone() {
+            index.resolveAll(this);
+            return super.clone();
+        }
+
+        private Object writeReplace() {
+            index.resolveAll(this);
+            Paths paths = new Paths();
+            paths.putAll(this);
+            paths.setExtensions(getExtensions());
+            return paths;
+        }
+    }
+
+    /**
+     * Component schemas which are read from the file on first access. Serialized as a {@link LinkedHashMap} holding
+     * all entries.
+     */
+    private static final class LazySchemas extends LinkedHashMap<String, Schema> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Index<Schema> index;
+
+        LazySchemas(Index<Schema> index) {
+            this.index = index;
+        }
+
+        @Override
+        public Schema get(Object key) {
+            index.resolve(this, key);
+            return super.get(key);
+        }
+
+        @Override
+        public Schema getOrDefault(Object key, Schema defaultValue) {
+            index.resolve(this, key);
+            return super.getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            index.resolveAll(this);
+            return super.containsValue(value);
+        }
+
+        @Override
+        public Collection<Schema> values() {
+            index.resolveAll(this);
+            return super.values();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Schema>> entrySet() {
+            index.resolveAll(this);
+            return super.entrySet();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super Schema> action) {
+            index.resolveAll(this);
+            super.forEach(action);
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super Schema, ? extends Schema> function) {
+            index.resolveAll(this);
+            super.replaceAll(function);
+        }
+
+        @Override
+        public Schema put(String key, Schema value) {
+            index.forget(key);
+            return super.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends Schema> m) {
+            for (String key : m.keySet()) {
+                index.forget(key);
+            }
+            super.putAll(m);
+        }
+
+        @Override
+        public Schema putIfAbsent(String key, Schema value) {
+            index.resolve(this, key);
+            return super.putIfAbsent(key, value);
+        }
+
+        @Override
+        public Schema remove(Object key) {
+            index.resolve(this, key);
+            return super.remove(key);
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            index.resolve(this, key);
+            return super.remove(key, value);
+        }
+
+        @Override
+        public Schema replace(String key, Schema value) {
+            index.resolve(this, key);
+            return super.replace(key, value);
+        }
+
+        @Override
+        public boolean replace(String key, Schema oldValue, Schema newValue) {
+            index.resolve(this, key);
+            return super.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public Schema computeIfAbsent(String key, Function<? super String, ? extends Schema> mappingFunction) {
+            index.resolve(this, key);
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public Schema computeIfPresent(String key, BiFunction<? super String, ? super Schema, ? extends Schema> remappingFunction) {
+            index.resolve(this, key);
+            return super.computeIfPresent(key, remappingFunction);
+        }
+
+        @Override
+        public Schema compute(String key, BiFunction<? super String, ? super Schema, ? extends Schema> remappingFunction) {
+            index.resolve(this, key);
+            return super.compute(key, remappingFunction);
+        }
+
+        @Override
+        public Schema merge(String key, Schema value, BiFunction<? super Schema, ? super Schema, ? extends Schema> remappingFunction) {
+            index.resolve(this, key);
+            return super.merge(key, value, remappingFunction);
+        }
+
+        @Override
+        public void clear() {
+            index.clear();
+            super.clear();
+        }
+
+        @Override
+        public Object clone() {
+            index.resolveAll(this);
+            return super.clone();
+        }
+
+        private Object writeReplace() {
+            index.resolveAll(this);
+            return new LinkedHashMap<>(this);
+        }
+    }
+}
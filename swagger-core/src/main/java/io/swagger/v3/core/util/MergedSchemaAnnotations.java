@@ -0,0 +1,539 @@
+package io.swagger.v3.core.util;
+
+import io.swagger.v3.oas.annotations.ExternalDocumentation;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.DiscriminatorMapping;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * Memoized results of {@link AnnotationsUtils#mergeSchemaAnnotations(Annotation[], com.fasterxml.jackson.databind.JavaType)}
+ * and the flat annotations the merges produce.
+ *
+ * The schema annotations of a class live in a {@link ClassValue} of the class. The merges with ctx annotations are
+ * keyed by the identity of the annotations and live in a {@link ClassValue} of the class with the innermost class
+ * loader among the merged class, the classes the ctx annotations refer to and this class. Every class a merge holds
+ * is then visible from the class it is kept in: merges of application annotations on a {@code List} or
+ * {@code String} property are kept in an application class and are dropped together with it, never in the JDK
+ * class. Merges of classes of unrelated class loaders are not kept. Merged annotations compute every member once
+ * when they are created.
+ */
+final class MergedSchemaAnnotations {
+
+    // bounds the merges kept per class when callers build new ctx annotations on every call
+    private static final int MAX_MERGES_PER_CLASS = 256;
+
+    private static final ClassValue<MergedSchemaAnnotations> BY_TYPE = new ClassValue<MergedSchemaAnnotations>() {
+        @Override
+        protected MergedSchemaAnnotations computeValue(Class<?> type) {
+            return new MergedSchemaAnnotations(type);
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<Key, Annotation>> MERGES = new ClassValue<ConcurrentMap<Key, Annotation>>() {
+        @Override
+        protected ConcurrentMap<Key, Annotation> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // classes of the class loaders this class is loaded by or descends from
+    private static final ConcurrentMap<Class<?>, MergedSchemaAnnotations> OUTER_TYPES = new ConcurrentHashMap<>();
+
+    // stands for a cached null
+    private static final Annotation NONE = new Annotation() {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Annotation.class;
+        }
+    };
+
+    private final Class<?> type;
+    final Schema schema;
+    final ArraySchema arraySchema;
+    final Schema arraySchemaSchema;
+
+    private MergedSchemaAnnotations(Class<?> type) {
+        this.type = type;
+        Schema tS = type.getDeclaredAnnotation(Schema.class);
+        ArraySchema tA = type.getDeclaredAnnotation(ArraySchema.class);
+        this.schema = AnnotationsUtils.hasSchemaAnnotation(tS) ? tS : null;
+        this.arraySchema = AnnotationsUtils.hasArrayAnnotation(tA) ? tA : null;
+        Schema tAs = arraySchema == null ? null : arraySchema.schema();
+        this.arraySchemaSchema = AnnotationsUtils.hasSchemaAnnotation(tAs) ? tAs : null;
+    }
+
+    static MergedSchemaAnnotations of(Class<?> type) {
+        Class<?> owner = innermost(type, MergedSchemaAnnotations.class);
+        if (owner == type) {
+            return BY_TYPE.get(type);
+        }
+        // a class which does not see this one, a JDK class, would keep it and its class loader
+        if (owner == MergedSchemaAnnotations.class) {
+            return OUTER_TYPES.computeIfAbsent(type, MergedSchemaAnnotations::new);
+        }
+        return new MergedSchemaAnnotations(type);
+    }
+
+    /**
+     * Drops the schema annotations of the class; the merges made with them are not found anymore.
+     */
+    static void clear(Class<?> type) {
+        BY_TYPE.remove(type);
+        OUTER_TYPES.remove(type);
+    }
+
+    /**
+     * @return the merge of the ctx annotations with the annotations of the class, computed once per ctx annotations
+     */
+    Annotation merge(Schema ctxSchema, ArraySchema ctxArraySchema) {
+        Class<?> owner = innermost(innermost(type, MergedSchemaAnnotations.class), Schema.class);
+        owner = innermost(owner, ctxSchema);
+        if (ctxArraySchema != null) {
+            owner = innermost(owner, ctxArraySchema.schema());
+            owner = innermost(owner, ctxArraySchema.arraySchema());
+        }
+        if (owner == null) {
+            return AnnotationsUtils.mergeSchemaAnnotations(this, ctxSchema, ctxArraySchema);
+        }
+        ConcurrentMap<Key, Annotation> merges = MERGES.get(owner);
+        Key key = new Key(this, ctxSchema, ctxArraySchema);
+        Annotation merged = merges.get(key);
+        if (merged == null) {
+            merged = AnnotationsUtils.mergeSchemaAnnotations(this, ctxSchema, ctxArraySchema);
+            if (merged == null) {
+                merged = NONE;
+            }
+            if (merges.size() < MAX_MERGES_PER_CLASS) {
+                merges.putIfAbsent(key, merged);
+            }
+        }
+        return merged == NONE ? null : merged;
+    }
+
+    private static Class<?> innermost(Class<?> owner, Schema schema) {
+        if (schema == null) {
+            return owner;
+        }
+        owner = innermost(owner, schema.implementation());
+        owner = innermost(owner, schema.not());
+        owner = innermost(owner, schema.oneOf());
+        owner = innermost(owner, schema.anyOf());
+        owner = innermost(owner, schema.allOf());
+        owner = innermost(owner, schema.subTypes());
+        for (DiscriminatorMapping mapping : schema.discriminatorMapping()) {
+            owner = innermost(owner, mapping.schema());
+        }
+        return owner;
+    }
+
+    private static Class<?> innermost(Class<?> owner, Class<?>[] classes) {
+        for (Class<?> cls : classes) {
+            owner = innermost(owner, cls);
+        }
+        return owner;
+    }
+
+    /**
+     * @return the class of the two whose class loader is the other one's or one of its descendants, null if their
+     * class loaders are unrelated
+     */
+    private static Class<?> innermost(Class<?> owner, Class<?> cls) {
+        if (owner == null) {
+            return null;
+        }
+        if (isAncestor(cls.getClassLoader(), owner.getClassLoader())) {
+            return owner;
+        }
+        return isAncestor(owner.getClassLoader(), cls.getClassLoader()) ? cls : null;
+    }
+
+    private static boolean isAncestor(ClassLoader ancestor, ClassLoader loader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> T[] copy(T[] array) {
+        return array.length == 0 ? array : array.clone();
+    }
+
+    private static final class Key {
+        private final MergedSchemaAnnotations typeAnnotations;
+        private final Schema schema;
+        private final ArraySchema arraySchema;
+
+        Key(MergedSchemaAnnotations typeAnnotations, Schema schema, ArraySchema arraySchema) {
+            this.typeAnnotations = typeAnnotations;
+            this.schema = schema;
+            this.arraySchema = arraySchema;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return typeAnnotations == that.typeAnnotations && schema == that.schema && arraySchema == that.arraySchema;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(typeAnnotations) + System.identityHashCode(schema))
+                    + System.identityHashCode(arraySchema);
+        }
+    }
+
+    /**
+     * {@link Schema} taking every member from the master annotation unless it is unset there and set in the patch.
+     */
+    static final class MergedSchema implements Schema {
+        private final Class<?> implementation;
+        private final Class<?> not;
+        private final Class<?>[] oneOf;
+        private final Class<?>[] anyOf;
+        private final Class<?>[] allOf;
+        private final String name;
+        private final String title;
+        private final double multipleOf;
+        private final String maximum;
+        private final boolean exclusiveMaximum;
+        private final String minimum;
+        private final boolean exclusiveMinimum;
+        private final int maxLength;
+        private final int minLength;
+        private final String pattern;
+        private final int maxProperties;
+        private final int minProperties;
+        private final String[] requiredProperties;
+        private final boolean required;
+        private final String description;
+        private final String format;
+        private final String ref;
+        private final boolean nullable;
+        private final boolean readOnly;
+        private final boolean writeOnly;
+        private final AccessMode accessMode;
+        private final String example;
+        private final ExternalDocumentation externalDocs;
+        private final boolean deprecated;
+        private final String type;
+        private final String[] allowableValues;
+        private final String defaultValue;
+        private final String discriminatorProperty;
+        private final DiscriminatorMapping[] discriminatorMapping;
+        private final boolean hidden;
+        private final boolean enumAsRef;
+        private final Class<?>[] subTypes;
+        private final Extension[] extensions;
+
+        MergedSchema(Schema master, Schema patch) {
+            implementation = !master.implementation().equals(Void.class) || patch.implementation().equals(Void.class) ? master.implementation() : patch.implementation();
+            not = !master.not().equals(Void.class) || patch.not().equals(Void.class) ? master.not() : patch.not();
+            oneOf = master.oneOf().length > 0 || patch.oneOf().length == 0 ? master.oneOf() : patch.oneOf();
+            anyOf = master.anyOf().length > 0 || patch.anyOf().length == 0 ? master.anyOf() : patch.anyOf();
+            allOf = master.allOf().length > 0 || patch.allOf().length == 0 ? master.allOf() : patch.allOf();
+            name = merge(master.name(), patch.name());
+            title = merge(master.title(), patch.title());
+            multipleOf = master.multipleOf() != 0 || patch.multipleOf() == 0 ? master.multipleOf() : patch.multipleOf();
+            maximum = merge(master.maximum(), patch.maximum());
+            exclusiveMaximum = master.exclusiveMaximum() || patch.exclusiveMaximum();
+            minimum = merge(master.minimum(), patch.minimum());
+            exclusiveMinimum = master.exclusiveMinimum() || patch.exclusiveMinimum();
+            maxLength = (master.maxLength() != Integer.MAX_VALUE && master.maxLength() > 0)
+                    || (patch.maxLength() == Integer.MAX_VALUE || patch.maxLength() == 0) ? master.maxLength() : patch.maxLength();
+            minLength = master.minLength() != 0 || patch.minLength() == 0 ? master.minLength() : patch.minLength();
+            pattern = merge(master.pattern(), patch.pattern());
+            maxProperties = master.maxProperties() != 0 || patch.maxProperties() == 0 ? master.maxProperties() : patch.maxProperties();
+            minProperties = master.minProperties() != 0 || patch.minProperties() == 0 ? master.minProperties() : patch.minProperties();
+            requiredProperties = master.requiredProperties().length > 0 || patch.requiredProperties().length == 0 ? master.requiredProperties() : patch.requiredProperties();
+            required = master.required() || patch.required();
+            description = merge(master.description(), patch.description());
+            format = merge(master.format(), patch.format());
+            ref = merge(master.ref(), patch.ref());
+            nullable = master.nullable() || patch.nullable();
+            readOnly = master.readOnly() || patch.readOnly();
+            writeOnly = master.writeOnly() || patch.writeOnly();
+            accessMode = !master.accessMode().equals(AccessMode.AUTO) || patch.accessMode().equals(AccessMode.AUTO) ? master.accessMode() : patch.accessMode();
+            example = merge(master.example(), patch.example());
+            externalDocs = AnnotationsUtils.getExternalDocumentation(master.externalDocs()).isPresent()
+                    || !AnnotationsUtils.getExternalDocumentation(patch.externalDocs()).isPresent() ? master.externalDocs() : patch.externalDocs();
+            deprecated = master.deprecated() || patch.deprecated();
+            type = merge(master.type(), patch.type());
+            allowableValues = master.allowableValues().length > 0 || patch.allowableValues().length == 0 ? master.allowableValues() : patch.allowableValues();
+            defaultValue = merge(master.defaultValue(), patch.defaultValue());
+            discriminatorProperty = merge(master.discriminatorProperty(), patch.discriminatorProperty());
+            discriminatorMapping = master.discriminatorMapping().length > 0 || patch.discriminatorMapping().length == 0 ? master.discriminatorMapping() : patch.discriminatorMapping();
+            hidden = master.hidden() || patch.hidden();
+            enumAsRef = master.enumAsRef() || patch.enumAsRef();
+            subTypes = master.subTypes().length > 0 || patch.subTypes().length == 0 ? master.subTypes() : patch.subTypes();
+            extensions = master.extensions().length > 0 || patch.extensions().length == 0 ? master.extensions() : patch.extensions();
+        }
+
+        private static String merge(String master, String patch) {
+            return StringUtils.isNotBlank(master) || StringUtils.isBlank(patch) ? master : patch;
+        }
+
+        @Override
+        public Class<?> implementation() {
+            return implementation;
+        }
+
+        @Override
+        public Class<?> not() {
+            return not;
+        }
+
+        @Override
+        public Class<?>[] oneOf() {
+            return copy(oneOf);
+        }
+
+        @Override
+        public Class<?>[] anyOf() {
+            return copy(anyOf);
+        }
+
+        @Override
+        public Class<?>[] allOf() {
+            return copy(allOf);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String title() {
+            return title;
+        }
+
+        @Override
+        public double multipleOf() {
+            return multipleOf;
+        }
+
+        @Override
+        public String maximum() {
+            return maximum;
+        }
+
+        @Override
+        public boolean exclusiveMaximum() {
+            return exclusiveMaximum;
+        }
+
+        @Override
+        public String minimum() {
+            return minimum;
+        }
+
+        @Override
+        public boolean exclusiveMinimum() {
+            return exclusiveMinimum;
+        }
+
+        @Override
+        public int maxLength() {
+            return maxLength;
+        }
+
+        @Override
+        public int minLength() {
+            return minLength;
+        }
+
+        @Override
+        public String pattern() {
+            return pattern;
+        }
+
+        @Override
+        public int maxProperties() {
+            return maxProperties;
+        }
+
+        @Override
+        public int minProperties() {
+            return minProperties;
+        }
+
+        @Override
+        public String[] requiredProperties() {
+            return copy(requiredProperties);
+        }
+
+        @Override
+        public boolean required() {
+            return required;
+        }
+
+        @Override
+        public String description() {
+            return description;
+        }
+
+        @Override
+        public String format() {
+            return format;
+        }
+
+        @Override
+        public String ref() {
+            return ref;
+        }
+
+        @Override
+        public boolean nullable() {
+            return nullable;
+        }
+
+        @Override
+        public boolean readOnly() {
+            return readOnly;
+        }
+
+        @Override
+        public boolean writeOnly() {
+            return writeOnly;
+        }
+
+        @Override
+        public AccessMode accessMode() {
+            return accessMode;
+        }
+
+        @Override
+        public String example() {
+            return example;
+        }
+
+        @Override
+        public ExternalDocumentation externalDocs() {
+            return externalDocs;
+        }
+
+        @Override
+        public boolean deprecated() {
+            return deprecated;
+        }
+
+        @Override
+        public String type() {
+            return type;
+        }
+
+        @Override
+        public String[] allowableValues() {
+            return copy(allowableValues);
+        }
+
+        @Override
+        public String defaultValue() {
+            return defaultValue;
+        }
+
+        @Override
+        public String discriminatorProperty() {
+            return discriminatorProperty;
+        }
+
+        @Override
+        public DiscriminatorMapping[] discriminatorMapping() {
+            return copy(discriminatorMapping);
+        }
+
+        @Override
+        public boolean hidden() {
+            return hidden;
+        }
+
+        @Override
+        public boolean enumAsRef() {
+            return enumAsRef;
+        }
+
+        @Override
+        public Class<?>[] subTypes() {
+            return copy(subTypes);
+        }
+
+        @Override
+        public Extension[] extensions() {
+            return copy(extensions);
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Schema.class;
+        }
+    }
+
+    /**
+     * {@link ArraySchema} with members computed by the merge which created it.
+     */
+    static final class MergedArraySchema implements ArraySchema {
+        private final Schema schema;
+        private final Schema arraySchema;
+        private final int maxItems;
+        private final int minItems;
+        private final boolean uniqueItems;
+        private final Extension[] extensions;
+
+        MergedArraySchema(Schema schema, Schema arraySchema, int maxItems, int minItems, boolean uniqueItems, Extension[] extensions) {
+            this.schema = schema;
+            this.arraySchema = arraySchema;
+            this.maxItems = maxItems;
+            this.minItems = minItems;
+            this.uniqueItems = uniqueItems;
+            this.extensions = extensions;
+        }
+
+        @Override
+        public Schema schema() {
+            return schema;
+        }
+
+        @Override
+        public Schema arraySchema() {
+            return arraySchema;
+        }
+
+        @Override
+        public int maxItems() {
+            return maxItems;
+        }
+
+        @Override
+        public int minItems() {
+            return minItems;
+        }
+
+        @Override
+        public boolean uniqueItems() {
+            return uniqueItems;
+        }
+
+        @Override
+        public Extension[] extensions() {
+            return copy(extensions);
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return ArraySchema.class;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package io.swagger.v3.core.util;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.BooleanSchema;
 import io.swagger.v3.oas.models.media.ComposedSchema;
@@ -21,13 +26,52 @@ import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.media.UUIDSchema;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.rainday.swagger.utils.StringUtils;
 
 public class ModelDeserializer extends JsonDeserializer<Schema> {
+
+    private static final Set<String> BUFFERED_PROPERTIES = new HashSet<>(Arrays.asList("enum", "additionalProperties"));
+
+    // the module holding this deserializer is registered with one mapper, whose bean deserializers do not change
+    private final Map<Class<?>, BeanDeserializerBase> beanDeserializers = new ConcurrentHashMap<>();
+
+    /**
+     * Binds objects straight from the parser, other values through a tree as before.
+     */
     @Override
     public Schema deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
-        JsonNode node = jp.getCodec().readTree(jp);
+        JsonToken t = jp.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            t = jp.nextToken();
+        }
+        if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+            return deserialize(jp.getCodec().<JsonNode>readTree(jp));
+        }
+        return new SchemaFields(TreeNumberParser.wrap(jp, ctxt), ctxt).read().bind();
+    }
+
+    private BeanDeserializerBase beanDeserializer(DeserializationContext ctxt, Class<?> cls) throws JsonMappingException {
+        BeanDeserializerBase deserializer = beanDeserializers.get(cls);
+        if (deserializer == null) {
+            JsonDeserializer<Object> found = ctxt.findRootValueDeserializer(ctxt.constructType(cls));
+            if (!(found instanceof BeanDeserializerBase)) {
+                return (BeanDeserializerBase) ctxt.reportBadDefinition(ctxt.constructType(cls), "schema classes must be bound as beans");
+            }
+            deserializer = (BeanDeserializerBase) found;
+            beanDeserializers.put(cls, deserializer);
+        }
+        return deserializer;
+    }
+
+    private Schema deserialize(JsonNode node) {
         JsonNode allOf = node.get("allOf");
         JsonNode anyOf = node.get("anyOf");
         JsonNode oneOf = node.get("oneOf");
@@ -108,4 +152,207 @@ public class ModelDeserializer extends JsonDeserializer<Schema> {
         }
         return schema;
     }
+
+    /**
+     * The fields of one schema object, read in a single pass. The schema class depends on {@code allOf}/{@code anyOf}/
+     * {@code oneOf}, {@code type}, {@code format}, {@code $ref} and {@code additionalProperties}, which may come after
+     * any other field, so values are bound as they come by the properties all schema classes share and set on the
+     * schema once the class is known. Only the values which are bound differently per class, {@code enum} and
+     * {@code additionalProperties}, are kept as tokens.
+     */
+    private final class SchemaFields {
+        private final JsonParser jp;
+        private final DeserializationContext ctxt;
+        private final List<Field> fields = new ArrayList<>();
+        private boolean composed;
+        private boolean hasType;
+        private String type;
+        private String format = "";
+        private String ref;
+        private Field additionalProperties;
+
+        SchemaFields(JsonParser jp, DeserializationContext ctxt) {
+            this.jp = jp;
+            this.ctxt = ctxt;
+        }
+
+        SchemaFields read() throws IOException {
+            // every schema class binds these the same way
+            BeanDeserializerBase shared = beanDeserializer(ctxt, ObjectSchema.class);
+            for (JsonToken t = jp.currentToken(); t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+                String name = jp.getCurrentName();
+                JsonToken value = jp.nextToken();
+                switch (name) {
+                    case "allOf":
+                    case "anyOf":
+                    case "oneOf":
+                        composed = true;
+                        fields.add(new Field(name, beanDeserializer(ctxt, ComposedSchema.class).findProperty(name).deserialize(jp, ctxt)));
+                        continue;
+                    case "items":
+                        if (value == JsonToken.START_OBJECT) {
+                            fields.add(new Field(name, beanDeserializer(ctxt, ArraySchema.class).findProperty(name).deserialize(jp, ctxt)));
+                            continue;
+                        }
+                        // only arrays bind other values, and fail on them
+                        fields.add(new Field(name, buffer()));
+                        continue;
+                    case "type":
+                        hasType = true;
+                        type = value == JsonToken.VALUE_STRING ? jp.getText() : null;
+                        break;
+                    case "format":
+                        format = value == JsonToken.VALUE_STRING ? jp.getText() : null;
+                        break;
+                    case "$ref":
+                        ref = value.isStructStart() ? "" : value == JsonToken.VALUE_NULL ? "null" : jp.getText();
+                        break;
+                    default:
+                        break;
+                }
+                if (BUFFERED_PROPERTIES.contains(name)) {
+                    Field field = new Field(name, buffer());
+                    if ("additionalProperties".equals(name)) {
+                        additionalProperties = field;
+                    }
+                    fields.add(field);
+                    continue;
+                }
+                SettableBeanProperty property = shared.findProperty(name);
+                if (property != null) {
+                    fields.add(new Field(name, property.deserialize(jp, ctxt)));
+                } else if (name.startsWith("x-")) {
+                    // as the any setter, which drops other names
+                    Field field = new Field(name, value == JsonToken.VALUE_NULL ? null : ctxt.readValue(jp, Object.class));
+                    field.extension = true;
+                    fields.add(field);
+                } else {
+                    jp.skipChildren();
+                }
+            }
+            return this;
+        }
+
+        private TokenBuffer buffer() throws IOException {
+            TokenBuffer tokens = new TokenBuffer(jp, ctxt);
+            tokens.copyCurrentStructure(jp);
+            return tokens;
+        }
+
+        Schema bind() throws IOException {
+            if (composed) {
+                return bind(ComposedSchema.class, true);
+            }
+            if (hasType) {
+                if (type == null) {
+                    return (Schema) ctxt.handleUnexpectedToken(Schema.class, JsonToken.VALUE_STRING, jp, "schema type must be a string");
+                }
+                switch (type) {
+                    case "array":
+                        return bind(ArraySchema.class, true);
+                    case "integer":
+                        Schema schema = bind(IntegerSchema.class, true);
+                        if (StringUtils.isBlank(format)) {
+                            schema.setFormat(null);
+                        }
+                        return schema;
+                    case "number":
+                        return bind(NumberSchema.class, true);
+                    case "boolean":
+                        return bind(BooleanSchema.class, true);
+                    case "string":
+                        if ("date".equals(format)) {
+                            return bind(DateSchema.class, true);
+                        } else if ("date-time".equals(format)) {
+                            return bind(DateTimeSchema.class, true);
+                        } else if ("email".equals(format)) {
+                            return bind(EmailSchema.class, true);
+                        } else if ("password".equals(format)) {
+                            return bind(PasswordSchema.class, true);
+                        } else if ("uuid".equals(format)) {
+                            return bind(UUIDSchema.class, true);
+                        }
+                        return bind(StringSchema.class, true);
+                    case "object":
+                        return bindObjectSchema();
+                    default:
+                        return null;
+                }
+            }
+            if (ref != null) {
+                return new Schema().$ref(ref);
+            }
+            return bindObjectSchema();
+        }
+
+        private Schema bindObjectSchema() throws IOException {
+            if (additionalProperties == null) {
+                return bind(ObjectSchema.class, true);
+            }
+            Schema innerSchema;
+            // try first to convert to Schema, if it fails it must be a boolean
+            try {
+                innerSchema = ctxt.readValue(additionalProperties.parser(), Schema.class);
+            } catch (Exception e) {
+                Boolean additionalPropsBoolean = ctxt.readValue(additionalProperties.parser(), Boolean.class);
+                Schema schema = bind(additionalPropsBoolean ? MapSchema.class : ObjectSchema.class, false);
+                schema.setAdditionalProperties(additionalPropsBoolean);
+                return schema;
+            }
+            Schema schema = bind(MapSchema.class, false);
+            schema.setAdditionalProperties(innerSchema);
+            return schema;
+        }
+
+        private Schema bind(Class<? extends Schema> cls, boolean withAdditionalProperties) throws IOException {
+            BeanDeserializerBase deserializer = beanDeserializer(ctxt, cls);
+            Schema schema = (Schema) deserializer.getValueInstantiator().createUsingDefault(ctxt);
+            for (Field field : fields) {
+                if (field.extension) {
+                    schema.addExtension(field.name, field.value);
+                    continue;
+                }
+                if (field == additionalProperties && !withAdditionalProperties) {
+                    continue;
+                }
+                // items of other classes than arrays go to the any setter, which drops them
+                SettableBeanProperty property = deserializer.findProperty(field.name);
+                if (property == null) {
+                    continue;
+                }
+                if (field.tokens != null) {
+                    property.deserializeAndSet(field.parser(), ctxt, schema);
+                } else {
+                    property.set(schema, field.value);
+                }
+            }
+            return schema;
+        }
+
+    }
+
+    private static final class Field {
+        private final String name;
+        private final Object value;
+        private final TokenBuffer tokens;
+        private boolean extension;
+
+        Field(String name, Object value) {
+            this.name = name;
+            this.value = value;
+            this.tokens = null;
+        }
+
+        Field(String name, TokenBuffer tokens) {
+            this.name = name;
+            this.value = null;
+            this.tokens = tokens;
+        }
+
+        JsonParser parser() throws IOException {
+            JsonParser parser = tokens.asParser();
+            parser.nextToken();
+            return parser;
+        }
+    }
 }
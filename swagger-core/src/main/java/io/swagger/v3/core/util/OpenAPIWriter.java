@@ -0,0 +1,1100 @@
+package io.swagger.v3.core.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.info.Contact;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.links.Link;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.XML;
+import io.swagger.v3.oas.models.parameters.CookieParameter;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.OAuthFlow;
+import io.swagger.v3.oas.models.security.OAuthFlows;
+import io.swagger.v3.oas.models.security.Scopes;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import io.swagger.v3.oas.models.servers.Server;
+import io.swagger.v3.oas.models.servers.ServerVariable;
+import io.swagger.v3.oas.models.servers.ServerVariables;
+import io.swagger.v3.oas.models.tags.Tag;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * Writes an {@link OpenAPI} straight to a {@link JsonGenerator}, walking the model instead of going through the bean
+ * serializers of {@link Json#mapper()} or {@link Yaml#mapper()}.
+ *
+ * The output is the same as the one of the mapper: properties in the same order, null properties left out, extensions
+ * last, schemas and callbacks with a {@code $ref} written as the {@code $ref} only, and paths and responses written
+ * by {@code PathsSerializer} and {@code ApiResponsesSerializer} rules. Examples, defaults, enum values, extension
+ * values and model subclasses outside of {@code io.swagger.v3.oas.models} are still written by the mapper.
+ */
+public class OpenAPIWriter {
+
+    private final ObjectMapper mapper;
+    private final boolean nullExample;
+
+    public OpenAPIWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.nullExample = writesNullExample(mapper);
+    }
+
+    /**
+     * @return whether the mapper writes the example of a schema without one, which depends on how its Jackson
+     * version reads the custom inclusion of {@code SchemaMixin}
+     */
+    private static boolean writesNullExample(ObjectMapper mapper) {
+        return mapper.valueToTree(new Schema<>()).has("example");
+    }
+
+    public static OpenAPIWriter json() {
+        return new OpenAPIWriter(Json.mapper());
+    }
+
+    public static OpenAPIWriter yaml() {
+        return new OpenAPIWriter(Yaml.mapper());
+    }
+
+    /**
+     * Writes the definition as UTF-8, pretty printed like {@link Json#pretty(Object)}. The stream is flushed, not
+     * closed.
+     */
+    public void write(OpenAPI openAPI, OutputStream out, boolean pretty) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (pretty) {
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+        }
+        try {
+            write(openAPI, generator);
+        } finally {
+            generator.close();
+        }
+        out.flush();
+    }
+
+    public void write(OpenAPI openAPI, JsonGenerator generator) throws IOException {
+        new Output(generator, mapper.getSerializerProviderInstance(), nullExample).openAPI(openAPI);
+    }
+
+    /**
+     * State of one write.
+     */
+    private static final class Output {
+        private final JsonGenerator gen;
+        private final SerializerProvider provider;
+        private final boolean nullExample;
+
+        Output(JsonGenerator gen, SerializerProvider provider, boolean nullExample) {
+            this.gen = gen;
+            this.provider = provider;
+            this.nullExample = nullExample;
+        }
+
+        void openAPI(OpenAPI value) throws IOException {
+            if (value == null || value.getClass() != OpenAPI.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("openapi", value.getOpenapi());
+            if (value.getInfo() != null) {
+                gen.writeFieldName("info");
+                info(value.getInfo());
+            }
+            if (value.getExternalDocs() != null) {
+                gen.writeFieldName("externalDocs");
+                externalDocs(value.getExternalDocs());
+            }
+            if (value.getServers() != null) {
+                gen.writeFieldName("servers");
+                servers(value.getServers());
+            }
+            if (value.getSecurity() != null) {
+                gen.writeFieldName("security");
+                securityRequirements(value.getSecurity());
+            }
+            if (value.getTags() != null) {
+                gen.writeFieldName("tags");
+                gen.writeStartArray();
+                for (Tag tag : value.getTags()) {
+                    tag(tag);
+                }
+                gen.writeEndArray();
+            }
+            if (value.getPaths() != null) {
+                gen.writeFieldName("paths");
+                paths(value.getPaths());
+            }
+            if (value.getComponents() != null) {
+                gen.writeFieldName("components");
+                components(value.getComponents());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void info(Info value) throws IOException {
+            if (value.getClass() != Info.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("title", value.getTitle());
+            string("description", value.getDescription());
+            string("termsOfService", value.getTermsOfService());
+            Contact contact = value.getContact();
+            if (contact != null) {
+                gen.writeFieldName("contact");
+                if (contact.getClass() != Contact.class) {
+                    object(contact);
+                } else {
+                    gen.writeStartObject();
+                    string("name", contact.getName());
+                    string("url", contact.getUrl());
+                    string("email", contact.getEmail());
+                    extensions(contact.getExtensions());
+                    gen.writeEndObject();
+                }
+            }
+            License license = value.getLicense();
+            if (license != null) {
+                gen.writeFieldName("license");
+                if (license.getClass() != License.class) {
+                    object(license);
+                } else {
+                    gen.writeStartObject();
+                    string("name", license.getName());
+                    string("url", license.getUrl());
+                    extensions(license.getExtensions());
+                    gen.writeEndObject();
+                }
+            }
+            string("version", value.getVersion());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void externalDocs(ExternalDocumentation value) throws IOException {
+            if (value.getClass() != ExternalDocumentation.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("description", value.getDescription());
+            string("url", value.getUrl());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void servers(List<Server> servers) throws IOException {
+            gen.writeStartArray();
+            for (Server server : servers) {
+                server(server);
+            }
+            gen.writeEndArray();
+        }
+
+        private void server(Server value) throws IOException {
+            if (value == null || value.getClass() != Server.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("url", value.getUrl());
+            string("description", value.getDescription());
+            ServerVariables variables = value.getVariables();
+            if (variables != null) {
+                gen.writeFieldName("variables");
+                if (variables.getClass() != ServerVariables.class) {
+                    object(variables);
+                } else {
+                    // a map for the mapper, its extensions are not written
+                    gen.writeStartObject();
+                    for (Map.Entry<String, ServerVariable> entry : variables.entrySet()) {
+                        if (entry.getValue() != null) {
+                            gen.writeFieldName(entry.getKey());
+                            serverVariable(entry.getValue());
+                        }
+                    }
+                    gen.writeEndObject();
+                }
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void serverVariable(ServerVariable value) throws IOException {
+            if (value.getClass() != ServerVariable.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("description", value.getDescription());
+            string("default", value.getDefault());
+            if (value.getEnum() != null) {
+                gen.writeFieldName("enum");
+                strings(value.getEnum());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void securityRequirements(List<SecurityRequirement> requirements) throws IOException {
+            gen.writeStartArray();
+            for (SecurityRequirement requirement : requirements) {
+                if (requirement == null || requirement.getClass() != SecurityRequirement.class) {
+                    object(requirement);
+                    continue;
+                }
+                gen.writeStartObject();
+                for (Map.Entry<String, List<String>> entry : requirement.entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        strings(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+
+        private void tag(Tag value) throws IOException {
+            if (value == null || value.getClass() != Tag.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("name", value.getName());
+            string("description", value.getDescription());
+            if (value.getExternalDocs() != null) {
+                gen.writeFieldName("externalDocs");
+                externalDocs(value.getExternalDocs());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void paths(Paths value) throws IOException {
+            if (value.getClass() != Paths.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            if (value.getExtensions() != null && !value.getExtensions().isEmpty()) {
+                // PathsSerializer writes null path items and extensions as well
+                for (Map.Entry<String, PathItem> entry : value.entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    pathItem(entry.getValue());
+                }
+                for (Map.Entry<String, Object> entry : value.getExtensions().entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    object(entry.getValue());
+                }
+            } else {
+                for (Map.Entry<String, PathItem> entry : value.entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        pathItem(entry.getValue());
+                    }
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void pathItem(PathItem value) throws IOException {
+            if (value == null || value.getClass() != PathItem.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("summary", value.getSummary());
+            string("description", value.getDescription());
+            operation("get", value.getGet());
+            operation("put", value.getPut());
+            operation("post", value.getPost());
+            operation("delete", value.getDelete());
+            operation("options", value.getOptions());
+            operation("head", value.getHead());
+            operation("patch", value.getPatch());
+            operation("trace", value.getTrace());
+            if (value.getServers() != null) {
+                gen.writeFieldName("servers");
+                servers(value.getServers());
+            }
+            if (value.getParameters() != null) {
+                gen.writeFieldName("parameters");
+                parameters(value.getParameters());
+            }
+            string("$ref", value.get$ref());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void operation(String name, Operation value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            gen.writeFieldName(name);
+            if (value.getClass() != Operation.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            if (value.getTags() != null) {
+                gen.writeFieldName("tags");
+                strings(value.getTags());
+            }
+            string("summary", value.getSummary());
+            string("description", value.getDescription());
+            if (value.getExternalDocs() != null) {
+                gen.writeFieldName("externalDocs");
+                externalDocs(value.getExternalDocs());
+            }
+            string("operationId", value.getOperationId());
+            if (value.getParameters() != null) {
+                gen.writeFieldName("parameters");
+                parameters(value.getParameters());
+            }
+            if (value.getRequestBody() != null) {
+                gen.writeFieldName("requestBody");
+                requestBody(value.getRequestBody());
+            }
+            if (value.getResponses() != null) {
+                gen.writeFieldName("responses");
+                responses(value.getResponses());
+            }
+            if (value.getCallbacks() != null) {
+                gen.writeFieldName("callbacks");
+                callbacks(value.getCallbacks());
+            }
+            bool("deprecated", value.getDeprecated());
+            if (value.getSecurity() != null) {
+                gen.writeFieldName("security");
+                securityRequirements(value.getSecurity());
+            }
+            if (value.getServers() != null) {
+                gen.writeFieldName("servers");
+                servers(value.getServers());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void parameters(List<Parameter> parameters) throws IOException {
+            gen.writeStartArray();
+            for (Parameter parameter : parameters) {
+                parameter(parameter);
+            }
+            gen.writeEndArray();
+        }
+
+        private void parameter(Parameter value) throws IOException {
+            if (value == null || !isModelParameter(value.getClass())) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("name", value.getName());
+            string("in", value.getIn());
+            string("description", value.getDescription());
+            bool("required", value.getRequired());
+            bool("deprecated", value.getDeprecated());
+            bool("allowEmptyValue", value.getAllowEmptyValue());
+            string("$ref", value.get$ref());
+            enumValue("style", value.getStyle());
+            bool("explode", value.getExplode());
+            bool("allowReserved", value.getAllowReserved());
+            if (value.getSchema() != null) {
+                gen.writeFieldName("schema");
+                schema(value.getSchema());
+            }
+            examples(value.getExamples());
+            field("example", value.getExample());
+            if (value.getContent() != null) {
+                gen.writeFieldName("content");
+                content(value.getContent());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private static boolean isModelParameter(Class<?> cls) {
+            return cls == Parameter.class || cls == QueryParameter.class || cls == PathParameter.class
+                    || cls == HeaderParameter.class || cls == CookieParameter.class;
+        }
+
+        private void requestBody(RequestBody value) throws IOException {
+            if (value == null || value.getClass() != RequestBody.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("description", value.getDescription());
+            if (value.getContent() != null) {
+                gen.writeFieldName("content");
+                content(value.getContent());
+            }
+            bool("required", value.getRequired());
+            string("$ref", value.get$ref());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void responses(ApiResponses value) throws IOException {
+            if (value.getClass() != ApiResponses.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            if (value.getExtensions() != null && !value.getExtensions().isEmpty()) {
+                // ApiResponsesSerializer writes null responses and extensions as well
+                for (Map.Entry<String, ApiResponse> entry : value.entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    response(entry.getValue());
+                }
+                for (Map.Entry<String, Object> entry : value.getExtensions().entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    object(entry.getValue());
+                }
+            } else {
+                for (Map.Entry<String, ApiResponse> entry : value.entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        response(entry.getValue());
+                    }
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void response(ApiResponse value) throws IOException {
+            if (value == null || value.getClass() != ApiResponse.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("description", value.getDescription());
+            headers(value.getHeaders());
+            if (value.getContent() != null) {
+                gen.writeFieldName("content");
+                content(value.getContent());
+            }
+            links(value.getLinks());
+            string("$ref", value.get$ref());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void callbacks(Map<String, Callback> callbacks) throws IOException {
+            gen.writeStartObject();
+            for (Map.Entry<String, Callback> entry : callbacks.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    callback(entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void callback(Callback value) throws IOException {
+            if (value.getClass() != Callback.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            if (value.getExtensions() != null && !value.getExtensions().isEmpty()) {
+                // CallbackSerializer writes null path items and extensions as well
+                if (StringUtils.isBlank(value.get$ref())) {
+                    for (Map.Entry<String, PathItem> entry : value.entrySet()) {
+                        gen.writeFieldName(entry.getKey());
+                        pathItem(entry.getValue());
+                    }
+                } else {
+                    gen.writeStringField("$ref", value.get$ref());
+                }
+                for (Map.Entry<String, Object> entry : value.getExtensions().entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    object(entry.getValue());
+                }
+            } else if (StringUtils.isBlank(value.get$ref())) {
+                for (Map.Entry<String, PathItem> entry : value.entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        pathItem(entry.getValue());
+                    }
+                }
+            } else {
+                gen.writeStringField("$ref", value.get$ref());
+            }
+            gen.writeEndObject();
+        }
+
+        private void content(Content value) throws IOException {
+            if (value.getClass() != Content.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            for (Map.Entry<String, MediaType> entry : value.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    mediaType(entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void mediaType(MediaType value) throws IOException {
+            if (value.getClass() != MediaType.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            if (value.getSchema() != null) {
+                gen.writeFieldName("schema");
+                schema(value.getSchema());
+            }
+            examples(value.getExamples());
+            field("example", value.getExample());
+            Map<String, Encoding> encodings = value.getEncoding();
+            if (encodings != null) {
+                gen.writeFieldName("encoding");
+                gen.writeStartObject();
+                for (Map.Entry<String, Encoding> entry : encodings.entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        encoding(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void encoding(Encoding value) throws IOException {
+            if (value.getClass() != Encoding.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("contentType", value.getContentType());
+            headers(value.getHeaders());
+            enumValue("style", value.getStyle());
+            bool("explode", value.getExplode());
+            bool("allowReserved", value.getAllowReserved());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void headers(Map<String, Header> headers) throws IOException {
+            if (headers == null) {
+                return;
+            }
+            gen.writeFieldName("headers");
+            gen.writeStartObject();
+            for (Map.Entry<String, Header> entry : headers.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    header(entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void header(Header value) throws IOException {
+            if (value.getClass() != Header.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("description", value.getDescription());
+            string("$ref", value.get$ref());
+            bool("required", value.getRequired());
+            bool("deprecated", value.getDeprecated());
+            enumValue("style", value.getStyle());
+            bool("explode", value.getExplode());
+            if (value.getSchema() != null) {
+                gen.writeFieldName("schema");
+                schema(value.getSchema());
+            }
+            examples(value.getExamples());
+            field("example", value.getExample());
+            if (value.getContent() != null) {
+                gen.writeFieldName("content");
+                content(value.getContent());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void examples(Map<String, Example> examples) throws IOException {
+            if (examples == null) {
+                return;
+            }
+            gen.writeFieldName("examples");
+            gen.writeStartObject();
+            for (Map.Entry<String, Example> entry : examples.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    example(entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void example(Example value) throws IOException {
+            if (value.getClass() != Example.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("summary", value.getSummary());
+            string("description", value.getDescription());
+            field("value", value.getValue());
+            string("externalValue", value.getExternalValue());
+            string("$ref", value.get$ref());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void links(Map<String, Link> links) throws IOException {
+            if (links == null) {
+                return;
+            }
+            gen.writeFieldName("links");
+            gen.writeStartObject();
+            for (Map.Entry<String, Link> entry : links.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    link(entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void link(Link value) throws IOException {
+            if (value.getClass() != Link.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("operationRef", value.getOperationRef());
+            string("operationId", value.getOperationId());
+            if (value.getParameters() != null) {
+                gen.writeFieldName("parameters");
+                stringMap(value.getParameters());
+            }
+            field("requestBody", value.getRequestBody());
+            headers(value.getHeaders());
+            string("description", value.getDescription());
+            string("$ref", value.get$ref());
+            if (value.getServer() != null) {
+                gen.writeFieldName("server");
+                server(value.getServer());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void components(Components value) throws IOException {
+            if (value.getClass() != Components.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            if (value.getSchemas() != null) {
+                gen.writeFieldName("schemas");
+                schemas(value.getSchemas());
+            }
+            if (value.getResponses() != null) {
+                gen.writeFieldName("responses");
+                gen.writeStartObject();
+                for (Map.Entry<String, ApiResponse> entry : value.getResponses().entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        response(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            if (value.getParameters() != null) {
+                gen.writeFieldName("parameters");
+                gen.writeStartObject();
+                for (Map.Entry<String, Parameter> entry : value.getParameters().entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        parameter(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            examples(value.getExamples());
+            if (value.getRequestBodies() != null) {
+                gen.writeFieldName("requestBodies");
+                gen.writeStartObject();
+                for (Map.Entry<String, RequestBody> entry : value.getRequestBodies().entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        requestBody(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            headers(value.getHeaders());
+            if (value.getSecuritySchemes() != null) {
+                gen.writeFieldName("securitySchemes");
+                gen.writeStartObject();
+                for (Map.Entry<String, SecurityScheme> entry : value.getSecuritySchemes().entrySet()) {
+                    if (entry.getValue() != null) {
+                        gen.writeFieldName(entry.getKey());
+                        securityScheme(entry.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            links(value.getLinks());
+            if (value.getCallbacks() != null) {
+                gen.writeFieldName("callbacks");
+                callbacks(value.getCallbacks());
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void securityScheme(SecurityScheme value) throws IOException {
+            if (value.getClass() != SecurityScheme.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            enumValue("type", value.getType());
+            string("description", value.getDescription());
+            string("name", value.getName());
+            string("$ref", value.get$ref());
+            enumValue("in", value.getIn());
+            string("scheme", value.getScheme());
+            string("bearerFormat", value.getBearerFormat());
+            OAuthFlows flows = value.getFlows();
+            if (flows != null) {
+                gen.writeFieldName("flows");
+                if (flows.getClass() != OAuthFlows.class) {
+                    object(flows);
+                } else {
+                    gen.writeStartObject();
+                    oAuthFlow("implicit", flows.getImplicit());
+                    oAuthFlow("password", flows.getPassword());
+                    oAuthFlow("clientCredentials", flows.getClientCredentials());
+                    oAuthFlow("authorizationCode", flows.getAuthorizationCode());
+                    extensions(flows.getExtensions());
+                    gen.writeEndObject();
+                }
+            }
+            string("openIdConnectUrl", value.getOpenIdConnectUrl());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void oAuthFlow(String name, OAuthFlow value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            gen.writeFieldName(name);
+            if (value.getClass() != OAuthFlow.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("authorizationUrl", value.getAuthorizationUrl());
+            string("tokenUrl", value.getTokenUrl());
+            string("refreshUrl", value.getRefreshUrl());
+            Scopes scopes = value.getScopes();
+            if (scopes != null) {
+                gen.writeFieldName("scopes");
+                if (scopes.getClass() != Scopes.class) {
+                    object(scopes);
+                } else {
+                    // a map for the mapper, its extensions are not written
+                    stringMap(scopes);
+                }
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void schemas(Map<String, Schema> schemas) throws IOException {
+            gen.writeStartObject();
+            for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    schema(entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void schemaList(List<Schema> schemas) throws IOException {
+            gen.writeStartArray();
+            for (Schema schema : schemas) {
+                if (schema == null) {
+                    gen.writeNull();
+                } else {
+                    schema(schema);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        private void schema(Schema<?> value) throws IOException {
+            // as SchemaSerializer: a ref is written alone
+            if (StringUtils.isNotBlank(value.get$ref())) {
+                gen.writeStartObject();
+                gen.writeStringField("$ref", value.get$ref());
+                gen.writeEndObject();
+                return;
+            }
+            // other subclasses may add properties, and the example of a date schema has its own format
+            if (value.getClass().getPackage() != Schema.class.getPackage()
+                    || (value instanceof DateSchema && value.getExample() != null)) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("title", value.getTitle());
+            number("multipleOf", value.getMultipleOf());
+            number("maximum", value.getMaximum());
+            bool("exclusiveMaximum", value.getExclusiveMaximum());
+            number("minimum", value.getMinimum());
+            bool("exclusiveMinimum", value.getExclusiveMinimum());
+            integer("maxLength", value.getMaxLength());
+            integer("minLength", value.getMinLength());
+            string("pattern", value.getPattern());
+            integer("maxItems", value.getMaxItems());
+            integer("minItems", value.getMinItems());
+            bool("uniqueItems", value.getUniqueItems());
+            integer("maxProperties", value.getMaxProperties());
+            integer("minProperties", value.getMinProperties());
+            if (value.getRequired() != null) {
+                gen.writeFieldName("required");
+                strings(value.getRequired());
+            }
+            string("type", value.getType());
+            if (value.getNot() != null) {
+                gen.writeFieldName("not");
+                schema(value.getNot());
+            }
+            if (value.getProperties() != null) {
+                gen.writeFieldName("properties");
+                schemas(value.getProperties());
+            }
+            Object additionalProperties = value.getAdditionalProperties();
+            if (additionalProperties != null) {
+                gen.writeFieldName("additionalProperties");
+                if (additionalProperties instanceof Schema) {
+                    schema((Schema) additionalProperties);
+                } else if (additionalProperties instanceof Boolean) {
+                    gen.writeBoolean((Boolean) additionalProperties);
+                } else {
+                    object(additionalProperties);
+                }
+            }
+            string("description", value.getDescription());
+            string("format", value.getFormat());
+            string("$ref", value.get$ref());
+            bool("nullable", value.getNullable());
+            bool("readOnly", value.getReadOnly());
+            bool("writeOnly", value.getWriteOnly());
+            // a null example is written as the mapper does, see SchemaMixin
+            if (value.getExample() != null || nullExample) {
+                gen.writeFieldName("example");
+                object(value.getExample());
+            }
+            if (value.getExternalDocs() != null) {
+                gen.writeFieldName("externalDocs");
+                externalDocs(value.getExternalDocs());
+            }
+            bool("deprecated", value.getDeprecated());
+            XML xml = value.getXml();
+            if (xml != null) {
+                gen.writeFieldName("xml");
+                xml(xml);
+            }
+            Discriminator discriminator = value.getDiscriminator();
+            if (discriminator != null) {
+                gen.writeFieldName("discriminator");
+                discriminator(discriminator);
+            }
+            if (value instanceof ArraySchema) {
+                Schema items = ((ArraySchema) value).getItems();
+                if (items != null) {
+                    gen.writeFieldName("items");
+                    schema(items);
+                }
+            } else if (value instanceof ComposedSchema) {
+                ComposedSchema composed = (ComposedSchema) value;
+                if (composed.getAllOf() != null) {
+                    gen.writeFieldName("allOf");
+                    schemaList(composed.getAllOf());
+                }
+                if (composed.getAnyOf() != null) {
+                    gen.writeFieldName("anyOf");
+                    schemaList(composed.getAnyOf());
+                }
+                if (composed.getOneOf() != null) {
+                    gen.writeFieldName("oneOf");
+                    schemaList(composed.getOneOf());
+                }
+            }
+            field("default", value.getDefault());
+            List<?> values = value.getEnum();
+            if (values != null) {
+                gen.writeFieldName("enum");
+                gen.writeStartArray();
+                for (Object item : values) {
+                    object(item);
+                }
+                gen.writeEndArray();
+            }
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void xml(XML value) throws IOException {
+            if (value.getClass() != XML.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("name", value.getName());
+            string("namespace", value.getNamespace());
+            string("prefix", value.getPrefix());
+            bool("attribute", value.getAttribute());
+            bool("wrapped", value.getWrapped());
+            extensions(value.getExtensions());
+            gen.writeEndObject();
+        }
+
+        private void discriminator(Discriminator value) throws IOException {
+            if (value.getClass() != Discriminator.class) {
+                object(value);
+                return;
+            }
+            gen.writeStartObject();
+            string("propertyName", value.getPropertyName());
+            if (value.getMapping() != null) {
+                gen.writeFieldName("mapping");
+                stringMap(value.getMapping());
+            }
+            gen.writeEndObject();
+        }
+
+        private void extensions(Map<String, Object> extensions) throws IOException {
+            if (extensions == null) {
+                return;
+            }
+            for (Map.Entry<String, Object> entry : extensions.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    object(entry.getValue());
+                }
+            }
+        }
+
+        private void strings(List<String> values) throws IOException {
+            gen.writeStartArray();
+            for (String value : values) {
+                gen.writeString(value);
+            }
+            gen.writeEndArray();
+        }
+
+        private void stringMap(Map<String, String> values) throws IOException {
+            gen.writeStartObject();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeStringField(entry.getKey(), entry.getValue());
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void string(String name, String value) throws IOException {
+            if (value != null) {
+                gen.writeStringField(name, value);
+            }
+        }
+
+        private void bool(String name, Boolean value) throws IOException {
+            if (value != null) {
+                gen.writeBooleanField(name, value);
+            }
+        }
+
+        private void integer(String name, Integer value) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(name);
+                gen.writeNumber(value);
+            }
+        }
+
+        private void number(String name, BigDecimal value) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(name);
+                gen.writeNumber(value);
+            }
+        }
+
+        private void enumValue(String name, Enum<?> value) throws IOException {
+            // WRITE_ENUMS_USING_TO_STRING
+            if (value != null) {
+                gen.writeStringField(name, value.toString());
+            }
+        }
+
+        private void field(String name, Object value) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(name);
+                object(value);
+            }
+        }
+
+        /**
+         * Values the writer does not walk itself, written by the mapper.
+         */
+        private void object(Object value) throws IOException {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package io.swagger.v3.core.util;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.swagger.v3.oas.models.parameters.CookieParameter;
 import io.swagger.v3.oas.models.parameters.HeaderParameter;
 import io.swagger.v3.oas.models.parameters.Parameter;
@@ -14,19 +16,37 @@ import io.swagger.v3.oas.models.parameters.QueryParameter;
 import java.io.IOException;
 
 public class ParameterDeserializer extends JsonDeserializer<Parameter> {
+    /**
+     * Keeps the fields up to {@code in} or {@code $ref}, which decide the parameter class, and reads the rest of the
+     * object straight from the parser.
+     */
     @Override
     public Parameter deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
-        Parameter result = null;
-
-        JsonNode node = jp.getCodec().readTree(jp);
-        JsonNode sub = node.get("$ref");
-        JsonNode inNode = node.get("in");
-
-        if (sub != null) {
-            result = new Parameter().$ref(sub.asText());
-        } else if (inNode != null) {
-            String in = inNode.asText();
+        jp = TreeNumberParser.wrap(jp, ctxt);
+        JsonToken t = jp.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            t = jp.nextToken();
+        }
+        if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+            // a value other than an object has none of the keys that make a parameter
+            jp.skipChildren();
+            return null;
+        }
+        TokenBuffer buffer = new TokenBuffer(jp, ctxt);
+        buffer.writeStartObject();
+        for (; t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+            String name = jp.getCurrentName();
+            JsonToken value = jp.nextToken();
+            if ("$ref".equals(name)) {
+                return ref(jp, ctxt);
+            }
+            if (!"in".equals(name)) {
+                buffer.writeFieldName(name);
+                buffer.copyCurrentStructure(jp);
+                continue;
+            }
+            String in = value.isScalarValue() ? jp.getText() : "";
 
             ObjectReader reader = null;
 
@@ -39,11 +59,26 @@ public class ParameterDeserializer extends JsonDeserializer<Parameter> {
             } else if ("cookie".equals(in)) {
                 reader = Json.mapper().readerFor(CookieParameter.class);
             }
-            if (reader != null) {
-                result = reader.with(DeserializationFeature.READ_ENUMS_USING_TO_STRING).readValue(node);
+            if (reader == null) {
+                // only a $ref further on makes a parameter
+                jp.skipChildren();
+                continue;
             }
+            buffer.writeFieldName(name);
+            buffer.copyCurrentStructure(jp);
+            Parameter result = reader.with(DeserializationFeature.READ_ENUMS_USING_TO_STRING)
+                    .readValue(JsonParserSequence.createFlattened(false, buffer.asParser(), jp));
+            return result.get$ref() != null ? new Parameter().$ref(result.get$ref()) : result;
         }
+        return null;
+    }
 
+    private Parameter ref(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        Parameter result = new Parameter().$ref(ctxt.readTree(jp).asText());
+        for (JsonToken t = jp.nextToken(); t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+            jp.nextToken();
+            jp.skipChildren();
+        }
         return result;
     }
 }
@@ -1,14 +1,12 @@
 package io.swagger.v3.core.util;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import java.io.IOException;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -16,18 +14,23 @@ public class PathsDeserializer extends JsonDeserializer<Paths> {
     @Override
     public Paths deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
+        JsonToken t = jp.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            t = jp.nextToken();
+        }
+        if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+            return (Paths) ctxt.handleUnexpectedToken(Paths.class, jp);
+        }
         Paths result = new Paths();
-        JsonNode node = jp.getCodec().readTree(jp);
-        ObjectNode objectNode = (ObjectNode)node;
         Map<String, Object> extensions = new LinkedHashMap<>();
-        for (Iterator<String> it = objectNode.fieldNames(); it.hasNext(); ) {
-            String childName = it.next();
-            JsonNode child = objectNode.get(childName);
+        for (; t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+            String childName = jp.getCurrentName();
+            boolean isNull = jp.nextToken() == JsonToken.VALUE_NULL;
             // if name start with `x-` consider it an extesion
             if (childName.startsWith("x-")) {
-                extensions.put(childName, Json.mapper().convertValue(child, Object.class));
+                extensions.put(childName, isNull ? null : ctxt.readValue(jp, Object.class));
             } else {
-                result.put(childName, Json.mapper().convertValue(child, PathItem.class));
+                result.put(childName, isNull ? null : ctxt.readValue(jp, PathItem.class));
             }
         }
         if (!extensions.isEmpty()) {
@@ -0,0 +1,151 @@
+package io.swagger.v3.core.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-class cache of what {@link ReflectionUtils} resolves by walking superclasses, interfaces and meta-annotations.
+ *
+ * Held in a {@link ClassValue}, so the metadata of a class is only reachable from the class itself and is dropped
+ * together with its class loader on redeploy. Metadata of a method lives in the metadata of its declaring class.
+ * Lookups are computed outside of the maps, a concurrent first lookup may compute a value twice but all callers
+ * see the same cached one afterwards.
+ */
+final class ReflectionMetadata {
+
+    private static final ClassValue<ReflectionMetadata> METADATA = new ClassValue<ReflectionMetadata>() {
+        @Override
+        protected ReflectionMetadata computeValue(Class<?> type) {
+            return new ReflectionMetadata(type);
+        }
+    };
+
+    // stands for a cached null
+    private static final Object NONE = new Object();
+
+    private final Class<?> type;
+    private volatile Method[] methods;
+    private volatile List<Field> declaredFields;
+    private final ConcurrentMap<Class<? extends Annotation>, Object> annotations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, Object> repeatableAnnotations = new ConcurrentHashMap<>();
+    // methods of any class checked with isOverriddenMethod(method, type)
+    private final ConcurrentMap<Method, Boolean> overridden = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, MethodMetadata> methodMetadata = new ConcurrentHashMap<>();
+
+    private ReflectionMetadata(Class<?> type) {
+        this.type = type;
+    }
+
+    static ReflectionMetadata of(Class<?> cls) {
+        return METADATA.get(cls);
+    }
+
+    static MethodMetadata of(Method method) {
+        ReflectionMetadata metadata = of(method.getDeclaringClass());
+        MethodMetadata result = metadata.methodMetadata.get(method);
+        if (result == null) {
+            MethodMetadata computed = new MethodMetadata();
+            result = metadata.methodMetadata.putIfAbsent(method, computed);
+            if (result == null) {
+                result = computed;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the public methods of the class, the array is shared and must not be modified
+     */
+    Method[] methods() {
+        Method[] result = methods;
+        if (result == null) {
+            result = type.getMethods();
+            methods = result;
+        }
+        return result;
+    }
+
+    List<Field> declaredFields(Supplier<List<Field>> compute) {
+        List<Field> result = declaredFields;
+        if (result == null) {
+            result = compute.get();
+            declaredFields = result;
+        }
+        return result;
+    }
+
+    Object annotation(Class<? extends Annotation> annotationClass, Function<Class<? extends Annotation>, Object> compute) {
+        return lookup(annotations, annotationClass, compute);
+    }
+
+    Object repeatableAnnotations(Class<? extends Annotation> annotationClass, Function<Class<? extends Annotation>, Object> compute) {
+        return lookup(repeatableAnnotations, annotationClass, compute);
+    }
+
+    boolean isOverridden(Method method, Function<Method, Boolean> compute) {
+        Boolean result = overridden.get(method);
+        if (result == null) {
+            result = compute.apply(method);
+            overridden.putIfAbsent(method, result);
+        }
+        return result;
+    }
+
+    private static <K> Object lookup(ConcurrentMap<K, Object> cache, K key, Function<K, Object> compute) {
+        Object result = cache.get(key);
+        if (result == null) {
+            // computed outside of the map, the computation looks up other entries
+            result = compute.apply(key);
+            if (result == null) {
+                result = NONE;
+            }
+            Object previous = cache.putIfAbsent(key, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result == NONE ? null : result;
+    }
+
+    static final class MethodMetadata {
+        private volatile Object overriddenMethod;
+        private volatile Annotation[][] parameterAnnotations;
+        private final ConcurrentMap<Class<? extends Annotation>, Object> annotations = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, Object> repeatableAnnotations = new ConcurrentHashMap<>();
+
+        Method overriddenMethod(Supplier<Method> compute) {
+            Object result = overriddenMethod;
+            if (result == null) {
+                result = compute.get();
+                overriddenMethod = result == null ? NONE : result;
+            }
+            return result == NONE ? null : (Method) result;
+        }
+
+        /**
+         * @return the parameter annotations, the array is shared and must not be modified
+         */
+        Annotation[][] parameterAnnotations(Supplier<Annotation[][]> compute) {
+            Annotation[][] result = parameterAnnotations;
+            if (result == null) {
+                result = compute.get();
+                parameterAnnotations = result;
+            }
+            return result;
+        }
+
+        Object annotation(Class<? extends Annotation> annotationClass, Function<Class<? extends Annotation>, Object> compute) {
+            return lookup(annotations, annotationClass, compute);
+        }
+
+        Object repeatableAnnotations(Class<? extends Annotation> annotationClass, Function<Class<? extends Annotation>, Object> compute) {
+            return lookup(repeatableAnnotations, annotationClass, compute);
+        }
+    }
+}
@@ -59,6 +59,10 @@ public class ReflectionUtils {
      * @return true if the method is overridden method
      */
     public static boolean isOverriddenMethod(Method methodToFind, Class<?> cls) {
+        return ReflectionMetadata.of(cls).isOverridden(methodToFind, method -> resolveOverriddenMethod(method, cls));
+    }
+
+    private static boolean resolveOverriddenMethod(Method methodToFind, Class<?> cls) {
         Set<Class<?>> superClasses = new HashSet<>();
         Collections.addAll(superClasses, cls.getInterfaces());
 
@@ -68,7 +72,7 @@ public class ReflectionUtils {
 
         for (Class<?> superClass : superClasses) {
             if (superClass != null && !(superClass.equals(Object.class))) {
-                for (Method method : superClass.getMethods()) {
+                for (Method method : ReflectionMetadata.of(superClass).methods()) {
                     if (method.getName().equals(methodToFind.getName()) && method.getReturnType().isAssignableFrom(methodToFind.getReturnType())
                             && Arrays.equals(method.getParameterTypes(), methodToFind.getParameterTypes()) && !Arrays.equals(method.getGenericParameterTypes(), methodToFind.getGenericParameterTypes())) {
                         return true;
@@ -90,6 +94,10 @@ public class ReflectionUtils {
      * @return overridden method from superclass
      */
     public static Method getOverriddenMethod(Method method) {
+        return ReflectionMetadata.of(method).overriddenMethod(() -> resolveOverriddenMethod(method));
+    }
+
+    private static Method resolveOverriddenMethod(Method method) {
         Class<?> declaringClass = method.getDeclaringClass();
         Class<?> superClass = declaringClass.getSuperclass();
         Method result = null;
@@ -121,7 +129,7 @@ public class ReflectionUtils {
         String methodToSearch = methodToFind.getName();
         Class<?>[] soughtForParameterType = methodToFind.getParameterTypes();
         Type[] soughtForGenericParameterType = methodToFind.getGenericParameterTypes();
-        for (Method method : cls.getMethods()) {
+        for (Method method : ReflectionMetadata.of(cls).methods()) {
             if (method.getName().equals(methodToSearch) && method.getReturnType().isAssignableFrom(methodToFind.getReturnType())) {
                 Class<?>[] srcParameterTypes = method.getParameterTypes();
                 Type[] srcGenericParameterTypes = method.getGenericParameterTypes();
@@ -173,12 +181,16 @@ public class ReflectionUtils {
      * the field from superclass won't be added to the result list.
      *
      * @param cls is the processing class
-     * @return list of Fields
+     * @return unmodifiable list of Fields
      */
     public static List<Field> getDeclaredFields(Class<?> cls) {
         if (cls == null || Object.class.equals(cls)) {
             return Collections.emptyList();
         }
+        return ReflectionMetadata.of(cls).declaredFields(() -> Collections.unmodifiableList(resolveDeclaredFields(cls)));
+    }
+
+    private static List<Field> resolveDeclaredFields(Class<?> cls) {
         final List<Field> fields = new ArrayList<>();
         final Set<String> fieldNames = new HashSet<>();
         for (Field field : cls.getDeclaredFields()) {
@@ -202,6 +214,10 @@ public class ReflectionUtils {
      * @return annotation if it is found
      */
     public static <A extends Annotation> A getAnnotation(Method method, Class<A> annotationClass) {
+        return annotationClass.cast(ReflectionMetadata.of(method).annotation(annotationClass, type -> resolveAnnotation(method, annotationClass)));
+    }
+
+    private static <A extends Annotation> A resolveAnnotation(Method method, Class<A> annotationClass) {
         A annotation = method.getAnnotation(annotationClass);
         if (annotation == null) {
             for (Annotation metaAnnotation : method.getAnnotations()) {
@@ -219,6 +235,10 @@ public class ReflectionUtils {
     }
 
     public static <A extends Annotation> A getAnnotation(Class<?> cls, Class<A> annotationClass) {
+        return annotationClass.cast(ReflectionMetadata.of(cls).annotation(annotationClass, type -> resolveAnnotation(cls, annotationClass)));
+    }
+
+    private static <A extends Annotation> A resolveAnnotation(Class<?> cls, Class<A> annotationClass) {
         A annotation = cls.getAnnotation(annotationClass);
         if (annotation == null) {
             for (Annotation metaAnnotation : cls.getAnnotations()) {
@@ -255,9 +275,17 @@ public class ReflectionUtils {
      * @param method          is the method to find
      * @param annotationClass is the type of annotation
      * @param <A>             is the type of annotation
-     * @return List of repeatable annotations if it is found
+     * @return unmodifiable List of repeatable annotations if it is found
      */
+    @SuppressWarnings("unchecked")
     public static <A extends Annotation> List<A> getRepeatableAnnotations(Method method, Class<A> annotationClass) {
+        return (List<A>) ReflectionMetadata.of(method).repeatableAnnotations(annotationClass, type -> {
+            List<A> annotations = resolveRepeatableAnnotations(method, annotationClass);
+            return annotations == null ? null : Collections.unmodifiableList(annotations);
+        });
+    }
+
+    private static <A extends Annotation> List<A> resolveRepeatableAnnotations(Method method, Class<A> annotationClass) {
         A[] annotations = method.getAnnotationsByType(annotationClass);
         if (annotations == null || annotations.length == 0) {
             for (Annotation metaAnnotation : method.getAnnotations()) {
@@ -285,7 +313,13 @@ public class ReflectionUtils {
         return Arrays.asList(annotations);
     }
 
+    @SuppressWarnings("unchecked")
     public static <A extends Annotation> A[] getRepeatableAnnotationsArray(Class<?> cls, Class<A> annotationClass) {
+        A[] annotations = (A[]) ReflectionMetadata.of(cls).repeatableAnnotations(annotationClass, type -> resolveRepeatableAnnotationsArray(cls, annotationClass));
+        return annotations == null ? null : annotations.clone();
+    }
+
+    private static <A extends Annotation> A[] resolveRepeatableAnnotationsArray(Class<?> cls, Class<A> annotationClass) {
         A[] annotations = cls.getAnnotationsByType(annotationClass);
         if (annotations == null || annotations.length == 0) {
             for (Annotation metaAnnotation : cls.getAnnotations()) {
@@ -317,6 +351,15 @@ public class ReflectionUtils {
     }
 
     public static Annotation[][] getParameterAnnotations(Method method) {
+        Annotation[][] cached = ReflectionMetadata.of(method).parameterAnnotations(() -> resolveParameterAnnotations(method));
+        Annotation[][] parameterAnnotations = new Annotation[cached.length][];
+        for (int i = 0; i < cached.length; i++) {
+            parameterAnnotations[i] = cached[i].clone();
+        }
+        return parameterAnnotations;
+    }
+
+    private static Annotation[][] resolveParameterAnnotations(Method method) {
         Annotation[][] methodAnnotations = method.getParameterAnnotations();
         Method overriddenmethod = getOverriddenMethod(method);
 
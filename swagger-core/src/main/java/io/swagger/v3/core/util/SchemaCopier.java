@@ -0,0 +1,203 @@
+package io.swagger.v3.core.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.XML;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deep copies {@link Schema} trees field by field, keeping the class of every schema, instead of serializing them to
+ * JSON and parsing them again.
+ *
+ * Schemas referenced more than once, including cycles, are copied once and referenced the same way in the copy.
+ * Maps, lists and {@link JsonNode}s in examples, defaults, enums and extensions are copied, other values are
+ * shared. Subclasses outside of {@code io.swagger.v3.oas.models.media} are copied by a JSON round trip as before.
+ */
+public class SchemaCopier {
+
+    private final Map<Schema, Schema> copies = new IdentityHashMap<>();
+
+    private SchemaCopier() {
+    }
+
+    public static <T extends Schema> T copy(T schema) {
+        return new SchemaCopier().copySchema(schema);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Schema> T copySchema(T schema) {
+        if (schema == null) {
+            return null;
+        }
+        Schema copy = copies.get(schema);
+        if (copy != null) {
+            return (T) copy;
+        }
+        if (schema.getClass().getPackage() != Schema.class.getPackage()) {
+            copy = roundTrip(schema);
+            copies.put(schema, copy);
+            return (T) copy;
+        }
+        try {
+            copy = schema.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            copy = roundTrip(schema);
+            copies.put(schema, copy);
+            return (T) copy;
+        }
+        copies.put(schema, copy);
+
+        copy.setName(schema.getName());
+        copy.setTitle(schema.getTitle());
+        copy.setMultipleOf(schema.getMultipleOf());
+        copy.setMaximum(schema.getMaximum());
+        copy.setExclusiveMaximum(schema.getExclusiveMaximum());
+        copy.setMinimum(schema.getMinimum());
+        copy.setExclusiveMinimum(schema.getExclusiveMinimum());
+        copy.setMaxLength(schema.getMaxLength());
+        copy.setMinLength(schema.getMinLength());
+        copy.setPattern(schema.getPattern());
+        copy.setMaxItems(schema.getMaxItems());
+        copy.setMinItems(schema.getMinItems());
+        copy.setUniqueItems(schema.getUniqueItems());
+        copy.setMaxProperties(schema.getMaxProperties());
+        copy.setMinProperties(schema.getMinProperties());
+        // the setter filters and sorts, the fluent one takes the list as it is
+        copy.required(schema.getRequired() == null ? null : new ArrayList<>(schema.getRequired()));
+        copy.setType(schema.getType());
+        copy.setNot(copySchema(schema.getNot()));
+        if (schema.getProperties() != null) {
+            Map<String, Schema> properties = new LinkedHashMap<>();
+            ((Map<String, Schema>) schema.getProperties()).forEach((name, property) -> properties.put(name, copySchema(property)));
+            copy.setProperties(properties);
+        }
+        Object additionalProperties = schema.getAdditionalProperties();
+        copy.setAdditionalProperties(additionalProperties instanceof Schema ? copySchema((Schema) additionalProperties) : additionalProperties);
+        copy.setDescription(schema.getDescription());
+        copy.setFormat(schema.getFormat());
+        copy.set$ref(schema.get$ref());
+        copy.setNullable(schema.getNullable());
+        copy.setReadOnly(schema.getReadOnly());
+        copy.setWriteOnly(schema.getWriteOnly());
+        copy.setExample(copyValue(schema.getExample()));
+        copy.setExampleSetFlag(schema.getExampleSetFlag());
+        copy.setExternalDocs(copy(schema.getExternalDocs()));
+        copy.setDeprecated(schema.getDeprecated());
+        copy.setXml(copy(schema.getXml()));
+        copy.setExtensions(copyMap(schema.getExtensions()));
+        copy.setEnum(schema.getEnum() == null ? null : copyList(schema.getEnum()));
+        copy.setDiscriminator(copy(schema.getDiscriminator()));
+        copy.setDefault(copyValue(schema.getDefault()));
+
+        if (schema instanceof ArraySchema) {
+            ((ArraySchema) copy).setItems(copySchema(((ArraySchema) schema).getItems()));
+        } else if (schema instanceof ComposedSchema) {
+            ComposedSchema composed = (ComposedSchema) schema;
+            ComposedSchema composedCopy = (ComposedSchema) copy;
+            composedCopy.setAllOf(copySchemas(composed.getAllOf()));
+            composedCopy.setAnyOf(copySchemas(composed.getAnyOf()));
+            composedCopy.setOneOf(copySchemas(composed.getOneOf()));
+        }
+        return (T) copy;
+    }
+
+    private List<Schema> copySchemas(List<Schema> schemas) {
+        if (schemas == null) {
+            return null;
+        }
+        List<Schema> copy = new ArrayList<>(schemas.size());
+        for (Schema schema : schemas) {
+            copy.add(copySchema(schema));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyValue(Object value) {
+        if (value instanceof Schema) {
+            return copySchema((Schema) value);
+        }
+        if (value instanceof Map) {
+            return copyMap((Map<?, Object>) value);
+        }
+        if (value instanceof List) {
+            return copyList((List<?>) value);
+        }
+        if (value instanceof JsonNode) {
+            return ((JsonNode) value).deepCopy();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> Map<K, V> copyMap(Map<K, V> map) {
+        if (map == null) {
+            return null;
+        }
+        Map<K, V> copy = new LinkedHashMap<>();
+        map.forEach((key, value) -> copy.put(key, (V) copyValue(value)));
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> copyList(List<T> list) {
+        List<T> copy = new ArrayList<>(list.size());
+        for (T value : list) {
+            copy.add((T) copyValue(value));
+        }
+        return copy;
+    }
+
+    private ExternalDocumentation copy(ExternalDocumentation externalDocs) {
+        if (externalDocs == null) {
+            return null;
+        }
+        return new ExternalDocumentation()
+                .description(externalDocs.getDescription())
+                .url(externalDocs.getUrl())
+                .extensions(copyMap(externalDocs.getExtensions()));
+    }
+
+    private XML copy(XML xml) {
+        if (xml == null) {
+            return null;
+        }
+        return new XML()
+                .name(xml.getName())
+                .namespace(xml.getNamespace())
+                .prefix(xml.getPrefix())
+                .attribute(xml.getAttribute())
+                .wrapped(xml.getWrapped())
+                .extensions(copyMap(xml.getExtensions()));
+    }
+
+    private Discriminator copy(Discriminator discriminator) {
+        if (discriminator == null) {
+            return null;
+        }
+        Discriminator copy = new Discriminator().propertyName(discriminator.getPropertyName());
+        if (discriminator.getMapping() != null) {
+            copy.setMapping(new LinkedHashMap<>(discriminator.getMapping()));
+        }
+        return copy;
+    }
+
+    private static Schema roundTrip(Schema schema) {
+        try {
+            Schema copy = Json.mapper().readValue(Json.mapper().writeValueAsString(schema), Schema.class);
+            copy.setName(schema.getName());
+            return copy;
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to copy schema " + schema.getName(), e);
+        }
+    }
+}
@@ -2,23 +2,56 @@ package io.swagger.v3.core.util;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.swagger.v3.oas.models.security.OAuthFlows;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class SecuritySchemeDeserializer extends JsonDeserializer<SecurityScheme> {
+    private static final Set<String> TEXT_FIELDS = new HashSet<>(Arrays.asList(
+            "type", "description", "scheme", "bearerFormat", "name", "in", "openIdConnectUrl"));
+
     @Override
     public SecurityScheme deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
+        jp = TreeNumberParser.wrap(jp, ctxt);
+        JsonToken token = jp.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            // a value other than an object has none of the keys that make a security scheme
+            jp.skipChildren();
+            return null;
+        }
         SecurityScheme result = null;
 
-        JsonNode node = jp.getCodec().readTree(jp);
+        // the text fields, and flows as tokens until the type is known
+        Map<String, JsonNode> fields = new HashMap<>();
+        TokenBuffer flows = null;
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String name = jp.getCurrentName();
+            jp.nextToken();
+            if (TEXT_FIELDS.contains(name)) {
+                fields.put(name, ctxt.readTree(jp));
+            } else if ("flows".equals(name)) {
+                flows = new TokenBuffer(jp, ctxt);
+                flows.copyCurrentStructure(jp);
+            } else {
+                jp.skipChildren();
+            }
+        }
 
-        JsonNode inNode = node.get("type");
+        JsonNode inNode = fields.get("type");
 
         if (inNode != null) {
             String type = inNode.asText();
@@ -27,26 +60,26 @@ public class SecuritySchemeDeserializer extends JsonDeserializer<SecurityScheme>
                 throw new JsonParseException(jp, String.format("SecurityScheme type %s not allowed", type));
             }
             result = new SecurityScheme()
-                    .description(getFieldText("description", node));
+                    .description(getFieldText("description", fields));
 
             if ("http".equals(type)) {
                 result
                         .type(SecurityScheme.Type.HTTP)
-                        .scheme(getFieldText("scheme", node))
-                        .bearerFormat(getFieldText("bearerFormat", node));
+                        .scheme(getFieldText("scheme", fields))
+                        .bearerFormat(getFieldText("bearerFormat", fields));
             } else if ("apiKey".equals(type)) {
                 result
                         .type(SecurityScheme.Type.APIKEY)
-                        .name(getFieldText("name", node))
-                        .in(getIn(getFieldText("in", node)));
+                        .name(getFieldText("name", fields))
+                        .in(getIn(getFieldText("in", fields)));
             } else if ("openIdConnect".equals(type)) {
                 result
                         .type(SecurityScheme.Type.OPENIDCONNECT)
-                        .openIdConnectUrl(getFieldText("openIdConnectUrl", node));
+                        .openIdConnectUrl(getFieldText("openIdConnectUrl", fields));
             } else if ("oauth2".equals(type)) {
                 result
                         .type(SecurityScheme.Type.OAUTH2)
-                        .flows(Json.mapper().convertValue(node.get("flows"), OAuthFlows.class));
+                        .flows(flows(flows, ctxt));
             }
         }
 
@@ -57,8 +90,16 @@ public class SecuritySchemeDeserializer extends JsonDeserializer<SecurityScheme>
         return Arrays.stream(SecurityScheme.In.values()).filter(i -> i.toString().equals(value)).findFirst().orElse(null);
     }
 
-    private String getFieldText(String fieldName, JsonNode node) {
-        JsonNode inNode = node.get(fieldName);
+    private OAuthFlows flows(TokenBuffer flows, DeserializationContext ctxt) throws IOException {
+        if (flows == null) {
+            return null;
+        }
+        JsonParser parser = flows.asParser();
+        return parser.nextToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(parser, OAuthFlows.class);
+    }
+
+    private String getFieldText(String fieldName, Map<String, JsonNode> fields) {
+        JsonNode inNode = fields.get(fieldName);
         if (inNode != null) {
             return inNode.asText();
         }
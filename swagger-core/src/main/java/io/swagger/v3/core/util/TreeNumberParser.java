@@ -0,0 +1,85 @@
+package io.swagger.v3.core.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads floating point numbers as the number nodes of a tree, for the deserializers which bind models straight from
+ * the parser to give the values they gave when they read a tree first: {@code 1e2} is 100.0 and {@code 0.10} is 0.1
+ * unless the context uses big decimals for floats, rather than keeping the scale of their text. Token buffers copied
+ * from this parser hold the same numbers.
+ */
+final class TreeNumberParser extends JsonParserDelegate {
+    private final DeserializationContext ctxt;
+
+    private TreeNumberParser(JsonParser parser, DeserializationContext ctxt) {
+        super(parser);
+        this.ctxt = ctxt;
+    }
+
+    static JsonParser wrap(JsonParser parser, DeserializationContext ctxt) {
+        return parser instanceof TreeNumberParser ? parser : new TreeNumberParser(parser, ctxt);
+    }
+
+    private JsonNode number() throws IOException {
+        if (ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            return ctxt.getNodeFactory().numberNode(delegate.getDecimalValue());
+        }
+        return ctxt.getNodeFactory().numberNode(delegate.getDoubleValue());
+    }
+
+    private boolean isFloat() {
+        return delegate.currentToken() == JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    @Override
+    public NumberType getNumberType() throws IOException {
+        return isFloat() ? number().numberType() : super.getNumberType();
+    }
+
+    @Override
+    public Number getNumberValue() throws IOException {
+        return isFloat() ? number().numberValue() : super.getNumberValue();
+    }
+
+    @Override
+    public Number getNumberValueExact() throws IOException {
+        return isFloat() ? number().numberValue() : super.getNumberValueExact();
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() throws IOException {
+        return isFloat() ? number().decimalValue() : super.getDecimalValue();
+    }
+
+    @Override
+    public double getDoubleValue() throws IOException {
+        return isFloat() ? number().doubleValue() : super.getDoubleValue();
+    }
+
+    @Override
+    public float getFloatValue() throws IOException {
+        return isFloat() ? number().floatValue() : super.getFloatValue();
+    }
+
+    @Override
+    public String getText() throws IOException {
+        return isFloat() ? number().asText() : super.getText();
+    }
+
+    @Override
+    public String getValueAsString() throws IOException {
+        return isFloat() ? number().asText() : super.getValueAsString();
+    }
+
+    @Override
+    public String getValueAsString(String defaultValue) throws IOException {
+        return isFloat() ? number().asText() : super.getValueAsString(defaultValue);
+    }
+}
@@ -0,0 +1,368 @@
+package org.rainday.swagger.processor;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import org.rainday.swagger.GeneratedOpenAPI;
+import org.rainday.swagger.Reader;
+import org.rainday.swagger.SwaggerConfiguration;
+import org.rainday.swagger.scanner.ClassPathScanner;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * Generates the OpenAPI definition while compiling the resources, so that at runtime {@link GeneratedOpenAPI} only
+ * has to load {@code META-INF/openapi/openapi.json} instead of scanning and reading the resource classes.
+ *
+ * Classes of the running compilation can only be loaded once javac has written them, so the definition is read by
+ * {@link Reader} from a javac task listener after the class files have been generated and written next to them.
+ * The resources are then found by a {@link ClassPathScanner} over the whole class output rather than taken from the
+ * sources of the compilation, so an incremental or IDE build which only compiles some of the sources still writes
+ * the definition of all of them. Compilers without the {@code com.sun.source} API (e.g. ecj) get a warning and no
+ * definition.
+ *
+ * The processor must be on the compile class path (e.g. {@code provided} scope) so that the classes the resources
+ * depend on can be loaded. Options:
+ * <ul>
+ *     <li>{@code openapi.configuration}: JSON or YAML file of a {@link SwaggerConfiguration} the resources are
+ *     read with, e.g. the base definition, ignored routes or model converters of the runtime configuration</li>
+ *     <li>{@code openapi.resourcePackages}: comma separated packages the resources are taken from, those of the
+ *     configuration or all by default</li>
+ *     <li>{@code openapi.prettyPrint}: pretty print the definition, true by default</li>
+ *     <li>{@code openapi.formats}: comma separated formats to write, {@code json,yaml} by default</li>
+ * </ul>
+ */
+@SupportedOptions({
+        OpenAPIProcessor.OPTION_CONFIGURATION,
+        OpenAPIProcessor.OPTION_RESOURCE_PACKAGES,
+        OpenAPIProcessor.OPTION_PRETTY_PRINT,
+        OpenAPIProcessor.OPTION_FORMATS})
+public class OpenAPIProcessor extends AbstractProcessor {
+
+    public static final String OPTION_CONFIGURATION = "openapi.configuration";
+    public static final String OPTION_RESOURCE_PACKAGES = "openapi.resourcePackages";
+    public static final String OPTION_PRETTY_PRINT = "openapi.prettyPrint";
+    public static final String OPTION_FORMATS = "openapi.formats";
+
+    private static final String FORMAT_JSON = "json";
+    private static final String FORMAT_YAML = "yaml";
+
+    // binary names of all types of the compilation, only needed while javac has no COMPILATION task event
+    private final Set<String> pendingTypes = new HashSet<>();
+    private boolean listening;
+    private int resourceCount;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // models change the definition as well, so it is written again whatever the compilation holds
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collectTypes(element);
+        }
+        if (roundEnv.processingOver() && !pendingTypes.isEmpty() && !listening) {
+            listening = true;
+            listen();
+        }
+        // the annotations are not claimed, other processors see them as well
+        return false;
+    }
+
+    private void collectTypes(Element element) {
+        if (element instanceof TypeElement) {
+            pendingTypes.add(binaryName((TypeElement) element));
+            for (Element enclosed : element.getEnclosedElements()) {
+                collectTypes(enclosed);
+            }
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void listen() {
+        Object task;
+        Method addTaskListener;
+        Class<?> listenerType;
+        boolean compilationEvent;
+        try {
+            // looked up reflectively so that neither tools.jar nor the jdk.compiler module is needed to build this
+            ClassLoader loader = processingEnv.getClass().getClassLoader();
+            Class<?> taskType = Class.forName("com.sun.source.util.JavacTask", false, loader);
+            listenerType = Class.forName("com.sun.source.util.TaskListener", false, loader);
+            Class<?> kindType = Class.forName("com.sun.source.util.TaskEvent$Kind", false, loader);
+            task = taskType.getMethod("instance", ProcessingEnvironment.class).invoke(null, processingEnv);
+            addTaskListener = taskType.getMethod("addTaskListener", listenerType);
+            compilationEvent = Arrays.stream(kindType.getEnumConstants()).anyMatch(kind -> "COMPILATION".equals(((Enum<?>) kind).name()));
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "OpenAPI definition not generated, the compiler does not support task listeners: " + e);
+            return;
+        }
+
+        Map<String, FileObject> outputs = new LinkedHashMap<>();
+        try {
+            for (String format : getFormats()) {
+                String resource = FORMAT_YAML.equals(format) ? GeneratedOpenAPI.YAML_RESOURCE : GeneratedOpenAPI.JSON_RESOURCE;
+                outputs.put(format, processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resource));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "failed to create OpenAPI definition resource: " + e);
+            return;
+        }
+
+        Object listener = Proxy.newProxyInstance(listenerType.getClassLoader(), new Class<?>[]{listenerType},
+                new GenerateListener(outputs, compilationEvent));
+        try {
+            addTaskListener.invoke(task, listener);
+        } catch (ReflectiveOperationException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "OpenAPI definition not generated: " + e);
+        }
+    }
+
+    private Set<String> getFormats() {
+        String formats = processingEnv.getOptions().get(OPTION_FORMATS);
+        Set<String> result = new LinkedHashSet<>();
+        if (StringUtils.isBlank(formats)) {
+            result.add(FORMAT_JSON);
+            result.add(FORMAT_YAML);
+            return result;
+        }
+        for (String format : formats.split(",")) {
+            format = format.trim().toLowerCase();
+            if (FORMAT_JSON.equals(format) || FORMAT_YAML.equals(format)) {
+                result.add(format);
+            } else {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "unknown OpenAPI format " + format);
+            }
+        }
+        // the json resource is the one loaded at runtime
+        result.add(FORMAT_JSON);
+        return result;
+    }
+
+    private boolean isPrettyPrint() {
+        String prettyPrint = processingEnv.getOptions().get(OPTION_PRETTY_PRINT);
+        return StringUtils.isBlank(prettyPrint) || Boolean.parseBoolean(prettyPrint);
+    }
+
+    protected SwaggerConfiguration getConfiguration() throws IOException {
+        SwaggerConfiguration config;
+        String location = processingEnv.getOptions().get(OPTION_CONFIGURATION);
+        if (StringUtils.isBlank(location)) {
+            config = new SwaggerConfiguration();
+        } else {
+            File file = new File(location.trim());
+            boolean yaml = file.getName().endsWith(".yaml") || file.getName().endsWith(".yml");
+            config = (yaml ? Yaml.mapper() : Json.mapper()).readValue(file, SwaggerConfiguration.class);
+        }
+        String packages = processingEnv.getOptions().get(OPTION_RESOURCE_PACKAGES);
+        if (StringUtils.isNotBlank(packages)) {
+            Set<String> resourcePackages = new LinkedHashSet<>();
+            for (String resourcePackage : packages.split(",")) {
+                if (StringUtils.isNotBlank(resourcePackage)) {
+                    resourcePackages.add(resourcePackage.trim());
+                }
+            }
+            config.setResourcePackages(resourcePackages);
+        }
+        return config.prettyPrint(isPrettyPrint());
+    }
+
+    /**
+     * Reads the resources of the class output, with the class files written by this compilation.
+     *
+     * @return the definition, null if the class output holds no resource
+     */
+    protected OpenAPI generate(Path classOutput) throws IOException {
+        SwaggerConfiguration config = getConfiguration();
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (ClassOutputLoader loader = new ClassOutputLoader(classOutput.toUri().toURL(), OpenAPIProcessor.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            ClassPathScanner scanner = new ClassOutputScanner(classOutput).classLoader(loader);
+            scanner.setConfiguration(config);
+            Set<Class<?>> classes = scanner.classes();
+            if (classes.isEmpty()) {
+                return null;
+            }
+            resourceCount = classes.size();
+            return new Reader(config).read(classes);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private class GenerateListener implements InvocationHandler {
+        private final Map<String, FileObject> outputs;
+        private final boolean compilationEvent;
+        private boolean generated;
+
+        GenerateListener(Map<String, FileObject> outputs, boolean compilationEvent) {
+            this.outputs = outputs;
+            this.compilationEvent = compilationEvent;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "finished":
+                    finished(args[0]);
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return OpenAPIProcessor.class.getName() + "$GenerateListener";
+                default:
+                    return null;
+            }
+        }
+
+        private void finished(Object event) throws ReflectiveOperationException {
+            if (generated) {
+                return;
+            }
+            String kind = ((Enum<?>) event.getClass().getMethod("getKind").invoke(event)).name();
+            if ("GENERATE".equals(kind) && !compilationEvent) {
+                TypeElement type = (TypeElement) event.getClass().getMethod("getTypeElement").invoke(event);
+                if (type != null) {
+                    pendingTypes.remove(binaryName(type));
+                }
+                if (pendingTypes.isEmpty()) {
+                    generated = true;
+                    write();
+                }
+            } else if ("COMPILATION".equals(kind)) {
+                generated = true;
+                write();
+            }
+        }
+
+        private void write() {
+            try {
+                FileObject json = outputs.get(FORMAT_JSON);
+                Path classOutput = Paths.get(json.toUri());
+                for (int i = GeneratedOpenAPI.JSON_RESOURCE.split("/").length; i > 0; i--) {
+                    classOutput = classOutput.getParent();
+                }
+                OpenAPI openAPI = generate(classOutput);
+                if (openAPI == null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "no resource classes, OpenAPI definition not generated");
+                    return;
+                }
+                boolean prettyPrint = isPrettyPrint();
+                for (Map.Entry<String, FileObject> output : outputs.entrySet()) {
+                    boolean yaml = FORMAT_YAML.equals(output.getKey());
+                    byte[] bytes;
+                    if (prettyPrint) {
+                        bytes = (yaml ? Yaml.pretty() : Json.pretty()).writeValueAsBytes(openAPI);
+                    } else {
+                        bytes = (yaml ? Yaml.mapper() : Json.mapper()).writeValueAsBytes(openAPI);
+                    }
+                    try (OutputStream out = output.getValue().openOutputStream()) {
+                        out.write(bytes);
+                    }
+                }
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "generated OpenAPI definition of " + resourceCount + " resource classes");
+            } catch (Exception | LinkageError e) {
+                StringWriter stackTrace = new StringWriter();
+                e.printStackTrace(new PrintWriter(stackTrace));
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "failed to generate OpenAPI definition: " + stackTrace);
+            }
+        }
+    }
+
+    /**
+     * Scans the class output only, in the configured resource packages if any.
+     */
+    private static class ClassOutputScanner extends ClassPathScanner {
+        private final Path classOutput;
+
+        ClassOutputScanner(Path classOutput) {
+            this.classOutput = classOutput;
+        }
+
+        @Override
+        protected Map<Path, Set<String>> collectRoots() {
+            Set<String> packagePaths = new LinkedHashSet<>();
+            Set<String> resourcePackages = config == null ? null : config.getResourcePackages();
+            if (resourcePackages == null || resourcePackages.isEmpty()) {
+                packagePaths.add("");
+            } else {
+                for (String resourcePackage : resourcePackages) {
+                    packagePaths.add(resourcePackage.trim().replace('.', '/'));
+                }
+            }
+            return Collections.singletonMap(classOutput, packagePaths);
+        }
+    }
+
+    /**
+     * Loads the classes of the class output itself before delegating, so that stale copies of them elsewhere on the
+     * class path are not picked up.
+     */
+    private static class ClassOutputLoader extends URLClassLoader {
+
+        ClassOutputLoader(URL classOutput, ClassLoader parent) {
+            super(new URL[]{classOutput}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> cls = findLoadedClass(name);
+                if (cls == null && findResource(name.replace('.', '/') + ".class") != null) {
+                    cls = findClass(name);
+                }
+                if (cls == null) {
+                    return super.loadClass(name, resolve);
+                }
+                if (resolve) {
+                    resolveClass(cls);
+                }
+                return cls;
+            }
+        }
+    }
+}
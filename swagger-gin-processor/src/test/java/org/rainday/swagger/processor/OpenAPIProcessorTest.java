@@ -0,0 +1,120 @@
+package org.rainday.swagger.processor;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rainday.swagger.GeneratedOpenAPI;
+import org.rainday.swagger.SwaggerConfiguration;
+import org.rainday.swagger.annotations.Path;
+
+public class OpenAPIProcessorTest {
+
+    private static final String PET_RESOURCE = "package org.example;\n"
+            + "@org.rainday.swagger.annotations.Path(\"/pets\")\n"
+            + "public class PetResource {\n"
+            + "    @org.rainday.swagger.methods.GET\n"
+            + "    public Pet list() { return null; }\n"
+            + "}\n";
+    private static final String PET = "package org.example;\n"
+            + "public class Pet {\n"
+            + "    public String name;\n"
+            + "}\n";
+    private static final String STORE_RESOURCE = "package org.example;\n"
+            + "@org.rainday.swagger.annotations.Path(\"/store\")\n"
+            + "public class StoreResource {\n"
+            + "    @org.rainday.swagger.methods.GET\n"
+            + "    public String inventory() { return null; }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesDefinitionOfCompiledResources() throws Exception {
+        File classes = folder.newFolder("classes");
+
+        compile(classes, source("org.example.PetResource", PET_RESOURCE), source("org.example.Pet", PET));
+
+        JsonNode definition = Json.mapper().readTree(new File(classes, GeneratedOpenAPI.JSON_RESOURCE));
+        assertTrue(definition.path("paths").has("/pets"));
+        assertTrue(definition.path("components").path("schemas").has("Pet"));
+        assertTrue(new File(classes, GeneratedOpenAPI.YAML_RESOURCE).isFile());
+    }
+
+    @Test
+    public void partialBuildKeepsResourcesCompiledBefore() throws Exception {
+        File classes = folder.newFolder("classes");
+        compile(classes, source("org.example.PetResource", PET_RESOURCE), source("org.example.Pet", PET));
+
+        // only the changed source is compiled again, the earlier classes are read from the class output
+        compile(classes, source("org.example.StoreResource", STORE_RESOURCE));
+
+        JsonNode definition = Json.mapper().readTree(new File(classes, GeneratedOpenAPI.JSON_RESOURCE));
+        assertTrue(definition.path("paths").has("/pets"));
+        assertTrue(definition.path("paths").has("/store"));
+    }
+
+    @Test
+    public void definitionOfOtherClassPathRootsIsNotLoaded() throws Exception {
+        File classes = folder.newFolder("classes");
+        compile(classes, source("org.example.PetResource", PET_RESOURCE), source("org.example.Pet", PET));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+            assertNotNull(GeneratedOpenAPI.load(loader, new SwaggerConfiguration()
+                    .resourcePackages(Collections.singleton("org.example"))));
+            assertNotNull(GeneratedOpenAPI.load(loader, new SwaggerConfiguration()
+                    .resourceClasses(Collections.singleton("org.example.PetResource"))));
+            // the definition belongs to a dependency of the application classes
+            assertNull(GeneratedOpenAPI.load(loader, new SwaggerConfiguration()
+                    .resourceClasses(Collections.singleton(OpenAPIProcessorTest.class.getName()))));
+            assertNull(GeneratedOpenAPI.load(loader, new SwaggerConfiguration()));
+        }
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static void compile(File classes, JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        // the class path of the test jvm may be a manifest only jar, javac is given the annotations jar directly
+        String classPath = classes.getPath() + File.pathSeparator + location(Path.class);
+        List<String> options = new ArrayList<>(Arrays.asList("-d", classes.getPath(), "-classpath", classPath));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, Arrays.asList(sources));
+        task.setProcessors(Collections.singletonList(new OpenAPIProcessor()));
+        assertTrue(task.call());
+    }
+
+    private static String location(Class<?> cls) {
+        try {
+            return Paths.get(cls.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
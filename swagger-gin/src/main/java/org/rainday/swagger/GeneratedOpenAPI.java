@@ -0,0 +1,140 @@
+package org.rainday.swagger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.rainday.logging.Logger;
+import org.rainday.logging.LoggerFactory;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * The definition generated at compile time by the {@code swagger-gin-processor} annotation processor, stored as a
+ * class path resource so that it can be served without scanning or reading any resource class.
+ *
+ * Only a resource of the class path roots holding the configured resource classes or packages is used, so that the
+ * definition of a dependency jar is never served for the application.
+ */
+public final class GeneratedOpenAPI {
+    private static final Logger logger = LoggerFactory.getLogger(GeneratedOpenAPI.class);
+
+    public static final String RESOURCE_PATH = "META-INF/openapi/";
+    public static final String JSON_RESOURCE = RESOURCE_PATH + "openapi.json";
+    public static final String YAML_RESOURCE = RESOURCE_PATH + "openapi.yaml";
+
+    private static final String JAR_PREFIX = "jar:";
+    private static final String JAR_SEPARATOR = "!/";
+
+    private GeneratedOpenAPI() {
+    }
+
+    /**
+     * @return the generated definition of the class path roots of the configured resource classes and packages, null
+     * if none of them has one or the configuration names neither classes nor packages
+     */
+    public static OpenAPI load(ClassLoader classLoader, OpenAPIConfiguration config) {
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        Set<String> roots = resourceRoots(classLoader, config);
+        if (roots.isEmpty()) {
+            logger.debug("no resource classes or packages configured, generated OpenAPI definition not used");
+            return null;
+        }
+        try {
+            Enumeration<URL> urls = classLoader.getResources(JSON_RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                if (roots.contains(root(url.toString(), JSON_RESOURCE))) {
+                    return load(url);
+                }
+                logger.debug("skipping generated OpenAPI definition {} outside of the resource roots", url);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to look up generated OpenAPI definition " + JSON_RESOURCE, e);
+        }
+        return null;
+    }
+
+    private static OpenAPI load(URL url) {
+        try (InputStream in = url.openStream()) {
+            JsonNode node = Json.mapper().readTree(in);
+            // left empty when the processor failed to read the resources
+            if (node == null || node.isMissingNode()) {
+                return null;
+            }
+            return Json.mapper().treeToValue(node, OpenAPI.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read generated OpenAPI definition " + url, e);
+        }
+    }
+
+    private static Set<String> resourceRoots(ClassLoader classLoader, OpenAPIConfiguration config) {
+        Set<String> roots = new LinkedHashSet<>();
+        if (config == null) {
+            return roots;
+        }
+        if (config.getResourceClasses() != null) {
+            for (String resourceClass : config.getResourceClasses()) {
+                if (StringUtils.isBlank(resourceClass)) {
+                    continue;
+                }
+                try {
+                    CodeSource codeSource = Class.forName(resourceClass.trim(), false, classLoader).getProtectionDomain().getCodeSource();
+                    if (codeSource != null && codeSource.getLocation() != null) {
+                        roots.add(root(codeSource.getLocation().toString(), ""));
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    logger.debug("resource class {} not found", resourceClass);
+                }
+            }
+        }
+        if (config.getResourcePackages() != null) {
+            for (String resourcePackage : config.getResourcePackages()) {
+                if (StringUtils.isBlank(resourcePackage)) {
+                    continue;
+                }
+                String packagePath = resourcePackage.trim().replace('.', '/');
+                try {
+                    Enumeration<URL> urls = classLoader.getResources(packagePath);
+                    while (urls.hasMoreElements()) {
+                        roots.add(root(urls.nextElement().toString(), packagePath));
+                    }
+                } catch (IOException e) {
+                    logger.warn("failed to resolve resource package {}", resourcePackage, e);
+                }
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * @return the url of the class path root the resource was found in, the same for a jar and a directory entry
+     * whether it was taken from a resource url or a code source location
+     */
+    private static String root(String url, String resource) {
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (!resource.isEmpty() && url.endsWith(resource)) {
+            url = url.substring(0, url.length() - resource.length());
+        }
+        if (url.startsWith(JAR_PREFIX)) {
+            url = url.substring(JAR_PREFIX.length());
+        }
+        if (url.endsWith(JAR_SEPARATOR)) {
+            url = url.substring(0, url.length() - JAR_SEPARATOR.length());
+        }
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url;
+    }
+}
@@ -0,0 +1,97 @@
+package org.rainday.swagger;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.tags.Tag;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the paths and tags {@link Reader} produces for an {@link OpenAPI}.
+ *
+ * Paths go into a single insertion ordered {@link Paths} index which is attached to the definition on the first
+ * operation, after which adding a path is a plain map insert instead of merging all paths again. Tags are registered
+ * by name, the first tag of a name wins, and the tag list of the definition is only built by {@link #materialize()}.
+ */
+public class OpenAPIAssembly {
+
+    private final OpenAPI openAPI;
+    private Paths paths;
+
+    // tags added by the reader, the tags the definition already has are merged in front of them on materialize
+    private final Map<String, Tag> tags = new LinkedHashMap<>();
+    private boolean tagsChanged;
+
+    public OpenAPIAssembly(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    public OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    /**
+     * @return the paths index, null until the first path item is registered
+     */
+    public Paths getPaths() {
+        return paths;
+    }
+
+    /**
+     * @return the path item registered for the path, registering a new one if there is none
+     */
+    public PathItem pathItem(String path) {
+        Paths existing = openAPI.getPaths();
+        if (paths != null && existing == paths) {
+            return paths.computeIfAbsent(path, p -> new PathItem());
+        }
+        // first path, or the paths of the definition were replaced: the paths it has go after the new one
+        if (paths == null) {
+            paths = new Paths();
+        }
+        PathItem pathItem = existing == null ? null : existing.get(path);
+        paths.addPathItem(path, pathItem == null ? new PathItem() : pathItem);
+        if (existing != null) {
+            paths.putAll(existing);
+        }
+        openAPI.setPaths(paths);
+        return paths.get(path);
+    }
+
+    public void addTags(Collection<Tag> definitionTags) {
+        for (Tag tag : definitionTags) {
+            if (tags.putIfAbsent(tag.getName(), tag) == null) {
+                tagsChanged = true;
+            }
+        }
+    }
+
+    /**
+     * @return the tags added so far, without the ones the definition already had
+     */
+    public Collection<Tag> getTags() {
+        return tags.values();
+    }
+
+    /**
+     * Sets the tags of the definition followed by the added tags, first of a name winning, if tags were added since
+     * the last call.
+     */
+    public void materialize() {
+        if (!tagsChanged) {
+            return;
+        }
+        Map<String, Tag> merged = new LinkedHashMap<>();
+        if (openAPI.getTags() != null) {
+            for (Tag tag : openAPI.getTags()) {
+                merged.putIfAbsent(tag.getName(), tag);
+            }
+        }
+        tags.forEach(merged::putIfAbsent);
+        openAPI.setTags(new ArrayList<>(merged.values()));
+        tagsChanged = false;
+    }
+}
@@ -28,6 +28,11 @@ public interface OpenAPIConfiguration {
 
     Long getCacheTTL();
 
+    /**
+     * @return number of threads {@link Reader} reads resource classes with, null or less than 2 reads them serially
+     */
+    Integer getReaderParallelism();
+
     /**
      * @since 2.0.6
      */
@@ -0,0 +1,158 @@
+package org.rainday.swagger;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.Set;
+import org.rainday.logging.Logger;
+import org.rainday.logging.LoggerFactory;
+import org.rainday.swagger.cache.OpenAPIDiskCache;
+import org.rainday.swagger.cache.OpenAPIFingerprint;
+import org.rainday.swagger.cache.RenderedOpenAPI;
+import org.rainday.swagger.scanner.ClassPathScanner;
+import org.rainday.swagger.scanner.OpenAPIScanner;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * Scans and reads the resources of an {@link OpenAPIConfiguration}, honouring {@link OpenAPIConfiguration#getCacheTTL()}:
+ * 0 reads again on every call, a negative value caches forever, otherwise the cache expires after that many milliseconds.
+ *
+ * With a {@link #diskCache(OpenAPIDiskCache) disk cache} the definition survives restarts as long as the
+ * {@link OpenAPIFingerprint fingerprint} of the scanned classes and the configuration does not change. When
+ * {@link #useGeneratedOpenAPI(boolean) enabled}, a definition {@link GeneratedOpenAPI generated at compile time} takes
+ * precedence over both. {@link #render()} keeps the
+ * serialized forms of the definition until a new one is read.
+ */
+public class OpenAPIContext {
+    private static final Logger logger = LoggerFactory.getLogger(OpenAPIContext.class);
+
+    private final OpenAPIConfiguration config;
+    private OpenAPIDiskCache diskCache;
+    private boolean useGeneratedOpenAPI;
+
+    private volatile OpenAPI cachedOpenAPI;
+    private volatile long cachedAt;
+    private RenderedOpenAPI renderedOpenAPI;
+
+    public OpenAPIContext(OpenAPIConfiguration config) {
+        this.config = config;
+    }
+
+    public OpenAPIContext diskCache(OpenAPIDiskCache diskCache) {
+        this.diskCache = diskCache;
+        return this;
+    }
+
+    public OpenAPIConfiguration getConfiguration() {
+        return config;
+    }
+
+    public synchronized OpenAPI read() {
+        long cacheTTL = getCacheTTL();
+        OpenAPI openAPI = cachedOpenAPI;
+        if (openAPI != null && cacheTTL != 0 && (cacheTTL < 0 || System.currentTimeMillis() - cachedAt <= cacheTTL)) {
+            return openAPI;
+        }
+
+        if (isUseGeneratedOpenAPI()) {
+            openAPI = GeneratedOpenAPI.load(getClassLoader(), config);
+            if (openAPI != null) {
+                logger.debug("loaded generated OpenAPI definition {}", GeneratedOpenAPI.JSON_RESOURCE);
+                return cache(openAPI);
+            }
+        }
+
+        OpenAPIScanner scanner = buildScanner();
+        Set<Class<?>> classes = scanner.classes();
+
+        String fingerprint = null;
+        if (diskCache != null && cacheTTL != 0) {
+            fingerprint = OpenAPIFingerprint.of(config, classes);
+            openAPI = diskCache.load(fingerprint, cacheTTL);
+            if (openAPI != null) {
+                logger.debug("loaded OpenAPI definition from {}", diskCache.getFile());
+                return cache(openAPI);
+            }
+        }
+
+        openAPI = buildReader().read(classes, scanner.resources());
+        if (fingerprint != null) {
+            diskCache.store(fingerprint, openAPI, cacheTTL);
+        }
+        return cache(openAPI);
+    }
+
+    /**
+     * @return the {@link #read() read} definition with its serialized forms, rendered again whenever the definition
+     * read is not the one rendered last
+     */
+    public synchronized RenderedOpenAPI render() {
+        OpenAPI openAPI = read();
+        RenderedOpenAPI rendered = renderedOpenAPI;
+        if (rendered == null || rendered.getOpenAPI() != openAPI) {
+            rendered = new RenderedOpenAPI(openAPI);
+            renderedOpenAPI = rendered;
+        }
+        return rendered;
+    }
+
+    private OpenAPI cache(OpenAPI openAPI) {
+        cachedOpenAPI = openAPI;
+        cachedAt = System.currentTimeMillis();
+        return openAPI;
+    }
+
+    protected long getCacheTTL() {
+        return config == null || config.getCacheTTL() == null ? -1L : config.getCacheTTL();
+    }
+
+    public OpenAPIContext useGeneratedOpenAPI(boolean useGeneratedOpenAPI) {
+        this.useGeneratedOpenAPI = useGeneratedOpenAPI;
+        return this;
+    }
+
+    /**
+     * @return whether a definition {@link GeneratedOpenAPI generated at compile time} is served instead of reading
+     * the resources, false by default. The generated definition is served as the processor wrote it: the base
+     * definition, reader and scanner classes of this configuration do not apply to it, the processor has to be given
+     * the same configuration.
+     */
+    public boolean isUseGeneratedOpenAPI() {
+        return useGeneratedOpenAPI;
+    }
+
+    protected ClassLoader getClassLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : OpenAPIContext.class.getClassLoader();
+    }
+
+    protected OpenAPIScanner buildScanner() {
+        OpenAPIScanner scanner;
+        if (config != null && StringUtils.isNotBlank(config.getScannerClass())) {
+            scanner = newInstance(config.getScannerClass(), OpenAPIScanner.class);
+        } else {
+            scanner = new ClassPathScanner();
+        }
+        scanner.setConfiguration(config);
+        return scanner;
+    }
+
+    protected Reader buildReader() {
+        Reader reader;
+        if (config != null && StringUtils.isNotBlank(config.getReaderClass())) {
+            reader = newInstance(config.getReaderClass(), Reader.class);
+        } else {
+            reader = new Reader();
+        }
+        reader.setConfiguration(config);
+        return reader;
+    }
+
+    private static <T> T newInstance(String className, Class<T> type) {
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            Class<?> cls = Class.forName(className, true, loader != null ? loader : OpenAPIContext.class.getClassLoader());
+            return type.cast(cls.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("failed to instantiate " + type.getSimpleName() + " " + className, e);
+        }
+    }
+}
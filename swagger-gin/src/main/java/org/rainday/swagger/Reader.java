@@ -3,6 +3,7 @@ package org.rainday.swagger;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
 import com.fasterxml.jackson.databind.introspect.AnnotatedParameter;
 import com.fasterxml.jackson.databind.type.TypeFactory;
@@ -14,6 +15,7 @@ import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.ParameterProcessor;
 import io.swagger.v3.core.util.PathUtils;
 import io.swagger.v3.core.util.ReflectionUtils;
+import io.swagger.v3.core.util.SchemaCopier;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.servers.Server;
@@ -33,28 +35,39 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.tags.Tag;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import org.rainday.logging.Logger;
 import org.rainday.logging.LoggerFactory;
 import org.rainday.swagger.annotations.Consumes;
 import org.rainday.swagger.annotations.Path;
 import org.rainday.swagger.annotations.Produces;
+import org.rainday.swagger.cache.OpenAPIFingerprint;
+import org.rainday.swagger.util.OperationIdRegistry;
 import org.rainday.swagger.util.ReaderUtils;
 import org.rainday.swagger.utils.StringUtils;
 
@@ -63,13 +76,33 @@ public class Reader {
 
     public static final String DEFAULT_MEDIA_TYPE_VALUE = "*/*";
     public static final String DEFAULT_DESCRIPTION = "default response";
+    private static final String COMPONENTS_SCHEMAS_REF = "#/components/schemas/";
     
     protected OpenAPIConfiguration config;
 
     private OpenAPI openAPI;
     private Components components;
-    private Paths paths;
-    private Set<Tag> openApiTags;
+    private OpenAPIAssembly assembly;
+    // set while a set of classes is read, the assembly is then materialized once at the end
+    private boolean batchRead;
+    // operationIds of openAPI.getPaths(), rebuilt when the paths object is replaced
+    private OperationIdRegistry operationIds;
+    private Paths operationIdsPaths;
+
+    // only set on the per-class readers of a parallel read, replayed by the merging reader
+    private List<FragmentOperation> fragmentOperations;
+    private Map<Operation, OperationIdRequest> operationIdRequests;
+
+    // incremental mode: per-class fragments by class name and the definition they are merged onto
+    private Map<String, ClassFragment> classFragments;
+    private OpenAPI baseOpenAPI;
+    private Set<String> baseSchemaNames;
+
+    // parent independent scans of sub-resource classes, bound again to every parent locator
+    private final Map<Class<?>, SubResourceTemplate> subResourceTemplates = new HashMap<>();
+    // set while a sub-resource class is scanned into a template
+    private SubResourceTemplate capturing;
+    private RequestBody lastAnnotatedRequestBody;
 
     private static final String GET_METHOD = "get";
     private static final String POST_METHOD = "post";
@@ -82,12 +115,46 @@ public class Reader {
 
     public Reader() {
         this.openAPI = new OpenAPI();
-        paths = new Paths();
-        openApiTags = new LinkedHashSet<>();
+        assembly = new OpenAPIAssembly(openAPI);
         components = new Components();
 
     }
 
+    public Reader(OpenAPIConfiguration openApiConfiguration) {
+        this();
+        setConfiguration(openApiConfiguration);
+    }
+
+    /**
+     * Uses the given configuration; a copy of its {@link OpenAPIConfiguration#getOpenAPI()}, if any, is the base the
+     * scanned resources are merged into, so that every reader starts from the configured definition.
+     */
+    public void setConfiguration(OpenAPIConfiguration openApiConfiguration) {
+        if (openApiConfiguration == null) {
+            return;
+        }
+        this.config = openApiConfiguration;
+        if (openApiConfiguration.getOpenAPI() != null) {
+            this.openAPI = copy(openApiConfiguration.getOpenAPI());
+            this.assembly = new OpenAPIAssembly(openAPI);
+            if (openAPI.getComponents() != null) {
+                this.components = openAPI.getComponents();
+            }
+        }
+    }
+
+    public OpenAPIConfiguration getConfiguration() {
+        return config;
+    }
+
+    private static OpenAPI copy(OpenAPI openAPI) {
+        try {
+            return Json.mapper().readValue(Json.mapper().writeValueAsBytes(openAPI), OpenAPI.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to copy configured OpenAPI", e);
+        }
+    }
+
     public OpenAPI getOpenAPI() {
         return openAPI;
     }
@@ -96,7 +163,14 @@ public class Reader {
      * Scans a single class for Swagger annotations - does not invoke ReaderListeners
      */
     public OpenAPI read(Class<?> cls) {
-        return read(cls, resolveApplicationPath(), null, false, null, null, new LinkedHashSet<String>(), new ArrayList<Parameter>(), new HashSet<Class<?>>());
+        try {
+            return read(cls, resolveApplicationPath(), null, false, null, null, new LinkedHashSet<String>(), new ArrayList<Parameter>(), new HashSet<Class<?>>());
+        } finally {
+            // the classes of a batch or of a parallel read are all read before the caches are dropped
+            if (!batchRead && fragmentOperations == null) {
+                endRead();
+            }
+        }
     }
 
     /**
@@ -108,6 +182,35 @@ public class Reader {
      * @return the generated OpenAPI definition
      */
     public OpenAPI read(Set<Class<?>> classes) {
+        Set<Class<?>> sortedClasses = sortClasses(classes);
+        int parallelism = getReaderParallelism();
+        try {
+            if (parallelism > 1 && sortedClasses.size() > 1) {
+                readParallel(new ArrayList<>(sortedClasses), parallelism);
+            } else {
+                batchRead = true;
+                try {
+                    sortedClasses.forEach(this::read);
+                } finally {
+                    batchRead = false;
+                }
+                assembly.materialize();
+            }
+        } finally {
+            endRead();
+        }
+        return openAPI;
+    }
+
+    /**
+     * Drops what the model converters cached about the classes of the read, so that neither the classes nor their
+     * class loaders are kept by the converters once the definition is generated.
+     */
+    private void endRead() {
+        ModelConverters.getInstance().clearIntrospectionCaches();
+    }
+
+    private static Set<Class<?>> sortClasses(Set<Class<?>> classes) {
         Set<Class<?>> sortedClasses = new TreeSet<>((class1, class2) -> {
             if (class1.equals(class2)) {
                 return 0;
@@ -119,10 +222,244 @@ public class Reader {
             return class1.getName().compareTo(class2.getName());
         });
         sortedClasses.addAll(classes);
-        sortedClasses.forEach(this::read);
+        return sortedClasses;
+    }
+
+    /**
+     * Incremental variant of {@link #read(Set)} for repeated generation (development, hot redeploy): every class is
+     * kept as a fragment keyed by the hash of its class file, so a call only re-reads the classes which were added or
+     * whose bytecode changed, drops the fragments of classes no longer passed in and merges the fragments again onto
+     * the definition this reader started with. Component schemas which are no longer referenced from anywhere are
+     * removed from the result.
+     *
+     * A reader used incrementally must not be used with the other read methods.
+     *
+     * @param classes all resource classes, not only the changed ones
+     * @return the regenerated definition
+     */
+    public synchronized OpenAPI readIncremental(Set<Class<?>> classes) {
+        if (classFragments == null) {
+            classFragments = new HashMap<>();
+            baseOpenAPI = Json.mapper().convertValue(openAPI, OpenAPI.class);
+            baseSchemaNames = baseOpenAPI.getComponents() == null || baseOpenAPI.getComponents().getSchemas() == null
+                    ? Collections.emptySet()
+                    : new HashSet<>(baseOpenAPI.getComponents().getSchemas().keySet());
+        }
+
+        Set<Class<?>> sortedClasses = sortClasses(classes);
+        Map<String, ClassFragment> fragments = new HashMap<>();
+        List<Class<?>> changedClasses = new ArrayList<>();
+        Map<String, String> hashes = new HashMap<>();
+        for (Class<?> cls : sortedClasses) {
+            String hash = OpenAPIFingerprint.hex(OpenAPIFingerprint.classBytesDigest(cls));
+            ClassFragment fragment = classFragments.get(cls.getName());
+            if (fragment != null && fragment.hash.equals(hash)) {
+                fragments.put(cls.getName(), fragment);
+            } else {
+                changedClasses.add(cls);
+                hashes.put(cls.getName(), hash);
+            }
+        }
+        List<Reader> changedFragments;
+        try {
+            changedFragments = readFragments(changedClasses, getReaderParallelism());
+        } finally {
+            endRead();
+        }
+        for (int i = 0; i < changedClasses.size(); i++) {
+            String name = changedClasses.get(i).getName();
+            fragments.put(name, new ClassFragment(hashes.get(name), changedFragments.get(i)));
+        }
+        logger.debug("incremental read: {} classes re-read, {} reused, {} removed", changedClasses.size(),
+                sortedClasses.size() - changedClasses.size(), classFragments.keySet().stream().filter(name -> !fragments.containsKey(name)).count());
+        classFragments = fragments;
+
+        openAPI = Json.mapper().convertValue(baseOpenAPI, OpenAPI.class);
+        components = openAPI.getComponents() != null ? openAPI.getComponents() : new Components();
+        assembly = new OpenAPIAssembly(openAPI);
+        for (Class<?> cls : sortedClasses) {
+            // fragments are kept for the next read, the definition gets copies
+            mergeFragment(fragments.get(cls.getName()).reader, true);
+        }
+        removeUnreferencedSchemas();
+        if (!isEmptyComponents(components) && openAPI.getComponents() == null) {
+            openAPI.setComponents(components);
+        }
+        assembly.materialize();
         return openAPI;
     }
 
+    private void removeUnreferencedSchemas() {
+        Map<String, Schema> schemas = components.getSchemas();
+        if (schemas == null || schemas.isEmpty()) {
+            return;
+        }
+        components.setSchemas(null);
+        Set<String> referenced = new HashSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.add(Json.mapper().valueToTree(openAPI));
+        pending.add(Json.mapper().valueToTree(components));
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.poll();
+            for (JsonNode ref : node.findValues("$ref")) {
+                String name = ref.asText();
+                if (name.startsWith(COMPONENTS_SCHEMAS_REF)) {
+                    name = name.substring(COMPONENTS_SCHEMAS_REF.length());
+                    if (referenced.add(name) && schemas.get(name) != null) {
+                        pending.add(Json.mapper().valueToTree(schemas.get(name)));
+                    }
+                }
+            }
+        }
+        Map<String, Schema> kept = new LinkedHashMap<>();
+        schemas.forEach((name, schema) -> {
+            if (referenced.contains(name) || baseSchemaNames.contains(name)) {
+                kept.put(name, schema);
+            } else {
+                logger.debug("removing unreferenced schema {}", name);
+            }
+        });
+        components.setSchemas(kept.isEmpty() ? null : kept);
+    }
+
+    protected int getReaderParallelism() {
+        if (config == null || config.getReaderParallelism() == null) {
+            return 1;
+        }
+        return config.getReaderParallelism();
+    }
+
+    /**
+     * Reads every class into its own fragment on a {@link ForkJoinPool}, then merges the fragments in the given order
+     * replaying exactly what a serial read would have done (path insertion order, operationId suffixes, component
+     * overrides, tag order), so the result is identical to reading the classes one by one.
+     *
+     * @param sortedClasses classes in the order of the serial read
+     * @param parallelism   the pool size
+     */
+    protected void readParallel(List<Class<?>> sortedClasses, int parallelism) {
+        for (Reader fragment : readFragments(sortedClasses, parallelism)) {
+            mergeFragment(fragment, false);
+        }
+        if (!isEmptyComponents(components) && openAPI.getComponents() == null) {
+            openAPI.setComponents(components);
+        }
+        assembly.materialize();
+    }
+
+    private List<Reader> readFragments(List<Class<?>> classes, int parallelism) {
+        if (parallelism <= 1 || classes.size() <= 1) {
+            return classes.stream().map(this::readFragment).collect(Collectors.toList());
+        }
+        // lazily created shared state, initialize it before forking
+        Json.mapper();
+        OpenAPIExtensions.chain();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> classes.parallelStream()
+                    .map(this::readFragment)
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while reading resources", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Reader readFragment(Class<?> cls) {
+        Reader fragment = newFragmentReader();
+        fragment.config = config;
+        fragment.fragmentOperations = new ArrayList<>();
+        fragment.operationIdRequests = new IdentityHashMap<>();
+        fragment.read(cls);
+        return fragment;
+    }
+
+    /**
+     * @return an empty reader of the same kind as this one, used to read a single class of a parallel read
+     */
+    protected Reader newFragmentReader() {
+        if (getClass() == Reader.class) {
+            return new Reader();
+        }
+        try {
+            return getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            logger.warn("{} has no usable no-arg constructor, falling back to {} for parallel read", getClass().getName(), Reader.class.getName());
+            return new Reader();
+        }
+    }
+
+    /**
+     * @param copy whether to merge copies, leaving the fragment as it is
+     */
+    private void mergeFragment(Reader fragment, boolean copy) {
+        for (FragmentOperation fragmentOperation : fragment.fragmentOperations) {
+            Operation operation = fragmentOperation.operation;
+            OperationIdRequest request = fragment.operationIdRequests.get(operation);
+            if (copy) {
+                operation = copy(operation);
+            }
+            // operationIds were only made unique within the fragment, redo it against everything merged so far
+            if (request != null && (request.assigned.equals(operation.getOperationId()) || Objects.equals(operation.getOperationId(), request.merged))) {
+                request.merged = getOperationId(request.requested);
+                operation.setOperationId(request.merged);
+            }
+            addPathItemOperation(fragmentOperation.path, fragmentOperation.httpMethod, operation);
+        }
+
+        Components fragmentComponents = fragment.components;
+        merge(fragmentComponents.getSchemas(), components::addSchemas, copy);
+        merge(fragmentComponents.getResponses(), components::addResponses, copy);
+        merge(fragmentComponents.getParameters(), components::addParameters, copy);
+        merge(fragmentComponents.getExamples(), components::addExamples, copy);
+        merge(fragmentComponents.getRequestBodies(), components::addRequestBodies, copy);
+        merge(fragmentComponents.getHeaders(), components::addHeaders, copy);
+        merge(fragmentComponents.getSecuritySchemes(), components::addSecuritySchemes, copy);
+        merge(fragmentComponents.getLinks(), components::addLinks, copy);
+        merge(fragmentComponents.getCallbacks(), components::addCallbacks, copy);
+        merge(fragmentComponents.getExtensions(), components::addExtension, copy);
+
+        if (copy) {
+            List<Tag> tags = new ArrayList<>();
+            for (Tag tag : fragment.assembly.getTags()) {
+                tags.add(copy(tag));
+            }
+            assembly.addTags(tags);
+        } else {
+            assembly.addTags(fragment.assembly.getTags());
+        }
+    }
+
+    private static <T> void merge(Map<String, T> values, BiConsumer<String, T> add, boolean copy) {
+        if (values != null) {
+            values.forEach((name, value) -> add.accept(name, copy ? copy(value) : value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Schema) {
+            return (T) SchemaCopier.copy((Schema) value);
+        }
+        return (T) Json.mapper().convertValue(value, value.getClass());
+    }
+
     public OpenAPI read(Set<Class<?>> classes, Map<String, Object> resources) {
         return read(classes);
     }
@@ -165,6 +502,11 @@ public class Reader {
         if (hidden != null) { //  || (apiPath == null && !isSubresource)) {
             return openAPI;
         }
+        final SubResourceTemplate template = capturing;
+        if (template != null) {
+            template.hidden = false;
+            template.apiPath = apiPath;
+        }
 
         io.swagger.v3.oas.annotations.responses.ApiResponse[] classResponses = ReflectionUtils.getRepeatableAnnotationsArray(cls, io.swagger.v3.oas.annotations.responses.ApiResponse.class);
     
@@ -194,6 +536,10 @@ public class Reader {
             );
         }
 
+        if (template != null) {
+            template.classTags = new LinkedHashSet<>(classTags);
+        }
+
         // parent tags
         if (isSubresource) {
             if (parentTags != null) {
@@ -251,26 +597,28 @@ public class Reader {
             Map<String, String> regexMap = new LinkedHashMap<>();
             operationPath = PathUtils.parsePath(operationPath, regexMap);
             if (operationPath != null) {
-                if (config != null && ReaderUtils.isIgnored(operationPath, config)) {
+                // a template is bound to the real parent path later
+                if (template == null && config != null && ReaderUtils.isIgnored(operationPath, config)) {
                     continue;
                 }
 
                 final Class<?> subResource = getSubResourceWithJaxRsSubresourceLocatorSpecs(method);
 
-                String httpMethod = ReaderUtils.extractOperationMethod(method, OpenAPIExtensions.chain());
-                httpMethod = (httpMethod == null && isSubresource) ? parentMethod : httpMethod;
+                final String ownHttpMethod = ReaderUtils.extractOperationMethod(method, OpenAPIExtensions.chain());
+                String httpMethod = (ownHttpMethod == null && isSubresource) ? parentMethod : ownHttpMethod;
 
-                if (StringUtils.isBlank(httpMethod) && subResource == null) {
-                    continue;
-                } else if (StringUtils.isBlank(httpMethod) && subResource != null) {
+                boolean ignoredLocator = false;
+                if (StringUtils.isBlank(httpMethod) && subResource != null) {
                     Type returnType = method.getGenericReturnType();
                     if (annotatedMethod != null && annotatedMethod.getType() != null) {
                         returnType = annotatedMethod.getType();
                     }
 
-                    if (shouldIgnoreClass(returnType.getTypeName()) && !method.getGenericReturnType().equals(subResource)) {
-                        continue;
-                    }
+                    ignoredLocator = shouldIgnoreClass(returnType.getTypeName()) && !method.getGenericReturnType().equals(subResource);
+                }
+                // templates are only bound to parents without http method, so this holds for a template too
+                if (StringUtils.isBlank(httpMethod) && (subResource == null || ignoredLocator)) {
+                    continue;
                 }
 
                 io.swagger.v3.oas.annotations.Operation apiOperation = ReflectionUtils.getAnnotation(method, io.swagger.v3.oas.annotations.Operation.class);
@@ -316,6 +664,8 @@ public class Reader {
                         classResponses,
                         annotatedMethod);
                 if (operation != null) {
+                    RequestBody methodRequestBody = operation.getRequestBody();
+                    lastAnnotatedRequestBody = null;
 
                     if (classDeprecated || methodDeprecated) {
                         operation.setDeprecated(true);
@@ -428,13 +778,18 @@ public class Reader {
                         }
                     }
 
+                    if (template != null) {
+                        OperationIdRequest operationIdRequest = operationIdRequests.get(operation);
+                        template.methods.add(new SubResourceMethod(method, methodPath, ownHttpMethod, subResource,
+                                operation, methodRequestBody, lastAnnotatedRequestBody,
+                                operationIdRequest == null ? null : operationIdRequest.requested));
+                        continue;
+                    }
+
                     if (subResource != null && !scannedResources.contains(subResource)) {
                         scannedResources.add(subResource);
-                        read(subResource, operationPath, httpMethod, true, operation.getRequestBody(), operation.getResponses(), classTags, operation.getParameters(), scannedResources);
+                        readSubResource(subResource, operationPath, httpMethod, operation.getRequestBody(), operation.getResponses(), classTags, operation.getParameters(), scannedResources);
                         // remove the sub resource so that it can visit it later in another path
-                        // but we have a room for optimization in the future to reuse the scanned result
-                        // by caching the scanned resources in the reader instance to avoid actual scanning
-                        // the the resources again
                         scannedResources.remove(subResource);
                         // don't proceed with root resource operation, as it's handled by subresource
                         continue;
@@ -446,24 +801,10 @@ public class Reader {
                         extension.decorateOperation(operation, method, chain);
                     }
 
-                    PathItem pathItemObject;
-                    if (openAPI.getPaths() != null && openAPI.getPaths().get(operationPath) != null) {
-                        pathItemObject = openAPI.getPaths().get(operationPath);
-                    } else {
-                        pathItemObject = new PathItem();
-                    }
-
                     if (StringUtils.isBlank(httpMethod)) {
                         continue;
                     }
-                    setPathItemOperation(pathItemObject, httpMethod, operation);
-
-                    paths.addPathItem(operationPath, pathItemObject);
-                    if (openAPI.getPaths() != null) {
-                        this.paths.putAll(openAPI.getPaths());
-                    }
-
-                    openAPI.setPaths(this.paths);
+                    addPathItemOperation(operationPath, httpMethod, operation);
 
                 }
             }
@@ -476,26 +817,123 @@ public class Reader {
 
         // add tags from class to definition tags
         AnnotationsUtils
-                .getTags(apiTags, true).ifPresent(tags -> openApiTags.addAll(tags));
-
-        if (!openApiTags.isEmpty()) {
-            Set<Tag> tagsSet = new LinkedHashSet<>();
-            if (openAPI.getTags() != null) {
-                for (Tag tag : openAPI.getTags()) {
-                    if (tagsSet.stream().noneMatch(t -> t.getName().equals(tag.getName()))) {
-                        tagsSet.add(tag);
-                    }
-                }
+                .getTags(apiTags, true).ifPresent(assembly::addTags);
+
+        if (!batchRead) {
+            assembly.materialize();
+        }
+
+        return openAPI;
+    }
+
+    /**
+     * Reads a sub-resource returned by a locator. The class is scanned once per reader with no parent into a
+     * {@link SubResourceTemplate}, which is then bound to each parent: path, http method, tags, parameters and
+     * request body of the parent are applied to copies of the scanned operations exactly as a scan under that
+     * parent would have applied them. A locator that declares an http method itself passes it on to every method
+     * of the sub-resource, such a sub-resource is read under its parent directly.
+     */
+    protected void readSubResource(Class<?> subResource,
+                                   String parentPath,
+                                   String parentMethod,
+                                   RequestBody parentRequestBody,
+                                   ApiResponses parentResponses,
+                                   Set<String> parentTags,
+                                   List<Parameter> parentParameters,
+                                   Set<Class<?>> scannedResources) {
+        if (StringUtils.isNotBlank(parentMethod)) {
+            SubResourceTemplate outer = capturing;
+            capturing = null;
+            try {
+                read(subResource, parentPath, parentMethod, true, parentRequestBody, parentResponses, parentTags, parentParameters, scannedResources);
+            } finally {
+                capturing = outer;
             }
-            for (Tag tag : openApiTags) {
-                if (tagsSet.stream().noneMatch(t -> t.getName().equals(tag.getName()))) {
-                    tagsSet.add(tag);
-                }
+            return;
+        }
+        SubResourceTemplate template = subResourceTemplates.get(subResource);
+        if (template == null) {
+            template = new SubResourceTemplate();
+            SubResourceTemplate outer = capturing;
+            Map<Operation, OperationIdRequest> outerOperationIdRequests = operationIdRequests;
+            capturing = template;
+            operationIdRequests = new IdentityHashMap<>();
+            try {
+                read(subResource, "/", null, true, null, null, null, null, scannedResources);
+            } finally {
+                capturing = outer;
+                operationIdRequests = outerOperationIdRequests;
             }
-            openAPI.setTags(new ArrayList<>(tagsSet));
+            subResourceTemplates.put(subResource, template);
+        }
+        if (template.hidden) {
+            return;
         }
 
-        return openAPI;
+        Set<String> classTags = new LinkedHashSet<>(template.classTags);
+        if (parentTags != null) {
+            classTags.addAll(parentTags);
+        }
+
+        for (SubResourceMethod subResourceMethod : template.methods) {
+            String operationPath = ReaderUtils.getPath(template.apiPath, subResourceMethod.methodPath, parentPath, true);
+            operationPath = PathUtils.parsePath(operationPath, new LinkedHashMap<>());
+            if (operationPath == null || (config != null && ReaderUtils.isIgnored(operationPath, config))) {
+                continue;
+            }
+            String httpMethod = subResourceMethod.httpMethod;
+
+            Operation operation = subResourceMethod.bind(parentRequestBody, parentTags, parentParameters);
+
+            Class<?> nested = subResourceMethod.subResource;
+            if (nested != null && !scannedResources.contains(nested)) {
+                scannedResources.add(nested);
+                readSubResource(nested, operationPath, httpMethod, operation.getRequestBody(), operation.getResponses(), classTags, operation.getParameters(), scannedResources);
+                scannedResources.remove(nested);
+                continue;
+            }
+
+            if (subResourceMethod.requestedOperationId != null) {
+                assignOperationId(operation, subResourceMethod.requestedOperationId);
+            }
+
+            final Iterator<OpenAPIExtension> chain = OpenAPIExtensions.chain();
+            if (chain.hasNext()) {
+                final OpenAPIExtension extension = chain.next();
+                extension.decorateOperation(operation, subResourceMethod.method, chain);
+            }
+
+            if (StringUtils.isBlank(httpMethod)) {
+                continue;
+            }
+            addPathItemOperation(operationPath, httpMethod, operation);
+        }
+
+        if (!isEmptyComponents(components) && openAPI.getComponents() == null) {
+            openAPI.setComponents(components);
+        }
+        if (!batchRead) {
+            assembly.materialize();
+        }
+    }
+
+    private void addPathItemOperation(String operationPath, String httpMethod, Operation operation) {
+        // the registry stays valid as long as the paths object of the definition is the one of the assembly
+        boolean trackOperationIds = operationIds != null && operationIdsPaths == openAPI.getPaths() && operationIdsPaths == assembly.getPaths();
+        PathItem pathItemObject = assembly.pathItem(operationPath);
+        if (trackOperationIds) {
+            operationIds.remove(OperationIdRegistry.getOperation(pathItemObject, httpMethod));
+        }
+
+        setPathItemOperation(pathItemObject, httpMethod, operation);
+
+        if (trackOperationIds) {
+            operationIds.add(OperationIdRegistry.getOperation(pathItemObject, httpMethod));
+        }
+
+        if (fragmentOperations != null) {
+            fragmentOperations.add(new FragmentOperation(operationPath, httpMethod, operation));
+        }
     }
 
     protected Content processContent(Content content, Schema schema, Consumes methodConsumes, Consumes classConsumes) {
@@ -553,6 +991,7 @@ public class Reader {
                     }
                 }
                 operation.setRequestBody(requestBody);
+                lastAnnotatedRequestBody = requestBody;
             }
         } else {
             if (operation.getRequestBody() == null) {
@@ -778,7 +1217,7 @@ public class Reader {
                     .filter(t -> operation.getTags() == null || (operation.getTags() != null && !operation.getTags().contains(t.name())))
                     .map(io.swagger.v3.oas.annotations.tags.Tag::name)
                     .forEach(operation::addTagsItem);
-            AnnotationsUtils.getTags(apiTags.toArray(new io.swagger.v3.oas.annotations.tags.Tag[apiTags.size()]), true).ifPresent(tags -> openApiTags.addAll(tags));
+            AnnotationsUtils.getTags(apiTags.toArray(new io.swagger.v3.oas.annotations.tags.Tag[apiTags.size()]), true).ifPresent(assembly::addTags);
         }
 
         // parameters
@@ -804,7 +1243,7 @@ public class Reader {
 
         // operation id
         if (StringUtils.isBlank(operation.getOperationId())) {
-            operation.setOperationId(getOperationId(method.getName()));
+            assignOperationId(operation, method.getName());
         }
 
         // classResponses
@@ -1034,7 +1473,7 @@ public class Reader {
             operation.setDescription(apiOperation.description());
         }
         if (StringUtils.isNotBlank(apiOperation.operationId())) {
-            operation.setOperationId(getOperationId(apiOperation.operationId()));
+            assignOperationId(operation, apiOperation.operationId());
         }
         if (apiOperation.deprecated()) {
             operation.setDeprecated(apiOperation.deprecated());
@@ -1090,34 +1529,20 @@ public class Reader {
         }
     }
 
-    protected String getOperationId(String operationId) {
-        boolean operationIdUsed = existOperationId(operationId);
-        String operationIdToFind = null;
-        int counter = 0;
-        while (operationIdUsed) {
-            operationIdToFind = String.format("%s_%d", operationId, ++counter);
-            operationIdUsed = existOperationId(operationIdToFind);
+    private void assignOperationId(Operation operation, String operationId) {
+        String assigned = getOperationId(operationId);
+        operation.setOperationId(assigned);
+        if (operationIdRequests != null) {
+            operationIdRequests.put(operation, new OperationIdRequest(operationId, assigned));
         }
-        if (operationIdToFind != null) {
-            operationId = operationIdToFind;
-        }
-        return operationId;
     }
 
-    private boolean existOperationId(String operationId) {
-        if (openAPI == null) {
-            return false;
-        }
-        if (openAPI.getPaths() == null || openAPI.getPaths().isEmpty()) {
-            return false;
-        }
-        for (PathItem path : openAPI.getPaths().values()) {
-            Set<String> pathOperationIds = extractOperationIdFromPathItem(path);
-            if (pathOperationIds.contains(operationId)) {
-                return true;
-            }
+    protected String getOperationId(String operationId) {
+        if (operationIds == null || operationIdsPaths != openAPI.getPaths()) {
+            operationIds = OperationIdRegistry.of(openAPI.getPaths());
+            operationIdsPaths = openAPI.getPaths();
         }
-        return false;
+        return operationIds.next(operationId);
     }
 
     protected Optional<List<Parameter>> getParametersListFromAnnotation(io.swagger.v3.oas.annotations.Parameter[] parameters, Consumes classConsumes, Consumes methodConsumes, Operation operation, JsonView jsonViewAnnotation) {
@@ -1150,32 +1575,6 @@ public class Reader {
         return extension.extractParameters(annotations, type, typesToSkip, components, classConsumes, methodConsumes, true, jsonViewAnnotation, chain);
     }
 
-    private Set<String> extractOperationIdFromPathItem(PathItem path) {
-        Set<String> ids = new HashSet<>();
-        if (path.getGet() != null && StringUtils.isNotBlank(path.getGet().getOperationId())) {
-            ids.add(path.getGet().getOperationId());
-        }
-        if (path.getPost() != null && StringUtils.isNotBlank(path.getPost().getOperationId())) {
-            ids.add(path.getPost().getOperationId());
-        }
-        if (path.getPut() != null && StringUtils.isNotBlank(path.getPut().getOperationId())) {
-            ids.add(path.getPut().getOperationId());
-        }
-        if (path.getDelete() != null && StringUtils.isNotBlank(path.getDelete().getOperationId())) {
-            ids.add(path.getDelete().getOperationId());
-        }
-        if (path.getOptions() != null && StringUtils.isNotBlank(path.getOptions().getOperationId())) {
-            ids.add(path.getOptions().getOperationId());
-        }
-        if (path.getHead() != null && StringUtils.isNotBlank(path.getHead().getOperationId())) {
-            ids.add(path.getHead().getOperationId());
-        }
-        if (path.getPatch() != null && StringUtils.isNotBlank(path.getPatch().getOperationId())) {
-            ids.add(path.getPatch().getOperationId());
-        }
-        return ids;
-    }
-
     private boolean isEmptyComponents(Components components) {
         if (components == null) {
             return true;
@@ -1300,4 +1699,128 @@ public class Reader {
             return null;
         }
     }
+
+    private static final class FragmentOperation {
+        private final String path;
+        private final String httpMethod;
+        private final Operation operation;
+
+        private FragmentOperation(String path, String httpMethod, Operation operation) {
+            this.path = path;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+        }
+    }
+
+    private static final class OperationIdRequest {
+        private final String requested;
+        private final String assigned;
+        // the id given by the last merge, a fragment can be merged more than once in incremental mode
+        private String merged;
+
+        private OperationIdRequest(String requested, String assigned) {
+            this.requested = requested;
+            this.assigned = assigned;
+        }
+    }
+
+    private static final class ClassFragment {
+        private final String hash;
+        private final Reader reader;
+
+        private ClassFragment(String hash, Reader reader) {
+            this.hash = hash;
+            this.reader = reader;
+        }
+    }
+
+    private static final class SubResourceTemplate {
+        private boolean hidden = true;
+        private Path apiPath;
+        private Set<String> classTags = Collections.emptySet();
+        private final List<SubResourceMethod> methods = new ArrayList<>();
+    }
+
+    /**
+     * An operation of a sub-resource scanned without parent, plus what is needed to apply a parent to it.
+     */
+    private static final class SubResourceMethod {
+        private final Method method;
+        private final Path methodPath;
+        private final String httpMethod;
+        private final Class<?> subResource;
+        private final Operation operation;
+        // request body set by the method annotations, the one a parent request body is merged into
+        private final RequestBody methodRequestBody;
+        // request body from a @RequestBody parameter, it replaces any other
+        private final RequestBody parameterRequestBody;
+        private final String requestedOperationId;
+
+        private SubResourceMethod(Method method, Path methodPath, String httpMethod, Class<?> subResource,
+                                  Operation operation, RequestBody methodRequestBody, RequestBody parameterRequestBody,
+                                  String requestedOperationId) {
+            this.method = method;
+            this.methodPath = methodPath;
+            this.httpMethod = httpMethod;
+            this.subResource = subResource;
+            this.operation = operation;
+            this.methodRequestBody = methodRequestBody;
+            this.parameterRequestBody = parameterRequestBody;
+            this.requestedOperationId = requestedOperationId;
+        }
+
+        private Operation bind(RequestBody parentRequestBody, Set<String> parentTags, List<Parameter> parentParameters) {
+            // parents must not share the responses, parameters or extensions of the scanned operation
+            Operation bound = copy(operation);
+
+            if (parentTags != null) {
+                parentTags.stream()
+                        .filter(t -> bound.getTags() == null || !bound.getTags().contains(t))
+                        .forEach(bound::addTagsItem);
+            }
+
+            RequestBody requestBody = operation.getRequestBody();
+            if (parentRequestBody != null && (requestBody == null || requestBody != parameterRequestBody)) {
+                if (methodRequestBody == null) {
+                    // the parent request body takes precedence over one built from a plain parameter
+                    requestBody = parentRequestBody;
+                } else {
+                    requestBody = mergeRequestBody(methodRequestBody, parentRequestBody);
+                }
+            }
+            if (requestBody != operation.getRequestBody()) {
+                bound.setRequestBody(requestBody);
+            }
+
+            if (parentParameters != null) {
+                for (Parameter parentParameter : parentParameters) {
+                    bound.addParametersItem(parentParameter);
+                }
+            }
+            return bound;
+        }
+
+        private static RequestBody mergeRequestBody(RequestBody requestBody, RequestBody parentRequestBody) {
+            RequestBody merged = new RequestBody()
+                    .description(requestBody.getDescription())
+                    .required(requestBody.getRequired())
+                    .$ref(requestBody.get$ref());
+            merged.setExtensions(requestBody.getExtensions());
+            Content content = requestBody.getContent();
+            if (content == null) {
+                content = parentRequestBody.getContent();
+            } else if (parentRequestBody.getContent() != null) {
+                Content mergedContent = new Content();
+                mergedContent.putAll(content);
+                for (String parentMediaType : parentRequestBody.getContent().keySet()) {
+                    if (mergedContent.get(parentMediaType) == null) {
+                        mergedContent.addMediaType(parentMediaType, parentRequestBody.getContent().get(parentMediaType));
+                    }
+                }
+                content = mergedContent;
+            }
+            merged.setContent(content);
+            return merged;
+        }
+    }
 }
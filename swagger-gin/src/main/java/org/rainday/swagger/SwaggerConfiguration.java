@@ -24,6 +24,7 @@ public class SwaggerConfiguration implements OpenAPIConfiguration {
 
     private Collection<String> ignoredRoutes;
     private Long cacheTTL = -1L;
+    private Integer readerParallelism;
 
     private Set<String> modelConverterClasses;
     private String objectMapperProcessorClass;
@@ -41,6 +42,19 @@ public class SwaggerConfiguration implements OpenAPIConfiguration {
         return this;
     }
 
+    public Integer getReaderParallelism() {
+        return readerParallelism;
+    }
+
+    public void setReaderParallelism(Integer readerParallelism) {
+        this.readerParallelism = readerParallelism;
+    }
+
+    public SwaggerConfiguration readerParallelism(Integer readerParallelism) {
+        this.readerParallelism = readerParallelism;
+        return this;
+    }
+
     public Boolean isReadAllResources() {
         return readAllResources;
     }
@@ -0,0 +1,112 @@
+package org.rainday.swagger.cache;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.rainday.logging.Logger;
+import org.rainday.logging.LoggerFactory;
+
+/**
+ * Stores a generated {@link OpenAPI} on disk together with the fingerprint it was generated for.
+ *
+ * The file is a small header (magic, version, creation time, fingerprint) followed by the JSON definition;
+ * it is memory-mapped on load and the definition is only deserialized when the fingerprint matches and the
+ * entry has not expired.
+ *
+ * TTL follows {@code cacheTTL}: 0 disables the cache, a negative value never expires, otherwise milliseconds.
+ */
+public class OpenAPIDiskCache {
+    private static final Logger logger = LoggerFactory.getLogger(OpenAPIDiskCache.class);
+
+    private static final int MAGIC = 0x4F415043; // OAPC
+    private static final int VERSION = 1;
+
+    private final Path file;
+
+    public OpenAPIDiskCache(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the cached definition, or null if there is none, it was generated for another fingerprint, it expired
+     * or it can't be read
+     */
+    public OpenAPI load(String fingerprint, long cacheTTL) {
+        if (cacheTTL == 0 || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 18 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.debug("ignoring unknown cache file {}", file);
+                return null;
+            }
+            long createdAt = buffer.getLong();
+            if (cacheTTL > 0 && System.currentTimeMillis() - createdAt > cacheTTL) {
+                logger.debug("cache file {} expired", file);
+                return null;
+            }
+            byte[] cachedFingerprint = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(cachedFingerprint);
+            if (!fingerprint.equals(new String(cachedFingerprint, StandardCharsets.UTF_8))) {
+                logger.debug("cache file {} was generated for another fingerprint", file);
+                return null;
+            }
+            ByteBuffer body = buffer.slice();
+            try (InputStream in = new ByteBufferBackedInputStream(body)) {
+                return Json.mapper().readValue(in, OpenAPI.class);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to read cache file {}", file, e);
+            return null;
+        }
+    }
+
+    public void store(String fingerprint, OpenAPI openAPI, long cacheTTL) {
+        if (cacheTTL == 0 || openAPI == null) {
+            return;
+        }
+        Path tmp = null;
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 DataOutputStream data = new DataOutputStream(out)) {
+                byte[] fingerprintBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                data.writeLong(System.currentTimeMillis());
+                data.writeShort(fingerprintBytes.length);
+                data.write(fingerprintBytes);
+                data.write(Json.mapper().writeValueAsBytes(openAPI));
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to write cache file {}", file, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.rainday.swagger.cache;
+
+import io.swagger.v3.core.util.Json;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.rainday.swagger.OpenAPIConfiguration;
+
+/**
+ * Fingerprint of everything a generated definition depends on: the bytecode of the resource classes, the
+ * classpath and the {@link OpenAPIConfiguration} state (including the base {@code OpenAPI}).
+ *
+ * The model classes are only known once the resources have been read, so they are covered by the size and
+ * modification time of every file of the class path entries: the ones of {@code java.class.path}, the ones of the
+ * class loaders of the resource classes and the locations the resource classes were loaded from. Rebuilding an
+ * unchanged class changes the fingerprint as well.
+ */
+public final class OpenAPIFingerprint {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private OpenAPIFingerprint() {
+    }
+
+    public static String of(OpenAPIConfiguration config, Collection<Class<?>> classes) {
+        MessageDigest digest = newDigest();
+        update(digest, "classpath", System.getProperty("java.class.path", ""));
+        for (Path entry : classPathEntries(classes)) {
+            updateClassPathEntry(digest, entry);
+        }
+        if (config != null) {
+            update(digest, "resourcePackages", sorted(config.getResourcePackages()));
+            update(digest, "resourceClasses", sorted(config.getResourceClasses()));
+            update(digest, "readerClass", config.getReaderClass());
+            update(digest, "scannerClass", config.getScannerClass());
+            update(digest, "filterClass", config.getFilterClass());
+            update(digest, "ignoredRoutes", sorted(config.getIgnoredRoutes()));
+            update(digest, "readAllResources", config.isReadAllResources());
+            update(digest, "prettyPrint", config.isPrettyPrint());
+            update(digest, "modelConverterClasses", sorted(config.getModelConverterClasses()));
+            update(digest, "objectMapperProcessorClass", config.getObjectMapperProcessorClass());
+            update(digest, "userDefinedOptions", config.getUserDefinedOptions() == null ? null : new TreeMap<>(config.getUserDefinedOptions()));
+            try {
+                update(digest, "openAPI", config.getOpenAPI() == null ? null : Json.mapper().writeValueAsString(config.getOpenAPI()));
+            } catch (IOException e) {
+                throw new IllegalStateException("failed to serialize configured OpenAPI", e);
+            }
+        }
+        List<Class<?>> sortedClasses = classes.stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .collect(Collectors.toList());
+        for (Class<?> cls : sortedClasses) {
+            update(digest, "class", cls.getName());
+            digest.update(classBytesDigest(cls));
+        }
+        return hex(digest.digest());
+    }
+
+    private static Set<Path> classPathEntries(Collection<Class<?>> classes) {
+        Set<Path> entries = new TreeSet<>();
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(Paths.get(entry).toAbsolutePath().normalize());
+            }
+        }
+        Set<ClassLoader> loaders = new HashSet<>();
+        for (Class<?> cls : classes) {
+            for (ClassLoader loader = cls.getClassLoader(); loader != null && loaders.add(loader); loader = loader.getParent()) {
+                if (loader instanceof URLClassLoader) {
+                    for (URL url : ((URLClassLoader) loader).getURLs()) {
+                        addFile(entries, url);
+                    }
+                }
+            }
+            CodeSource codeSource = cls.getProtectionDomain().getCodeSource();
+            if (codeSource != null) {
+                addFile(entries, codeSource.getLocation());
+            }
+        }
+        return entries;
+    }
+
+    private static void addFile(Set<Path> entries, URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return;
+        }
+        try {
+            entries.add(Paths.get(url.toURI()).toAbsolutePath().normalize());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            // not a local file
+        }
+    }
+
+    private static void updateClassPathEntry(MessageDigest digest, Path entry) {
+        try {
+            if (Files.isRegularFile(entry)) {
+                updateFile(digest, entry.toString(), entry);
+            } else if (Files.isDirectory(entry)) {
+                List<Path> files;
+                try (Stream<Path> stream = Files.walk(entry)) {
+                    files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+                update(digest, "directory", entry);
+                for (Path file : files) {
+                    updateFile(digest, entry.relativize(file).toString(), file);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("failed to read class path entry " + entry, e);
+        }
+    }
+
+    private static void updateFile(MessageDigest digest, String name, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        update(digest, name, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * @return SHA-256 of the class file of the given class, or of its name when the class file can't be located
+     */
+    public static byte[] classBytesDigest(Class<?> cls) {
+        MessageDigest digest = newDigest();
+        ClassLoader loader = cls.getClassLoader() == null ? ClassLoader.getSystemClassLoader() : cls.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(cls.getName().replace('.', '/') + ".class")) {
+            if (in == null) {
+                digest.update(cls.getName().getBytes(StandardCharsets.UTF_8));
+            } else {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to read class file of " + cls.getName(), e);
+        }
+        return digest.digest();
+    }
+
+    public static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static Object sorted(Collection<String> values) {
+        return values == null ? null : new TreeSet<>(values);
+    }
+
+    private static void update(MessageDigest digest, String key, Object value) {
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '=');
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
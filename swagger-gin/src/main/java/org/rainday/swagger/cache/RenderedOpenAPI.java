@@ -0,0 +1,162 @@
+package org.rainday.swagger.cache;
+
+import io.swagger.v3.core.util.OpenAPIWriter;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The serialized forms of one {@link OpenAPI}, rendered on first use and kept as immutable bytes together with a gzip
+ * copy and an ETag, so that serving the definition again does not serialize it again.
+ *
+ * The definition must not be modified once rendered; {@link org.rainday.swagger.OpenAPIContext#render()} renders again
+ * whenever it reads a new definition.
+ */
+public final class RenderedOpenAPI {
+
+    public enum Format {
+        JSON("application/json"),
+        YAML("application/yaml");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    private final OpenAPI openAPI;
+    private final AtomicReferenceArray<Rendering> renderings = new AtomicReferenceArray<>(4);
+
+    public RenderedOpenAPI(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    public OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    public Rendering get(Format format, boolean pretty) {
+        // the YAML generator has no minified form, both share the pretty rendering
+        int index = format == Format.YAML ? 2 : pretty ? 1 : 0;
+        Rendering rendering = renderings.get(index);
+        if (rendering == null) {
+            synchronized (this) {
+                rendering = renderings.get(index);
+                if (rendering == null) {
+                    rendering = render(format, pretty || format == Format.YAML);
+                    renderings.set(index, rendering);
+                }
+            }
+        }
+        return rendering;
+    }
+
+    private Rendering render(Format format, boolean pretty) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            (format == Format.YAML ? OpenAPIWriter.yaml() : OpenAPIWriter.json()).write(openAPI, out, pretty);
+            byte[] bytes = out.toByteArray();
+
+            out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            }
+            return new Rendering(format, bytes, out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to render OpenAPI definition as " + format, e);
+        }
+    }
+
+    /**
+     * One serialized form. Buffers are read-only views on the shared bytes, each call returns a new view.
+     */
+    public static final class Rendering {
+        private final Format format;
+        private final byte[] bytes;
+        private final byte[] gzipped;
+        private final String eTag;
+
+        private Rendering(Format format, byte[] bytes, byte[] gzipped) {
+            this.format = format;
+            this.bytes = bytes;
+            this.gzipped = gzipped;
+            this.eTag = OpenAPIFingerprint.hex(sha256(bytes));
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+
+        public String getContentType() {
+            return format.getContentType();
+        }
+
+        public ByteBuffer getBytes() {
+            return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+
+        public ByteBuffer getGzipped() {
+            return ByteBuffer.wrap(gzipped).asReadOnlyBuffer();
+        }
+
+        public int getLength() {
+            return bytes.length;
+        }
+
+        public int getGzippedLength() {
+            return gzipped.length;
+        }
+
+        /**
+         * @return quoted strong ETag of the uncompressed bytes
+         */
+        public String getETag() {
+            return '"' + eTag + '"';
+        }
+
+        /**
+         * @return quoted strong ETag of the gzip copy, which is another representation than the uncompressed bytes
+         */
+        public String getGzippedETag() {
+            return '"' + eTag + "-gzip\"";
+        }
+
+        /**
+         * @return whether an {@code If-None-Match} header value matches one of the ETags of this rendering
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(getETag()) || tag.equals(getGzippedETag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] sha256(byte[] bytes) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
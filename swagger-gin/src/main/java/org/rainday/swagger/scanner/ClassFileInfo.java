@@ -0,0 +1,226 @@
+package org.rainday.swagger.scanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The bits of a class file the scanner needs, read straight from the bytecode so that the class
+ * itself is never loaded (and its static initializers never run).
+ *
+ * Only the constant pool, the class header and the class-level {@code RuntimeVisibleAnnotations}
+ * attribute are decoded; fields and methods are skipped over.
+ */
+final class ClassFileInfo {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private final String className;
+    private final String superClassName;
+    private final Set<String> interfaceNames;
+    private final Set<String> annotations;
+    private final int accessFlags;
+
+    private ClassFileInfo(String className, String superClassName, Set<String> interfaceNames, Set<String> annotations, int accessFlags) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.annotations = annotations;
+        this.accessFlags = accessFlags;
+    }
+
+    /**
+     * @return binary class name, e.g. {@code org.rainday.Outer$Inner}
+     */
+    String getClassName() {
+        return className;
+    }
+
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    Set<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * @return binary names of the class-level runtime visible annotations
+     */
+    Set<String> getAnnotations() {
+        return annotations;
+    }
+
+    boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    boolean isSynthetic() {
+        return (accessFlags & ACC_SYNTHETIC) != 0;
+    }
+
+    /**
+     * Parses a class file.
+     *
+     * @param bytes               the class file content
+     * @param annotationDescriptors descriptors ({@code Lorg/foo/Bar;}) worth decoding annotations for; when none of
+     *                            them is present in the constant pool the annotation attribute is not decoded at all
+     * @return the parsed info, or null if the bytes are not a class file
+     */
+    static ClassFileInfo parse(byte[] bytes, Set<String> annotationDescriptors) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < 10 || in.readInt() != MAGIC) {
+            return null;
+        }
+        in.readUnsignedShort(); // minor
+        in.readUnsignedShort(); // major
+
+        int poolCount = in.readUnsignedShort();
+        String[] utf8 = new String[poolCount];
+        int[] classIndex = new int[poolCount];
+        boolean candidate = false;
+        for (int i = 1; i < poolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    if (!candidate && annotationDescriptors.contains(utf8[i])) {
+                        candidate = true;
+                    }
+                    break;
+                case 7: // Class
+                    classIndex[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = binaryName(utf8[classIndex[in.readUnsignedShort()]]);
+        int superIndex = in.readUnsignedShort();
+        String superClassName = superIndex == 0 ? null : binaryName(utf8[classIndex[superIndex]]);
+
+        int interfacesCount = in.readUnsignedShort();
+        Set<String> interfaceNames = interfacesCount == 0 ? Collections.emptySet() : new LinkedHashSet<>();
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames.add(binaryName(utf8[classIndex[in.readUnsignedShort()]]));
+        }
+
+        Set<String> annotations = Collections.emptySet();
+        if (candidate) {
+            skipMembers(in); // fields
+            skipMembers(in); // methods
+            int attributesCount = in.readUnsignedShort();
+            for (int i = 0; i < attributesCount; i++) {
+                String attributeName = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    annotations = new LinkedHashSet<>();
+                    int count = in.readUnsignedShort();
+                    for (int j = 0; j < count; j++) {
+                        annotations.add(readAnnotation(in, utf8));
+                    }
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+        }
+        return new ClassFileInfo(className, superClassName, interfaceNames, annotations, accessFlags);
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(6); // access_flags, name_index, descriptor_index
+            int attributesCount = in.readUnsignedShort();
+            for (int j = 0; j < attributesCount; j++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static String readAnnotation(DataInputStream in, String[] utf8) throws IOException {
+        String descriptor = utf8[in.readUnsignedShort()];
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.skipBytes(2); // element_name_index
+            skipElementValue(in, utf8);
+        }
+        return descriptorToName(descriptor);
+    }
+
+    private static void skipElementValue(DataInputStream in, String[] utf8) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                in.skipBytes(4);
+                break;
+            case '@':
+                readAnnotation(in, utf8);
+                break;
+            case '[':
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(in, utf8);
+                }
+                break;
+            default: // B C D F I J S Z s c
+                in.skipBytes(2);
+                break;
+        }
+    }
+
+    private static String binaryName(String internalName) {
+        return internalName == null ? null : internalName.replace('/', '.');
+    }
+
+    static String descriptorToName(String descriptor) {
+        if (descriptor.length() > 2 && descriptor.charAt(0) == 'L' && descriptor.charAt(descriptor.length() - 1) == ';') {
+            return binaryName(descriptor.substring(1, descriptor.length() - 1));
+        }
+        return descriptor;
+    }
+
+    static String nameToDescriptor(String className) {
+        return "L" + className.replace('.', '/') + ";";
+    }
+}
@@ -0,0 +1,328 @@
+package org.rainday.swagger.scanner;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.rainday.logging.Logger;
+import org.rainday.logging.LoggerFactory;
+import org.rainday.swagger.OpenAPIConfiguration;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * Default {@link OpenAPIScanner}: walks the directories and jars behind
+ * {@link OpenAPIConfiguration#getResourcePackages()}, decodes every class file with {@link ClassFileInfo}
+ * and only loads the classes carrying one of the resource annotations (directly or through a super class
+ * or interface). Classes are loaded without initialization.
+ *
+ * Classpath roots are walked in parallel; jars are opened through the NIO zip {@link FileSystem}.
+ * When neither packages nor classes are configured the whole {@code java.class.path} is scanned.
+ */
+public class ClassPathScanner implements OpenAPIScanner {
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathScanner.class);
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JAR_SEPARATOR = "!/";
+
+    public static final Set<String> DEFAULT_RESOURCE_ANNOTATIONS = Collections.unmodifiableSet(new LinkedHashSet<>(
+            java.util.Arrays.asList(Path.class.getName(), OpenAPIDefinition.class.getName())));
+
+    protected OpenAPIConfiguration config;
+    private Set<String> resourceAnnotations = DEFAULT_RESOURCE_ANNOTATIONS;
+    private ClassLoader classLoader;
+
+    @Override
+    public void setConfiguration(OpenAPIConfiguration openApiConfiguration) {
+        this.config = openApiConfiguration;
+    }
+
+    public ClassPathScanner classLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        return this;
+    }
+
+    /**
+     * @param resourceAnnotations class names of the annotations marking a resource class
+     */
+    public ClassPathScanner resourceAnnotations(Set<String> resourceAnnotations) {
+        this.resourceAnnotations = resourceAnnotations;
+        return this;
+    }
+
+    @Override
+    public Set<Class<?>> classes() {
+        Set<String> resourcePackages = config == null ? null : config.getResourcePackages();
+        Set<String> resourceClasses = config == null ? null : config.getResourceClasses();
+
+        Set<Class<?>> output = new LinkedHashSet<>();
+        if (resourceClasses != null) {
+            resourceClasses.stream()
+                    .filter(StringUtils::isNotBlank)
+                    .map(this::loadClass)
+                    .filter(cls -> cls != null)
+                    .forEach(output::add);
+        }
+
+        boolean allowAllPackages = resourcePackages == null || resourcePackages.isEmpty();
+        if (allowAllPackages && !output.isEmpty()) {
+            return output;
+        }
+
+        for (String className : classNames()) {
+            Class<?> cls = loadClass(className);
+            if (cls != null) {
+                output.add(cls);
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public Map<String, Object> resources() {
+        return new HashMap<>();
+    }
+
+    /**
+     * Scans the configured packages without loading any class.
+     *
+     * @return sorted binary names of the resource classes found
+     */
+    public Set<String> classNames() {
+        long start = System.currentTimeMillis();
+        Map<String, ClassFileInfo> index = scanClassFiles();
+        Set<String> descriptors = descriptors();
+        ClassLoader loader = getClassLoader();
+        Map<String, Boolean> decisions = new HashMap<>();
+
+        Set<String> names = new TreeSet<>();
+        // isResource adds the super types read from other packages to the index
+        List<ClassFileInfo> scanned = new ArrayList<>(index.values());
+        for (ClassFileInfo info : scanned) {
+            if (info.isAnnotation() || info.isSynthetic()) {
+                continue;
+            }
+            if (isResource(info.getClassName(), index, descriptors, loader, decisions, new HashSet<>())) {
+                names.add(info.getClassName());
+            }
+        }
+        logger.debug("scanned {} class files, found {} resources in {} ms", scanned.size(), names.size(), System.currentTimeMillis() - start);
+        return names;
+    }
+
+    protected Map<String, ClassFileInfo> scanClassFiles() {
+        Map<String, ClassFileInfo> index = new ConcurrentHashMap<>();
+        Set<String> descriptors = descriptors();
+        collectRoots().entrySet()
+                .parallelStream()
+                .forEach(root -> scanRoot(root.getKey(), root.getValue(), descriptors, index));
+        return index;
+    }
+
+    /**
+     * @return classpath roots (directories or jar files) mapped to the package paths to walk inside them
+     */
+    protected Map<java.nio.file.Path, Set<String>> collectRoots() {
+        Map<java.nio.file.Path, Set<String>> roots = new LinkedHashMap<>();
+        Set<String> resourcePackages = config == null ? null : config.getResourcePackages();
+        if (resourcePackages == null || resourcePackages.isEmpty()) {
+            String classPath = System.getProperty("java.class.path", "");
+            for (String entry : classPath.split(File.pathSeparator)) {
+                if (StringUtils.isNotBlank(entry)) {
+                    roots.computeIfAbsent(Paths.get(entry), k -> new LinkedHashSet<>()).add("");
+                }
+            }
+            return roots;
+        }
+
+        ClassLoader loader = getClassLoader();
+        for (String resourcePackage : resourcePackages) {
+            if (StringUtils.isBlank(resourcePackage)) {
+                continue;
+            }
+            String packagePath = resourcePackage.trim().replace('.', '/');
+            try {
+                Enumeration<URL> urls = loader.getResources(packagePath);
+                while (urls.hasMoreElements()) {
+                    URL url = urls.nextElement();
+                    java.nio.file.Path root = toRoot(url, packagePath);
+                    if (root != null) {
+                        roots.computeIfAbsent(root, k -> new LinkedHashSet<>()).add(packagePath);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("failed to resolve resource package {}", resourcePackage, e);
+            }
+        }
+        return roots;
+    }
+
+    private java.nio.file.Path toRoot(URL url, String packagePath) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                java.nio.file.Path packageDir = Paths.get(url.toURI());
+                java.nio.file.Path root = packageDir;
+                for (int i = 0; i < packagePath.split("/").length; i++) {
+                    root = root.getParent();
+                }
+                return root;
+            } else if ("jar".equals(url.getProtocol())) {
+                String spec = url.getPath();
+                int separator = spec.indexOf(JAR_SEPARATOR);
+                if (separator < 0 || spec.indexOf(JAR_SEPARATOR, separator + JAR_SEPARATOR.length()) >= 0) {
+                    logger.debug("skipping nested jar url {}", url);
+                    return null;
+                }
+                return Paths.get(new URI(spec.substring(0, separator)));
+            }
+            logger.debug("skipping unsupported url {}", url);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            logger.warn("failed to resolve classpath root of {}", url, e);
+        }
+        return null;
+    }
+
+    private void scanRoot(java.nio.file.Path root, Set<String> packagePaths, Set<String> descriptors, Map<String, ClassFileInfo> index) {
+        if (Files.isDirectory(root)) {
+            for (String packagePath : packagePaths) {
+                scanTree(root, root.resolve(packagePath), descriptors, index);
+            }
+        } else if (Files.isRegularFile(root)) {
+            try (FileSystem fs = FileSystems.newFileSystem(root, (ClassLoader) null)) {
+                java.nio.file.Path fsRoot = fs.getPath("/");
+                for (String packagePath : packagePaths) {
+                    scanTree(fsRoot, fsRoot.resolve(packagePath), descriptors, index);
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                logger.warn("failed to open classpath entry {}", root, e);
+            }
+        }
+    }
+
+    private void scanTree(java.nio.file.Path root, java.nio.file.Path dir, Set<String> descriptors, Map<String, ClassFileInfo> index) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<java.nio.file.Path> classFiles;
+        try (Stream<java.nio.file.Path> stream = Files.walk(dir)) {
+            classFiles = stream
+                    .filter(p -> p.getFileName() != null && p.getFileName().toString().endsWith(CLASS_SUFFIX))
+                    .filter(p -> p.getFileName().toString().indexOf('-') < 0) // module-info, package-info
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("failed to walk {}", dir, e);
+            return;
+        }
+        for (java.nio.file.Path classFile : classFiles) {
+            try {
+                ClassFileInfo info = ClassFileInfo.parse(Files.readAllBytes(classFile), descriptors);
+                if (info != null) {
+                    index.putIfAbsent(info.getClassName(), info);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("failed to read class file {}", root.relativize(classFile), e);
+            }
+        }
+    }
+
+    private boolean isResource(String className, Map<String, ClassFileInfo> index, Set<String> descriptors,
+                               ClassLoader loader, Map<String, Boolean> decisions, Set<String> visiting) {
+        if (className == null || className.startsWith("java.") || !visiting.add(className)) {
+            return false;
+        }
+        Boolean decision = decisions.get(className);
+        if (decision != null) {
+            return decision;
+        }
+        ClassFileInfo info = index.get(className);
+        if (info == null) {
+            // super class or interface outside of the scanned packages
+            info = readFromClassLoader(className, descriptors, loader);
+            if (info != null) {
+                index.put(className, info);
+            }
+        }
+        boolean result = false;
+        if (info != null) {
+            result = !Collections.disjoint(info.getAnnotations(), resourceAnnotations);
+            if (!result) {
+                result = isResource(info.getSuperClassName(), index, descriptors, loader, decisions, visiting);
+            }
+            if (!result) {
+                for (String interfaceName : info.getInterfaceNames()) {
+                    if (isResource(interfaceName, index, descriptors, loader, decisions, visiting)) {
+                        result = true;
+                        break;
+                    }
+                }
+            }
+        }
+        decisions.put(className, result);
+        return result;
+    }
+
+    private ClassFileInfo readFromClassLoader(String className, Set<String> descriptors, ClassLoader loader) {
+        try (InputStream in = loader.getResourceAsStream(className.replace('.', '/') + CLASS_SUFFIX)) {
+            if (in == null) {
+                return null;
+            }
+            java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return ClassFileInfo.parse(out.toByteArray(), descriptors);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("failed to read class file of {}", className, e);
+            return null;
+        }
+    }
+
+    private Set<String> descriptors() {
+        Set<String> descriptors = new HashSet<>();
+        for (String annotation : resourceAnnotations) {
+            descriptors.add(ClassFileInfo.nameToDescriptor(annotation));
+        }
+        return descriptors;
+    }
+
+    protected Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.warn("failed to load resource class {}", className, e);
+            return null;
+        }
+    }
+
+    protected ClassLoader getClassLoader() {
+        if (classLoader != null) {
+            return classLoader;
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : ClassPathScanner.class.getClassLoader();
+    }
+}
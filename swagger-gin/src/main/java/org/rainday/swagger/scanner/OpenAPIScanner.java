@@ -0,0 +1,20 @@
+package org.rainday.swagger.scanner;
+
+import java.util.Map;
+import java.util.Set;
+import org.rainday.swagger.OpenAPIConfiguration;
+
+/**
+ * Finds the resource classes which should be handed to {@link org.rainday.swagger.Reader}.
+ *
+ * Implementations are instantiated by name through {@link OpenAPIConfiguration#getScannerClass()}
+ * and must therefore provide a public no-arg constructor.
+ */
+public interface OpenAPIScanner {
+
+    void setConfiguration(OpenAPIConfiguration openApiConfiguration);
+
+    Set<Class<?>> classes();
+
+    Map<String, Object> resources();
+}
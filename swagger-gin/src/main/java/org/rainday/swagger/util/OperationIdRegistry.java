@@ -0,0 +1,114 @@
+package org.rainday.swagger.util;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import org.rainday.swagger.utils.StringUtils;
+
+/**
+ * The operationIds used in a {@link Paths} object, kept up to date by the reader as operations are added so that
+ * unique ids can be handed out without walking every {@link PathItem}.
+ *
+ * As before, only get, post, put, delete, options, head and patch operations are considered, and a taken id gets the
+ * first free {@code _1}, {@code _2}... suffix.
+ */
+public class OperationIdRegistry {
+
+    // id -> number of operations using it
+    private final Map<String, Integer> operationIds = new HashMap<>();
+    // base id -> highest suffix known to be taken together with all lower ones
+    private final Map<String, Integer> takenSuffixes = new HashMap<>();
+
+    public static OperationIdRegistry of(Paths paths) {
+        OperationIdRegistry registry = new OperationIdRegistry();
+        if (paths != null) {
+            for (PathItem pathItem : paths.values()) {
+                registry.add(pathItem);
+            }
+        }
+        return registry;
+    }
+
+    public boolean contains(String operationId) {
+        return operationIds.containsKey(operationId);
+    }
+
+    /**
+     * @return the given id if it is not used yet, otherwise the id with the first free numeric suffix
+     */
+    public String next(String operationId) {
+        if (!contains(operationId)) {
+            return operationId;
+        }
+        int counter = takenSuffixes.getOrDefault(operationId, 0);
+        String candidate;
+        do {
+            candidate = String.format("%s_%d", operationId, ++counter);
+        } while (contains(candidate));
+        // the candidate itself is only taken once its operation is added
+        takenSuffixes.put(operationId, counter - 1);
+        return candidate;
+    }
+
+    public void add(PathItem pathItem) {
+        if (pathItem == null) {
+            return;
+        }
+        add(pathItem.getGet());
+        add(pathItem.getPost());
+        add(pathItem.getPut());
+        add(pathItem.getDelete());
+        add(pathItem.getOptions());
+        add(pathItem.getHead());
+        add(pathItem.getPatch());
+    }
+
+    /**
+     * @return the operation of the given http method if it counts towards the registered ids, otherwise null
+     */
+    public static Operation getOperation(PathItem pathItem, String httpMethod) {
+        switch (httpMethod) {
+            case "get":
+                return pathItem.getGet();
+            case "post":
+                return pathItem.getPost();
+            case "put":
+                return pathItem.getPut();
+            case "delete":
+                return pathItem.getDelete();
+            case "options":
+                return pathItem.getOptions();
+            case "head":
+                return pathItem.getHead();
+            case "patch":
+                return pathItem.getPatch();
+            default:
+                return null;
+        }
+    }
+
+    public void add(Operation operation) {
+        if (operation != null && StringUtils.isNotBlank(operation.getOperationId())) {
+            operationIds.merge(operation.getOperationId(), 1, Integer::sum);
+        }
+    }
+
+    public void remove(Operation operation) {
+        if (operation == null || StringUtils.isBlank(operation.getOperationId())) {
+            return;
+        }
+        Integer count = operationIds.get(operation.getOperationId());
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            operationIds.put(operation.getOperationId(), count - 1);
+        } else {
+            operationIds.remove(operation.getOperationId());
+            // a freed suffix has to be handed out again
+            takenSuffixes.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.LazyOpenAPI;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.rainday.swagger.controller.ResourceInPackageA;
+import org.rainday.swagger.controller.ResourceInParent;
+import org.rainday.swagger.resources.OrderResource;
+import org.rainday.swagger.resources.OwnerResource;
+import org.rainday.swagger.resources.PetResource;
+import org.rainday.swagger.resources.StoreResource;
+
+public class LazyOpenAPITest {
+
+    @Test
+    public void loadsAsMapper() throws IOException {
+        Set<Class<?>> classes = new LinkedHashSet<>(Arrays.asList(StoreResource.class, ResourceInPackageA.class,
+                PetResource.class, OwnerResource.class, ResourceInParent.class, OrderResource.class));
+        Path file = write(Json.pretty(new Reader().read(classes)));
+
+        OpenAPI eager = Json.mapper().readValue(file.toFile(), OpenAPI.class);
+        OpenAPI lazy = LazyOpenAPI.load(file);
+        assertEquals(Json.pretty(eager), Json.pretty(lazy));
+    }
+
+    @Test
+    public void readsEntriesOnFirstAccess() throws IOException {
+        Path file = write("{\"openapi\":\"3.0.1\","
+                + "\"paths\":{\"/a\":{\"summary\":\"a\"},\"x-paths\":1},"
+                + "\"components\":{\"schemas\":{\"Bad\":{\"type\":1},\"Name\":{\"type\":\"string\"},\"None\":null}}}");
+
+        OpenAPI openAPI = LazyOpenAPI.load(file);
+        assertEquals("a", openAPI.getPaths().get("/a").getSummary());
+        assertEquals(1, openAPI.getPaths().getExtensions().get("x-paths"));
+
+        Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+        assertEquals(Arrays.asList("Bad", "Name", "None"), Arrays.asList(schemas.keySet().toArray()));
+        assertTrue(schemas.get("Name") instanceof StringSchema);
+        assertNull(schemas.get("None"));
+        try {
+            schemas.get("Bad");
+            fail("read a schema with a numeric type");
+        } catch (UncheckedIOException expected) {
+            // only fails once read
+        }
+    }
+
+    @Test
+    public void serializesAsPlainMaps() throws Exception {
+        Path file = write("{\"openapi\":\"3.0.1\",\"paths\":{\"x-paths\":1},"
+                + "\"components\":{\"schemas\":{\"None\":null}}}");
+
+        OpenAPI openAPI = LazyOpenAPI.load(file);
+        Object paths = roundTrip(openAPI.getPaths());
+        assertSame(Paths.class, paths.getClass());
+        assertEquals(new Paths().extensions(Collections.singletonMap("x-paths", 1)), paths);
+        Object schemas = roundTrip(openAPI.getComponents().getSchemas());
+        assertSame(LinkedHashMap.class, schemas.getClass());
+        assertEquals(Collections.singletonMap("None", null), schemas);
+    }
+
+    private static Object roundTrip(Object value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    private static Path write(String json) throws IOException {
+        Path file = Files.createTempDirectory("openapi").resolve("openapi.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
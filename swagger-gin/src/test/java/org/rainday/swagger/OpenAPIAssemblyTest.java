@@ -0,0 +1,46 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.tags.Tag;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class OpenAPIAssemblyTest {
+
+    @Test
+    public void firstPathGoesBeforeExistingPaths() {
+        PathItem existing = new PathItem();
+        OpenAPI openAPI = new OpenAPI().paths(new Paths().addPathItem("/base", existing));
+        OpenAPIAssembly assembly = new OpenAPIAssembly(openAPI);
+
+        assembly.pathItem("/a");
+        assertSame(existing, assembly.pathItem("/base"));
+        assembly.pathItem("/b");
+
+        assertSame(assembly.getPaths(), openAPI.getPaths());
+        assertEquals(Arrays.asList("/a", "/base", "/b"), new ArrayList<>(openAPI.getPaths().keySet()));
+    }
+
+    @Test
+    public void tagsAreMaterializedByName() {
+        OpenAPI openAPI = new OpenAPI().addTagsItem(new Tag().name("base"));
+        OpenAPIAssembly assembly = new OpenAPIAssembly(openAPI);
+
+        assembly.addTags(Arrays.asList(new Tag().name("pets"), new Tag().name("base").description("ignored"), new Tag().name("pets").description("ignored")));
+        assertEquals(1, openAPI.getTags().size());
+
+        assembly.materialize();
+        assertEquals(2, openAPI.getTags().size());
+        assertEquals("base", openAPI.getTags().get(0).getName());
+        assertNull(openAPI.getTags().get(0).getDescription());
+        assertEquals("pets", openAPI.getTags().get(1).getName());
+        assertNull(openAPI.getTags().get(1).getDescription());
+    }
+}
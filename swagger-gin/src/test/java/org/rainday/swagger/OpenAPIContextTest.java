@@ -0,0 +1,47 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.tags.Tag;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import org.junit.Test;
+import org.rainday.swagger.cache.OpenAPIFingerprint;
+import org.rainday.swagger.resources.PetResource;
+import org.rainday.swagger.resources.StoreResource;
+
+public class OpenAPIContextTest {
+
+    @Test
+    public void readAfterExpiryStartsFromTheConfiguredDefinition() throws Exception {
+        OpenAPI base = new OpenAPI()
+                .info(new Info().title("pets").version("1"))
+                .addTagsItem(new Tag().name("base"))
+                .paths(new Paths().addPathItem("/health", new PathItem().get(new Operation().operationId("health"))));
+        SwaggerConfiguration config = new SwaggerConfiguration()
+                .openAPI(base)
+                .cacheTTL(1L)
+                .resourceClasses(new LinkedHashSet<>(Arrays.asList(PetResource.class.getName(), StoreResource.class.getName())));
+        String baseJson = Json.pretty(base);
+        String fingerprint = OpenAPIFingerprint.of(config, Collections.singleton(PetResource.class));
+        OpenAPIContext context = new OpenAPIContext(config);
+
+        OpenAPI first = context.read();
+        String firstJson = Json.pretty(first);
+        Thread.sleep(5);
+        OpenAPI second = context.read();
+
+        assertNotSame(first, second);
+        assertEquals(firstJson, Json.pretty(second));
+        assertEquals(baseJson, Json.pretty(base));
+        assertEquals(fingerprint, OpenAPIFingerprint.of(config, Collections.singleton(PetResource.class)));
+    }
+}
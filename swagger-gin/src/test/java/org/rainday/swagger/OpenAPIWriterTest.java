@@ -0,0 +1,271 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.OpenAPIWriter;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.info.Contact;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.links.Link;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.media.XML;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.OAuthFlow;
+import io.swagger.v3.oas.models.security.OAuthFlows;
+import io.swagger.v3.oas.models.security.Scopes;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import io.swagger.v3.oas.models.servers.Server;
+import io.swagger.v3.oas.models.servers.ServerVariable;
+import io.swagger.v3.oas.models.servers.ServerVariables;
+import io.swagger.v3.oas.models.tags.Tag;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.rainday.swagger.controller.ResourceInPackageA;
+import org.rainday.swagger.controller.ResourceInParent;
+import org.rainday.swagger.resources.OrderResource;
+import org.rainday.swagger.resources.OwnerResource;
+import org.rainday.swagger.resources.PetResource;
+import org.rainday.swagger.resources.StoreResource;
+
+public class OpenAPIWriterTest {
+
+    @Test
+    public void writesGoldenFile() throws IOException {
+        OpenAPI openAPI = openAPI();
+        String golden = golden();
+
+        assertEquals(golden, normalize(Json.pretty(openAPI)));
+        assertEquals(golden, normalize(write(openAPI, true)));
+    }
+
+    @Test
+    public void writesAsMapper() throws IOException {
+        OpenAPI openAPI = openAPI();
+
+        assertEquals(Json.mapper().writeValueAsString(openAPI), write(openAPI, false));
+    }
+
+    @Test
+    public void writesReaderOutputAsMapper() throws IOException {
+        Set<Class<?>> classes = new LinkedHashSet<>(Arrays.asList(StoreResource.class, ResourceInPackageA.class,
+                PetResource.class, OwnerResource.class, ResourceInParent.class, OrderResource.class));
+        OpenAPI openAPI = new Reader().read(classes);
+
+        assertEquals(Json.pretty(openAPI), write(openAPI, true));
+    }
+
+    @Test
+    public void readsWhatItWrites() throws IOException {
+        Set<Class<?>> classes = new LinkedHashSet<>(Arrays.asList(StoreResource.class, ResourceInPackageA.class,
+                PetResource.class, OwnerResource.class, ResourceInParent.class, OrderResource.class));
+        String json = Json.pretty(new Reader().read(classes));
+        assertEquals(json, Json.pretty(Json.mapper().readValue(json, OpenAPI.class)));
+    }
+
+    private static String write(OpenAPI openAPI, boolean pretty) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OpenAPIWriter.json().write(openAPI, out, pretty);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String golden() throws IOException {
+        try (InputStream in = OpenAPIWriterTest.class.getResourceAsStream("/openapi-writer.json")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return normalize(new String(out.toByteArray(), StandardCharsets.UTF_8)).trim();
+        }
+    }
+
+    // the pretty printer uses the system line separator
+    private static String normalize(String json) {
+        return json.replace("\r\n", "\n");
+    }
+
+    static OpenAPI openAPI() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("enabled", true);
+        nested.put("limits", Arrays.asList(1, 2, null));
+
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(2020, Calendar.MARCH, 4);
+
+        Schema pet = new ObjectSchema()
+                .title("Pet")
+                .addRequiredItem("name")
+                .addProperties("id", new IntegerSchema().format("int64").minimum(BigDecimal.ONE).exclusiveMinimum(true).readOnly(true))
+                .addProperties("name", new StringSchema().minLength(1).maxLength(64).pattern("[a-z]+").example("rex").nullable(false))
+                .addProperties("status", new StringSchema()._default("available").addEnumItem("available").addEnumItem("sold"))
+                .addProperties("born", new DateSchema().example(calendar.getTime()))
+                .addProperties("checked", new DateSchema().description("no example"))
+                .addProperties("weight", new NumberSchema().multipleOf(new BigDecimal("0.5")).maximum(new BigDecimal("100.25")).exclusiveMaximum(false))
+                .addProperties("tags", new ArraySchema().items(new StringSchema()).minItems(0).maxItems(10).uniqueItems(true)
+                        .xml(new XML().name("tag").wrapped(true)))
+                .addProperties("owner", new Schema().$ref("#/components/schemas/Owner").description("ignored next to a ref"))
+                .addProperties("attributes", new MapSchema().additionalProperties(new StringSchema()).minProperties(0).maxProperties(5))
+                .addProperties("loose", new ObjectSchema().additionalProperties(true).writeOnly(true))
+                .addProperties("notNamed", new Schema<>().not(new StringSchema().addEnumItem("none")))
+                .description("a pet")
+                .externalDocs(new ExternalDocumentation().url("http://docs/pet"))
+                .deprecated(false)
+                .xml(new XML().name("pet").namespace("urn:pet").prefix("p").attribute(false).extensions(Collections.singletonMap("x-xml", "yes")));
+        pet.addExtension("x-model", nested);
+        pet.addExtension("x-empty", null);
+
+        ComposedSchema animal = new ComposedSchema();
+        animal.addOneOfItem(new Schema().$ref("#/components/schemas/Pet"))
+                .addOneOfItem(new ObjectSchema().addProperties("wild", new Schema().type("boolean")))
+                .addAllOfItem(new ObjectSchema())
+                .addAnyOfItem(new StringSchema())
+                .discriminator(new Discriminator().propertyName("kind").mapping("pet", "#/components/schemas/Pet"))
+                .type("object");
+
+        PathItem pathItem = new PathItem()
+                .summary("pets")
+                .description("pet operations")
+                .get(new Operation()
+                        .addTagsItem("pets")
+                        .summary("find pets")
+                        .operationId("findPets")
+                        .addParametersItem(new QueryParameter().name("limit").required(false).allowEmptyValue(true)
+                                .style(Parameter.StyleEnum.FORM).explode(true).allowReserved(false)
+                                .schema(new IntegerSchema()._default(20)).example(20))
+                        .addParametersItem(new HeaderParameter().name("X-Trace").deprecated(true)
+                                .examples(Collections.singletonMap("trace", new Example().summary("a trace").value("abc"))))
+                        .addParametersItem(new Parameter().$ref("#/components/parameters/Page"))
+                        .responses(new ApiResponses()
+                                .addApiResponse("200", new ApiResponse().description("pets")
+                                        .addHeaderObject("X-Rate", new Header().description("rate").required(true).style(Header.StyleEnum.SIMPLE)
+                                                .schema(new IntegerSchema()).example(10))
+                                        .content(new Content().addMediaType("application/json", new MediaType()
+                                                .schema(new ArraySchema().items(new Schema().$ref("#/components/schemas/Pet")))
+                                                .addExamples("one", new Example().externalValue("http://examples/one")))
+                                                .addMediaType("application/xml", new MediaType()))
+                                        .link("next", new Link().operationId("findPets").parameters("offset", "$response.body#/next")
+                                                .requestBody(nested).description("next page").server(new Server().url("http://next"))))
+                                ._default(new ApiResponse().$ref("#/components/responses/Error")))
+                        .deprecated(false)
+                        .addSecurityItem(new SecurityRequirement().addList("oauth", Arrays.asList("read", "write")))
+                        .addServersItem(new Server().url("http://op")))
+                .post(new Operation()
+                        .operationId("addPet")
+                        .externalDocs(new ExternalDocumentation().description("adding").url("http://docs/add"))
+                        .requestBody(new RequestBody().description("a pet").required(true)
+                                .content(new Content().addMediaType("multipart/form-data", new MediaType()
+                                        .schema(new ObjectSchema().addProperties("file", new StringSchema().format("binary")))
+                                        .addEncoding("file", new Encoding().contentType("image/png").style(Encoding.StyleEnum.FORM)
+                                                .explode(false).allowReserved(true)
+                                                .headers(Collections.singletonMap("X-Size", new Header().schema(new IntegerSchema())))))))
+                        .responses(responsesWithExtensions())
+                        .callbacks(callbacks()))
+                .addParametersItem(new PathParameter().name("id").schema(new StringSchema()))
+                .addServersItem(new Server().url("http://path"));
+        pathItem.addExtension("x-path", "item");
+
+        Paths paths = new Paths().addPathItem("/pets", pathItem).addPathItem("/ref", new PathItem().$ref("#/paths/~1pets"));
+
+        ServerVariables variables = new ServerVariables();
+        variables.addServerVariable("env", new ServerVariable()._default("prod")._enum(Arrays.asList("prod", "test")).description("environment"));
+
+        OpenAPI openAPI = new OpenAPI()
+                .info(new Info().title("Writer").description("golden file").termsOfService("http://terms")
+                        .contact(new Contact().name("team").url("http://team").email("team@example.com"))
+                        .license(new License().name("Apache 2.0").url("http://license"))
+                        .version("1.0"))
+                .externalDocs(new ExternalDocumentation().description("all").url("http://docs"))
+                .addServersItem(new Server().url("http://{env}.example.com").description("main").variables(variables))
+                .addSecurityItem(new SecurityRequirement().addList("key"))
+                .addTagsItem(new Tag().name("pets").description("pet store").externalDocs(new ExternalDocumentation().url("http://docs/tags")))
+                .paths(paths)
+                .components(new Components()
+                        .addSchemas("Pet", pet)
+                        .addSchemas("Animal", animal)
+                        .addResponses("Error", new ApiResponse().description("error"))
+                        .addParameters("Page", new QueryParameter().name("page").schema(new IntegerSchema()))
+                        .addExamples("pet", new Example().value(nested))
+                        .addRequestBodies("Pet", new RequestBody().$ref("#/components/schemas/Pet"))
+                        .addHeaders("X-Rate", new Header().$ref("#/components/headers/Rate"))
+                        .addSecuritySchemes("key", new SecurityScheme().type(SecurityScheme.Type.APIKEY).name("api_key").in(SecurityScheme.In.HEADER))
+                        .addSecuritySchemes("bearer", new SecurityScheme().type(SecurityScheme.Type.HTTP).scheme("bearer").bearerFormat("JWT"))
+                        .addSecuritySchemes("oauth", new SecurityScheme().type(SecurityScheme.Type.OAUTH2).description("oauth")
+                                .flows(new OAuthFlows()
+                                        .implicit(new OAuthFlow().authorizationUrl("http://auth").scopes(new Scopes().addString("read", "read pets")))
+                                        .authorizationCode(new OAuthFlow().authorizationUrl("http://auth").tokenUrl("http://token").refreshUrl("http://refresh")
+                                                .scopes(new Scopes().addString("write", "write pets")))))
+                        .addSecuritySchemes("oidc", new SecurityScheme().type(SecurityScheme.Type.OPENIDCONNECT).openIdConnectUrl("http://oidc"))
+                        .addLinks("self", new Link().operationRef("#/paths/~1pets/get"))
+                        .addCallbacks("ref", new Callback().$ref("#/components/callbacks/other")));
+        openAPI.addExtension("x-api", nested);
+        return openAPI;
+    }
+
+    private static ApiResponses responsesWithExtensions() {
+        ApiResponses responses = new ApiResponses().addApiResponse("201", new ApiResponse().description("added"));
+        responses.put("204", null);
+        responses.addExtension("x-responses", "extended");
+        return responses;
+    }
+
+    private static Map<String, Callback> callbacks() {
+        Callback plain = new Callback().addPathItem("{$request.body#/url}", new PathItem()
+                .post(new Operation().responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("ok")))));
+        Callback extended = new Callback().addPathItem("{$request.body#/other}", null);
+        extended.addExtension("x-callback", 1);
+        Callback refExtended = new Callback().$ref("#/components/callbacks/ref");
+        refExtended.addExtension("x-callback", null);
+
+        Map<String, Callback> callbacks = new LinkedHashMap<>();
+        callbacks.put("plain", plain);
+        callbacks.put("extended", extended);
+        callbacks.put("ref", new Callback().$ref("#/components/callbacks/ref"));
+        callbacks.put("refExtended", refExtended);
+        callbacks.put("missing", null);
+        return callbacks;
+    }
+}
@@ -0,0 +1,85 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.rainday.swagger.resources.OwnerResource;
+import org.rainday.swagger.resources.PetResource;
+import org.rainday.swagger.resources.StoreResource;
+
+public class ReaderIncrementalTest {
+
+    @Test
+    public void incrementalReadMatchesFullRead() {
+        Set<Class<?>> classes = classes(StoreResource.class, PetResource.class, OwnerResource.class);
+        Reader reader = new Reader(new SwaggerConfiguration());
+
+        assertEquals(Json.pretty(new Reader().read(classes)), Json.pretty(reader.readIncremental(classes)));
+        assertEquals(Json.pretty(new Reader().read(classes)), Json.pretty(reader.readIncremental(classes)));
+    }
+
+    @Test
+    public void unchangedClassesAreNotReadAgain() {
+        Set<Class<?>> classes = classes(StoreResource.class, PetResource.class);
+        CountingReader reader = new CountingReader();
+
+        Operation first = reader.readIncremental(classes).getPaths().get("/pets").getPost();
+        assertEquals(2, reader.fragments);
+        Operation second = reader.readIncremental(classes).getPaths().get("/pets").getPost();
+        assertEquals(2, reader.fragments);
+
+        // every definition gets its own copy
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void earlierDefinitionsAreLeftAsTheyAre() {
+        Reader reader = new Reader();
+        OpenAPI openAPI = reader.readIncremental(classes(PetResource.class, StoreResource.class));
+        String json = Json.pretty(openAPI);
+        assertEquals("get_1", openAPI.getPaths().get("/store/{id}").getGet().getOperationId());
+
+        OpenAPI storeOnly = reader.readIncremental(classes(StoreResource.class));
+        assertEquals("get", storeOnly.getPaths().get("/store/{id}").getGet().getOperationId());
+        assertEquals(json, Json.pretty(openAPI));
+
+        storeOnly.getPaths().get("/store/{id}").getGet().setSummary("changed");
+        assertEquals(Json.pretty(new Reader().read(classes(StoreResource.class))), Json.pretty(reader.readIncremental(classes(StoreResource.class))));
+    }
+
+    @Test
+    public void removedClassesAreRetracted() {
+        Reader reader = new Reader();
+        reader.readIncremental(classes(StoreResource.class, PetResource.class, OwnerResource.class));
+
+        Set<Class<?>> remaining = classes(PetResource.class, OwnerResource.class);
+        OpenAPI openAPI = reader.readIncremental(remaining);
+
+        assertEquals(Json.pretty(new Reader().read(remaining)), Json.pretty(openAPI));
+        assertFalse(openAPI.getPaths().containsKey("/store"));
+        assertFalse(openAPI.getPaths().containsKey("/store/{id}"));
+    }
+
+    private static class CountingReader extends Reader {
+        private int fragments;
+
+        @Override
+        protected Reader newFragmentReader() {
+            fragments++;
+            return super.newFragmentReader();
+        }
+    }
+
+    private static Set<Class<?>> classes(Class<?>... classes) {
+        return new LinkedHashSet<>(Arrays.asList(classes));
+    }
+}
@@ -0,0 +1,37 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+
+import io.swagger.v3.core.util.Json;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.rainday.swagger.controller.ResourceInPackageA;
+import org.rainday.swagger.controller.ResourceInParent;
+import org.rainday.swagger.resources.OrderResource;
+import org.rainday.swagger.resources.OwnerResource;
+import org.rainday.swagger.resources.PetResource;
+import org.rainday.swagger.resources.StoreResource;
+
+public class ReaderParallelTest {
+
+    private final Set<Class<?>> classes = new LinkedHashSet<>(Arrays.asList(
+            StoreResource.class, ResourceInPackageA.class, PetResource.class, OwnerResource.class, ResourceInParent.class, OrderResource.class));
+
+    @Test
+    public void parallelReadMatchesSerialRead() {
+        String serial = Json.pretty(new Reader(new SwaggerConfiguration()).read(classes));
+        String parallel = Json.pretty(new Reader(new SwaggerConfiguration().readerParallelism(4)).read(classes));
+
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    public void parallelReadKeepsOperationIdsUnique() {
+        String parallel = Json.pretty(new Reader(new SwaggerConfiguration().readerParallelism(4)).read(classes));
+
+        assertEquals(true, parallel.contains("\"operationId\" : \"find_1\""));
+        assertEquals(true, parallel.contains("\"operationId\" : \"get_1\""));
+    }
+}
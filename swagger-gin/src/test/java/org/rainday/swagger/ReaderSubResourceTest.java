@@ -0,0 +1,75 @@
+package org.rainday.swagger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.rainday.swagger.resources.ItemSubResource;
+import org.rainday.swagger.resources.OrderResource;
+
+public class ReaderSubResourceTest {
+
+    @Test
+    public void subResourceIsScannedOncePerReader() {
+        int[] scans = new int[1];
+        Reader reader = new Reader() {
+            @Override
+            public OpenAPI read(Class<?> cls, String parentPath, String parentMethod, boolean isSubresource, RequestBody parentRequestBody,
+                                ApiResponses parentResponses, Set<String> parentTags, List<Parameter> parentParameters, Set<Class<?>> scannedResources) {
+                if (cls == ItemSubResource.class) {
+                    scans[0]++;
+                }
+                return super.read(cls, parentPath, parentMethod, isSubresource, parentRequestBody, parentResponses, parentTags, parentParameters, scannedResources);
+            }
+        };
+
+        OpenAPI openAPI = reader.read(OrderResource.class);
+
+        assertEquals(1, scans[0]);
+        assertNotNull(openAPI.getPaths().get("/orders/{orderId}/items").getGet());
+        assertNotNull(openAPI.getPaths().get("/orders/carts/{cartId}/items/{itemId}/tags").getGet());
+        assertEquals(3, openAPI.getPaths().get("/orders/carts/{cartId}/items").getGet().getParameters().size());
+    }
+
+    @Test
+    public void methodsWithoutHttpMethodAreNotScanned() {
+        Set<String> parsed = new HashSet<>();
+        Reader reader = new Reader() {
+            @Override
+            protected String getOperationId(String operationId) {
+                parsed.add(operationId);
+                return super.getOperationId(operationId);
+            }
+        };
+
+        reader.read(OrderResource.class);
+
+        assertTrue(parsed.contains("list"));
+        assertFalse(parsed.contains("getClass"));
+        assertFalse(parsed.contains("hashCode"));
+        assertFalse(parsed.contains("toString"));
+    }
+
+    @Test
+    public void boundOperationsAreNotShared() {
+        OpenAPI openAPI = new Reader().read(OrderResource.class);
+
+        Operation order = openAPI.getPaths().get("/orders/{orderId}/items/{itemId}").getDelete();
+        Operation cart = openAPI.getPaths().get("/orders/carts/{cartId}/items/{itemId}").getDelete();
+
+        assertNotSame(order.getResponses(), cart.getResponses());
+        assertNotSame(order.getParameters().get(0), cart.getParameters().get(0));
+        assertEquals(order.getParameters().get(0), cart.getParameters().get(0));
+    }
+}
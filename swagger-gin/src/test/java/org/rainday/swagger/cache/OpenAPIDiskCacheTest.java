@@ -0,0 +1,68 @@
+package org.rainday.swagger.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import org.junit.Test;
+import org.rainday.swagger.Reader;
+import org.rainday.swagger.SwaggerConfiguration;
+import org.rainday.swagger.model.Pet;
+import org.rainday.swagger.resources.PetResource;
+
+public class OpenAPIDiskCacheTest {
+
+    @Test
+    public void loadsWhatWasStored() throws Exception {
+        SwaggerConfiguration config = new SwaggerConfiguration();
+        OpenAPI openAPI = new Reader(config).read(PetResource.class);
+        String fingerprint = OpenAPIFingerprint.of(config, Collections.singleton(PetResource.class));
+
+        OpenAPIDiskCache cache = new OpenAPIDiskCache(Files.createTempDirectory("openapi").resolve("openapi.cache"));
+        cache.store(fingerprint, openAPI, -1L);
+
+        OpenAPI loaded = cache.load(fingerprint, -1L);
+        assertNotNull(loaded);
+        assertEquals(Json.pretty(openAPI), Json.pretty(loaded));
+    }
+
+    @Test
+    public void ignoresOtherFingerprintAndExpiredEntries() throws Exception {
+        Path file = Files.createTempDirectory("openapi").resolve("openapi.cache");
+        OpenAPIDiskCache cache = new OpenAPIDiskCache(file);
+        String fingerprint = OpenAPIFingerprint.of(new SwaggerConfiguration(), Collections.singleton(PetResource.class));
+        cache.store(fingerprint, new OpenAPI(), -1L);
+
+        String otherFingerprint = OpenAPIFingerprint.of(new SwaggerConfiguration().prettyPrint(true), Collections.singleton(PetResource.class));
+        assertNull(cache.load(otherFingerprint, -1L));
+        assertNull(cache.load(fingerprint, 0L));
+
+        Thread.sleep(5);
+        assertNull(cache.load(fingerprint, 1L));
+    }
+
+    @Test
+    public void fingerprintCoversModelClasses() throws Exception {
+        SwaggerConfiguration config = new SwaggerConfiguration();
+        String fingerprint = OpenAPIFingerprint.of(config, Collections.singleton(PetResource.class));
+        assertEquals(fingerprint, OpenAPIFingerprint.of(config, Collections.singleton(PetResource.class)));
+
+        // only referenced by the resource methods
+        Path modelClass = Paths.get(Pet.class.getResource("Pet.class").toURI());
+        FileTime modified = Files.getLastModifiedTime(modelClass);
+        try {
+            Files.setLastModifiedTime(modelClass, FileTime.fromMillis(modified.toMillis() + 2000));
+            assertNotEquals(fingerprint, OpenAPIFingerprint.of(config, Collections.singleton(PetResource.class)));
+        } finally {
+            Files.setLastModifiedTime(modelClass, modified);
+        }
+    }
+}
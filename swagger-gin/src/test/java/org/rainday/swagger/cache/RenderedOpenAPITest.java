@@ -0,0 +1,91 @@
+package org.rainday.swagger.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+import org.rainday.swagger.OpenAPIContext;
+import org.rainday.swagger.Reader;
+import org.rainday.swagger.SwaggerConfiguration;
+import org.rainday.swagger.resources.PetResource;
+
+public class RenderedOpenAPITest {
+
+    @Test
+    public void rendersOnceAsMapper() throws IOException {
+        OpenAPI openAPI = new Reader().read(PetResource.class);
+        RenderedOpenAPI rendered = new RenderedOpenAPI(openAPI);
+
+        RenderedOpenAPI.Rendering pretty = rendered.get(RenderedOpenAPI.Format.JSON, true);
+        assertSame(pretty, rendered.get(RenderedOpenAPI.Format.JSON, true));
+        assertEquals("application/json", pretty.getContentType());
+        assertArrayEquals(Json.pretty(openAPI).getBytes(StandardCharsets.UTF_8), bytes(pretty.getBytes()));
+        assertArrayEquals(bytes(pretty.getBytes()), gunzip(bytes(pretty.getGzipped())));
+        assertTrue(pretty.getBytes().isReadOnly());
+
+        RenderedOpenAPI.Rendering minified = rendered.get(RenderedOpenAPI.Format.JSON, false);
+        assertArrayEquals(Json.mapper().writeValueAsBytes(openAPI), bytes(minified.getBytes()));
+        assertNotEquals(pretty.getETag(), minified.getETag());
+        assertEquals(pretty.getETag(), new RenderedOpenAPI(openAPI).get(RenderedOpenAPI.Format.JSON, true).getETag());
+    }
+
+    @Test
+    public void matchesIfNoneMatch() {
+        RenderedOpenAPI.Rendering rendering = new RenderedOpenAPI(new OpenAPI()).get(RenderedOpenAPI.Format.JSON, false);
+
+        assertTrue(rendering.matches(rendering.getETag()));
+        assertTrue(rendering.matches("\"other\", W/" + rendering.getGzippedETag()));
+        assertTrue(rendering.matches("*"));
+        assertFalse(rendering.matches("\"other\""));
+        assertFalse(rendering.matches(null));
+    }
+
+    @Test
+    public void rendersAgainForNewDefinition() {
+        SwaggerConfiguration config = new SwaggerConfiguration()
+                .resourceClasses(Collections.singleton(PetResource.class.getName()))
+                .cacheTTL(-1L);
+        OpenAPIContext context = new OpenAPIContext(config).useGeneratedOpenAPI(false);
+        RenderedOpenAPI rendered = context.render();
+        assertSame(rendered, context.render());
+
+        config.cacheTTL(0L);
+        RenderedOpenAPI again = context.render();
+        assertNotSame(rendered, again);
+        assertNotSame(rendered.getOpenAPI(), again.getOpenAPI());
+        assertEquals(rendered.get(RenderedOpenAPI.Format.JSON, true).getETag(), again.get(RenderedOpenAPI.Format.JSON, true).getETag());
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import io.swagger.v3.core.converter.AnnotatedType;
+import io.swagger.v3.core.converter.AnnotatedTypeKey;
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.core.converter.ModelConverterContextImpl;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.rainday.swagger.model.Pet;
+import org.rainday.swagger.model.Tag;
+
+public class AnnotatedTypeKeyTest {
+
+    public static class Annotated {
+        @Schema(description = "pet")
+        public Pet pet;
+
+        @Schema(description = "other")
+        public Pet other;
+    }
+
+    @Test
+    public void settingTypeOrCtxAnnotationsResetsTheKey() throws Exception {
+        AnnotatedType type = new AnnotatedType(Pet.class);
+        AnnotatedTypeKey petKey = AnnotatedTypeKey.of(type);
+        assertSame(petKey, AnnotatedTypeKey.of(type));
+
+        type.setType(Tag.class);
+        assertNotEquals(petKey, AnnotatedTypeKey.of(type));
+        assertEquals(AnnotatedTypeKey.of(new AnnotatedType(Tag.class)), AnnotatedTypeKey.of(type));
+        assertEquals(new AnnotatedType(Tag.class), type);
+        assertEquals(new AnnotatedType(Tag.class).hashCode(), type.hashCode());
+
+        AnnotatedTypeKey tagKey = AnnotatedTypeKey.of(type);
+        type.setCtxAnnotations(annotations("pet"));
+        assertNotEquals(tagKey, AnnotatedTypeKey.of(type));
+        assertEquals(new AnnotatedType(Tag.class).ctxAnnotations(annotations("pet")), type);
+        assertNotEquals(new AnnotatedType(Tag.class).ctxAnnotations(annotations("other")), type);
+
+        type.type(Pet.class).ctxAnnotations(null);
+        assertEquals(petKey, AnnotatedTypeKey.of(type));
+    }
+
+    @Test
+    public void equalAnnotatedTypesAreResolvedOnce() throws Exception {
+        AtomicInteger resolutions = new AtomicInteger();
+        ModelConverter converter = (type, context, chain) -> {
+            resolutions.incrementAndGet();
+            return new ObjectSchema().name("Pet");
+        };
+        ModelConverterContextImpl context = new ModelConverterContextImpl(converter);
+
+        io.swagger.v3.oas.models.media.Schema first = context.resolve(new AnnotatedType(Pet.class).ctxAnnotations(annotations("pet")));
+        io.swagger.v3.oas.models.media.Schema second = context.resolve(new AnnotatedType(Pet.class).ctxAnnotations(annotations("pet")));
+        assertSame(first, second);
+        assertEquals(1, resolutions.get());
+
+        context.resolve(new AnnotatedType(Pet.class).ctxAnnotations(annotations("other")));
+        assertEquals(2, resolutions.get());
+    }
+
+    private static Annotation[] annotations(String field) throws NoSuchFieldException {
+        return Annotated.class.getField(field).getAnnotations();
+    }
+}
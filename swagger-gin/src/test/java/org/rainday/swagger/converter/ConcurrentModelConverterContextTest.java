@@ -0,0 +1,111 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import io.swagger.v3.core.converter.AnnotatedType;
+import io.swagger.v3.core.converter.ConcurrentModelConverterContext;
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+
+public class ConcurrentModelConverterContextTest {
+
+    static class Owner {
+    }
+
+    static class Dog {
+    }
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void threadsResolvingTheSameTypeShareOneResolution() throws Exception {
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ModelConverter converter = (type, context, chain) -> {
+            resolutions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new ObjectSchema().name("Owner");
+        };
+        ConcurrentModelConverterContext context = new ConcurrentModelConverterContext(Collections.singletonList(converter));
+
+        Future<Schema> first = executor.submit(() -> context.resolve(new AnnotatedType(Owner.class)));
+        assertEquals(true, started.await(10, TimeUnit.SECONDS));
+        AtomicReference<Thread> waiter = new AtomicReference<>();
+        Future<Schema> second = executor.submit(() -> {
+            waiter.set(Thread.currentThread());
+            return context.resolve(new AnnotatedType(Owner.class));
+        });
+        // release the first resolution only once the second thread waits for it
+        while (waiter.get() == null || waiter.get().getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        Schema schema = first.get(10, TimeUnit.SECONDS);
+        assertSame(schema, second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, resolutions.get());
+        assertSame(schema, context.getDefinedModels().get("Owner"));
+    }
+
+    @Test
+    public void crossThreadCycleGetsTheSchemaDefinedSoFar() throws Exception {
+        CyclicBarrier bothDefined = new CyclicBarrier(2);
+        ModelConverter converter = (type, context, chain) -> {
+            Class<?> cls = (Class<?>) type.getType();
+            Class<?> other = cls == Owner.class ? Dog.class : Owner.class;
+            Schema model = new ObjectSchema().name(cls.getSimpleName());
+            context.defineModel(model.getName(), model, type, null);
+            await(bothDefined);
+            // each thread now resolves the type the other thread is resolving
+            Schema property = context.resolve(new AnnotatedType(other));
+            model.addProperties(other.getSimpleName().toLowerCase(), new Schema<>().$ref(property.getName()));
+            return model;
+        };
+        ConcurrentModelConverterContext context = new ConcurrentModelConverterContext(Collections.singletonList(converter));
+
+        Future<Schema> owner = executor.submit(() -> context.resolve(new AnnotatedType(Owner.class)));
+        Future<Schema> dog = executor.submit(() -> context.resolve(new AnnotatedType(Dog.class)));
+
+        assertEquals("Owner", owner.get(10, TimeUnit.SECONDS).getName());
+        assertEquals("Dog", dog.get(10, TimeUnit.SECONDS).getName());
+        assertNotNull(context.getDefinedModels().get("Owner").getProperties().get("dog"));
+        assertNotNull(context.getDefinedModels().get("Dog").getProperties().get("owner"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.v3.core.converter.AnnotatedType;
+import io.swagger.v3.core.converter.ModelConverterContextImpl;
+import io.swagger.v3.core.jackson.ModelResolver;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * The resolver computes the values of an enum once per enum class and enum features of its mapper.
+ */
+public class EnumValuesTest {
+
+    public enum Size {
+        SMALL, LARGE;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Coded {
+        @JsonProperty("a")
+        ALPHA {
+            @Override
+            public String toString() {
+                return "alpha";
+            }
+        },
+        BETA
+    }
+
+    public enum Valued {
+        ONE("1"), TWO("2");
+
+        private final String code;
+
+        Valued(String code) {
+            this.code = code;
+        }
+
+        @JsonValue
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private final ObjectMapper mapper = Json.mapper().copy()
+            .disable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING, SerializationFeature.WRITE_ENUMS_USING_INDEX);
+    private final ModelResolver resolver = new ModelResolver(mapper);
+
+    @Test
+    public void valuesFollowTheEnumFeaturesOfTheMapper() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Arrays.asList("SMALL", "LARGE"), values(Size.class));
+            assertEquals(Arrays.asList("a", "BETA"), values(Coded.class));
+            assertEquals(Arrays.asList("1", "2"), values(Valued.class));
+
+            mapper.enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING);
+            assertEquals(Arrays.asList("small", "large"), values(Size.class));
+            assertEquals(Arrays.asList("a", "BETA"), values(Coded.class));
+            assertEquals(Arrays.asList("1", "2"), values(Valued.class));
+
+            mapper.enable(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+            assertEquals(Arrays.asList("0", "1"), values(Size.class));
+            assertEquals(Arrays.asList("a", "1"), values(Coded.class));
+            assertEquals(Arrays.asList("1", "2"), values(Valued.class));
+
+            mapper.disable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING);
+            assertEquals(Arrays.asList("0", "1"), values(Size.class));
+
+            mapper.disable(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+        }
+    }
+
+    @Test
+    public void schemasDoNotShareTheCachedValues() {
+        List<String> first = values(Size.class);
+        first.add("MEDIUM");
+
+        assertEquals(Arrays.asList("SMALL", "LARGE"), values(Size.class));
+    }
+
+    @Test
+    public void clearingTheIntrospectionCacheKeepsTheValues() {
+        assertEquals(Arrays.asList("SMALL", "LARGE"), values(Size.class));
+        resolver.clearIntrospectionCache();
+        assertEquals(Arrays.asList("SMALL", "LARGE"), values(Size.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> values(Class<? extends Enum<?>> enumClass) {
+        Schema<String> schema = new ModelConverterContextImpl(resolver).resolve(new AnnotatedType(enumClass));
+        return schema.getEnum();
+    }
+}
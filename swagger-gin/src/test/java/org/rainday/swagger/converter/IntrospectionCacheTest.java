@@ -0,0 +1,74 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import io.swagger.v3.core.converter.ModelConverters;
+import io.swagger.v3.core.jackson.ModelResolver;
+import io.swagger.v3.core.util.Json;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rainday.swagger.Reader;
+import org.rainday.swagger.SwaggerConfiguration;
+import org.rainday.swagger.model.Pet;
+import org.rainday.swagger.resources.PetResource;
+import org.rainday.swagger.resources.StoreResource;
+
+public class IntrospectionCacheTest {
+
+    private static class IntrospectingResolver extends ModelResolver {
+        IntrospectingResolver() {
+            super(Json.mapper());
+        }
+
+        BeanDescription introspect(Class<?> cls) {
+            return _introspect(_mapper.constructType(cls));
+        }
+    }
+
+    private final IntrospectingResolver resolver = new IntrospectingResolver();
+    private final Set<Class<?>> classes = new LinkedHashSet<>(Arrays.asList(PetResource.class, StoreResource.class));
+
+    @Before
+    public void addResolver() {
+        ModelConverters.getInstance().addConverter(resolver);
+    }
+
+    @After
+    public void removeResolver() {
+        ModelConverters.getInstance().removeConverter(resolver);
+    }
+
+    @Test
+    public void serialReadDropsTheCachedDescriptions() {
+        BeanDescription before = resolver.introspect(Pet.class);
+        assertSame(before, resolver.introspect(Pet.class));
+
+        new Reader(new SwaggerConfiguration()).read(classes);
+
+        assertNotSame(before, resolver.introspect(Pet.class));
+    }
+
+    @Test
+    public void parallelReadDropsTheCachedDescriptions() {
+        BeanDescription before = resolver.introspect(Pet.class);
+
+        new Reader(new SwaggerConfiguration().readerParallelism(2)).read(classes);
+
+        assertNotSame(before, resolver.introspect(Pet.class));
+    }
+
+    @Test
+    public void singleClassReadDropsTheCachedDescriptions() {
+        BeanDescription before = resolver.introspect(Pet.class);
+
+        new Reader(new SwaggerConfiguration()).read(PetResource.class);
+
+        assertNotSame(before, resolver.introspect(Pet.class));
+    }
+}
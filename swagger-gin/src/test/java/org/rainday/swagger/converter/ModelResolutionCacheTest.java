@@ -0,0 +1,161 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.swagger.v3.core.converter.AnnotatedType;
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.core.converter.ModelConverters;
+import io.swagger.v3.core.converter.ModelResolutionCache;
+import io.swagger.v3.core.converter.ResolvedSchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import org.junit.Test;
+import org.rainday.swagger.model.Category;
+import org.rainday.swagger.model.Pet;
+import org.rainday.swagger.model.Tag;
+
+public class ModelResolutionCacheTest {
+
+    public static class Views {
+        public static class Summary {
+        }
+
+        public static class Detail {
+        }
+    }
+
+    public static class Annotated {
+        @JsonView(Views.Summary.class)
+        @Schema(description = "summary")
+        public Pet summary;
+
+        @JsonView(Views.Detail.class)
+        @Schema(description = "detail")
+        public Pet detail;
+    }
+
+    @Test
+    public void keyCoversViewsAnnotationsAndFlags() throws Exception {
+        ModelResolutionCache cache = new ModelResolutionCache(16);
+        cache.put(new AnnotatedType(Pet.class), resolved("plain"));
+
+        assertNotNull(cache.get(new AnnotatedType(Pet.class)));
+        assertNull(cache.get(new AnnotatedType(Pet.class).jsonViewAnnotation(jsonView("summary"))));
+        assertNull(cache.get(new AnnotatedType(Pet.class).ctxAnnotations(annotations("summary"))));
+        assertNull(cache.get(new AnnotatedType(Pet.class).resolveAsRef(true)));
+        assertNull(cache.get(new AnnotatedType(Pet.class).skipSchemaName(true)));
+        assertNull(cache.get(new AnnotatedType(Pet.class).name("Animal")));
+
+        cache.put(new AnnotatedType(Pet.class).jsonViewAnnotation(jsonView("summary")), resolved("summary"));
+        assertEquals("summary", cache.get(new AnnotatedType(Pet.class).jsonViewAnnotation(jsonView("summary"))).schema.getDescription());
+        assertNull(cache.get(new AnnotatedType(Pet.class).jsonViewAnnotation(jsonView("detail"))));
+
+        cache.put(new AnnotatedType(Pet.class).ctxAnnotations(annotations("summary")), resolved("annotated"));
+        assertEquals("annotated", cache.get(new AnnotatedType(Pet.class).ctxAnnotations(annotations("summary"))).schema.getDescription());
+        assertNull(cache.get(new AnnotatedType(Pet.class).ctxAnnotations(annotations("detail"))));
+    }
+
+    @Test
+    public void typesWithParentOrUnwrappedHandlerAreNotCached() {
+        ModelResolutionCache cache = new ModelResolutionCache(16);
+
+        cache.put(new AnnotatedType(Pet.class).parent(new io.swagger.v3.oas.models.media.Schema<>()), resolved("child"));
+        cache.put(new AnnotatedType(Tag.class).jsonUnwrappedHandler(type -> null), resolved("unwrapped"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        ModelResolutionCache cache = new ModelResolutionCache(2);
+        cache.put(new AnnotatedType(Pet.class), resolved("pet"));
+        cache.put(new AnnotatedType(Tag.class), resolved("tag"));
+        // the pet is now more recently used than the tag
+        assertNotNull(cache.get(new AnnotatedType(Pet.class)));
+
+        cache.put(new AnnotatedType(Category.class), resolved("category"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(new AnnotatedType(Pet.class)));
+        assertNull(cache.get(new AnnotatedType(Tag.class)));
+        assertNotNull(cache.get(new AnnotatedType(Category.class)));
+    }
+
+    @Test
+    public void callersGetTheirOwnCopies() {
+        ModelResolutionCache cache = new ModelResolutionCache(16);
+        ResolvedSchema resolved = resolved("pet");
+        cache.put(new AnnotatedType(Pet.class), resolved);
+
+        resolved.schema.setDescription("changed after put");
+        ResolvedSchema first = cache.get(new AnnotatedType(Pet.class));
+        first.schema.setDescription("changed after get");
+        first.referencedSchemas.get("Pet").setDescription("changed after get");
+        ResolvedSchema second = cache.get(new AnnotatedType(Pet.class));
+
+        assertNotSame(first.schema, second.schema);
+        assertEquals("pet", second.schema.getDescription());
+        assertEquals("pet", second.referencedSchemas.get("Pet").getDescription());
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        ModelConverters converters = new ModelConverters();
+        converters.enableResolutionCache(16);
+        ModelResolutionCache cache = converters.getResolutionCache();
+
+        converters.readAll(Pet.class);
+        converters.readAll(Pet.class);
+        converters.readAll(Pet.class);
+        converters.readAll(Tag.class);
+
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void changingTheConvertersClearsTheCache() {
+        ModelConverters converters = new ModelConverters();
+        converters.enableResolutionCache(16);
+        ModelResolutionCache cache = converters.getResolutionCache();
+
+        converters.readAll(Pet.class);
+        ModelConverter converter = (type, context, chain) -> chain.hasNext() ? chain.next().resolve(type, context, chain) : null;
+        converters.addConverter(converter);
+        assertEquals(0, cache.size());
+
+        converters.readAll(Pet.class);
+        converters.removeConverter(converter);
+        assertEquals(0, cache.size());
+
+        converters.readAll(Pet.class);
+        converters.addPackageToSkip("org.rainday.swagger.unused");
+        assertEquals(0, cache.size());
+
+        converters.readAll(Pet.class);
+        converters.addClassToSkip("org.rainday.swagger.unused.Model");
+        assertEquals(0, cache.size());
+    }
+
+    private static ResolvedSchema resolved(String description) {
+        ResolvedSchema resolved = new ResolvedSchema();
+        resolved.schema = new StringSchema().description(description);
+        resolved.referencedSchemas = Collections.singletonMap("Pet", new StringSchema().description(description));
+        return resolved;
+    }
+
+    private static JsonView jsonView(String field) throws NoSuchFieldException {
+        return Annotated.class.getField(field).getAnnotation(JsonView.class);
+    }
+
+    private static Annotation[] annotations(String field) throws NoSuchFieldException {
+        return Annotated.class.getField(field).getAnnotations();
+    }
+}
@@ -0,0 +1,71 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.swagger.v3.core.converter.AnnotatedType;
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.core.converter.ModelConverterContext;
+import io.swagger.v3.core.converter.ModelConverters;
+import io.swagger.v3.core.converter.SelectiveModelConverter;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.rainday.swagger.model.Category;
+import org.rainday.swagger.model.Pet;
+
+public class SelectiveModelConverterTest {
+
+    private static class CountingConverter implements ModelConverter {
+        final List<Class<?>> resolved = new ArrayList<>();
+
+        @Override
+        public Schema resolve(AnnotatedType type, ModelConverterContext context, Iterator<ModelConverter> chain) {
+            resolved.add(Json.mapper().constructType(type.getType()).getRawClass());
+            return chain.hasNext() ? chain.next().resolve(type, context, chain) : null;
+        }
+    }
+
+    private static class CategoryConverter extends CountingConverter implements SelectiveModelConverter {
+        @Override
+        public Set<Class<?>> getApplicableClasses() {
+            return Collections.singleton(Category.class);
+        }
+    }
+
+    @Test
+    public void converterIsOnlyCalledForTheClassesItAppliesTo() {
+        ModelConverters converters = new ModelConverters();
+        CategoryConverter selective = new CategoryConverter();
+        CountingConverter plain = new CountingConverter();
+        converters.addConverter(selective);
+        converters.addConverter(plain);
+
+        Set<String> schemas = converters.readAll(Pet.class).keySet();
+
+        assertTrue(schemas.contains("Pet"));
+        assertTrue(schemas.contains("Category"));
+        assertTrue(plain.resolved.contains(Pet.class));
+        assertEquals(Collections.<Class<?>>singletonList(Category.class), selective.resolved);
+    }
+
+    @Test
+    public void chainsAreRebuiltWhenConvertersChange() {
+        ModelConverters converters = new ModelConverters();
+        converters.readAll(Category.class);
+
+        CategoryConverter selective = new CategoryConverter();
+        converters.addConverter(selective);
+        converters.readAll(Category.class);
+        assertEquals(1, selective.resolved.size());
+
+        converters.removeConverter(selective);
+        converters.readAll(Category.class);
+        assertEquals(1, selective.resolved.size());
+    }
+}
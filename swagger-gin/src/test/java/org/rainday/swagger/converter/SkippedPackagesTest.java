@@ -0,0 +1,84 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.swagger.v3.core.converter.ModelConverters;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.rainday.swagger.converter.skip.foo.Bar;
+import org.rainday.swagger.converter.skip.foo.bar.Qux;
+import org.rainday.swagger.converter.skip.foobar.Baz;
+
+/**
+ * Skipped packages are matched by segment, with the same result as {@code className.startsWith(prefix)}.
+ */
+public class SkippedPackagesTest {
+
+    private static final String SKIP = "org.rainday.swagger.converter.skip.";
+    private static final List<Class<?>> CLASSES = Arrays.asList(Bar.class, Qux.class, Baz.class);
+
+    @Test
+    public void prefixesMatchLikeStartsWith() {
+        List<String> prefixes = Arrays.asList(
+                SKIP + "foo", SKIP + "foo.", SKIP + "foo.bar", SKIP + "foo.bar.", SKIP + "foobar", SKIP + "foob",
+                SKIP + "fo", SKIP + "foo.B", SKIP + "foo.Bar", SKIP + "foo.Barx", SKIP + "foo.ba", SKIP + "bar",
+                SKIP, "org.rainday.swagger.converter.skip", "org.rainday", "org", "");
+        for (String prefix : prefixes) {
+            ModelConverters converters = new ModelConverters();
+            converters.addPackageToSkip(prefix);
+            for (Class<?> cls : CLASSES) {
+                assertEquals(prefix + " " + cls.getName(), !cls.getName().startsWith(prefix), isRead(converters, cls));
+            }
+        }
+    }
+
+    @Test
+    public void segmentBoundaries() {
+        ModelConverters converters = new ModelConverters();
+        converters.addPackageToSkip(SKIP + "foo.");
+        assertFalse(isRead(converters, Bar.class));
+        assertFalse(isRead(converters, Qux.class));
+        assertTrue(isRead(converters, Baz.class));
+
+        converters = new ModelConverters();
+        converters.addPackageToSkip(SKIP + "foo.bar");
+        assertTrue(isRead(converters, Bar.class));
+        assertFalse(isRead(converters, Qux.class));
+        assertTrue(isRead(converters, Baz.class));
+
+        // the last segment only has to start the segment of the class name
+        converters = new ModelConverters();
+        converters.addPackageToSkip(SKIP + "foo");
+        assertFalse(isRead(converters, Bar.class));
+        assertFalse(isRead(converters, Qux.class));
+        assertFalse(isRead(converters, Baz.class));
+    }
+
+    @Test
+    public void skippingAfterAClassWasReadAppliesToIt() {
+        ModelConverters converters = new ModelConverters();
+        for (Class<?> cls : CLASSES) {
+            assertTrue(isRead(converters, cls));
+        }
+
+        converters.addPackageToSkip(SKIP + "foo.bar.");
+        assertTrue(isRead(converters, Bar.class));
+        assertFalse(isRead(converters, Qux.class));
+        assertTrue(isRead(converters, Baz.class));
+
+        converters.addClassToSkip(Baz.class.getName());
+        assertTrue(converters.isRegisteredAsSkippedClass(Baz.class.getName()));
+        assertTrue(isRead(converters, Bar.class));
+        assertFalse(isRead(converters, Baz.class));
+
+        converters.addPackageToSkip(SKIP + "foo.Ba");
+        assertFalse(isRead(converters, Bar.class));
+    }
+
+    private static boolean isRead(ModelConverters converters, Class<?> cls) {
+        return !converters.read(cls).isEmpty();
+    }
+}
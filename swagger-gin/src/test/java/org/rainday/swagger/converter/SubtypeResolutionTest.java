@@ -0,0 +1,172 @@
+package org.rainday.swagger.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.swagger.v3.core.converter.ModelConverters;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.annotations.media.DiscriminatorMapping;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.Test;
+
+/**
+ * subtype-schemas.txt was written by the resolver which introspected the supertypes of a class on every resolution.
+ */
+public class SubtypeResolutionTest {
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Dog.class, name = "dog"),
+            @JsonSubTypes.Type(value = Cat.class, name = "cat"),
+            @JsonSubTypes.Type(value = Puppy.class, name = "puppy")
+    })
+    @Schema(discriminatorProperty = "type", discriminatorMapping = {
+            @DiscriminatorMapping(value = "dog", schema = Dog.class),
+            @DiscriminatorMapping(value = "cat", schema = Cat.class)
+    })
+    public abstract static class Animal {
+        public String name;
+    }
+
+    // Puppy is redeclared here, Cat and Parrot although they are no dogs
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Puppy.class, name = "puppy"),
+            @JsonSubTypes.Type(value = Cat.class, name = "cat"),
+            @JsonSubTypes.Type(value = Newborn.class, name = "newborn"),
+            @JsonSubTypes.Type(value = Parrot.class, name = "parrot")
+    })
+    public static class Dog extends Animal implements Pet {
+        public int barks;
+
+        @Override
+        public String getOwner() {
+            return null;
+        }
+    }
+
+    public static class Puppy extends Dog {
+        public int age;
+    }
+
+    // a subtype Puppy only inherits from its superclass
+    public static class Newborn extends Puppy {
+        public int weeks;
+    }
+
+    public static class Cat extends Animal implements Pet, Tagged {
+        public boolean indoor;
+
+        @Override
+        public String getOwner() {
+            return null;
+        }
+
+        @Override
+        public String getTag() {
+            return null;
+        }
+    }
+
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Cat.class, name = "cat"),
+            @JsonSubTypes.Type(value = Fish.class, name = "fish"),
+            @JsonSubTypes.Type(value = Puppy.class, name = "puppy")
+    })
+    public interface Pet {
+        String getOwner();
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Cat.class, name = "cat"),
+            @JsonSubTypes.Type(value = Fish.class, name = "fish"),
+            @JsonSubTypes.Type(value = GoldFish.class, name = "goldFish")
+    })
+    public interface Tagged {
+        String getTag();
+    }
+
+    public static class Fish implements Tagged, Pet {
+        public int fins;
+
+        @Override
+        public String getOwner() {
+            return null;
+        }
+
+        @Override
+        public String getTag() {
+            return null;
+        }
+    }
+
+    // a subtype Fish only inherits from an interface
+    public static class GoldFish extends Fish {
+        public String color;
+    }
+
+    // a class listing itself
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Bird.class, name = "bird"),
+            @JsonSubTypes.Type(value = Parrot.class, name = "parrot")
+    })
+    public static class Bird {
+        public boolean flies;
+    }
+
+    public static class Parrot extends Bird {
+        public int words;
+    }
+
+    private static final List<Class<?>> TYPES = Arrays.asList(Animal.class, Dog.class, Puppy.class, Newborn.class,
+            Cat.class, Pet.class, Tagged.class, Fish.class, GoldFish.class, Bird.class, Parrot.class);
+
+    @Test
+    public void schemasMatchTheBaseline() throws Exception {
+        assertEquals(read("/subtype-schemas.txt"), describeSchemas());
+    }
+
+    @Test
+    public void resolvingAgainGivesTheSameSchemas() throws Exception {
+        ModelConverters converters = new ModelConverters();
+        for (Class<?> type : TYPES) {
+            String first = Json.pretty(new TreeMap<>(converters.readAll(type)));
+            assertEquals(type.getSimpleName(), first, Json.pretty(new TreeMap<>(converters.readAll(type))));
+        }
+    }
+
+    static String describeSchemas() {
+        StringBuilder out = new StringBuilder();
+        for (Class<?> type : TYPES) {
+            out.append("== ").append(type.getSimpleName()).append('\n')
+                    .append(Json.pretty(new TreeMap<>(new ModelConverters().readAll(type)))).append('\n');
+        }
+        // one resolver for all of them, the later ones reading the nodes the earlier ones left
+        ModelConverters converters = new ModelConverters();
+        for (int i = TYPES.size() - 1; i >= 0; i--) {
+            out.append("== shared ").append(TYPES.get(i).getSimpleName()).append('\n')
+                    .append(Json.pretty(new TreeMap<>(converters.readAll(TYPES.get(i))))).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = SubtypeResolutionTest.class.getResourceAsStream(resource)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+}
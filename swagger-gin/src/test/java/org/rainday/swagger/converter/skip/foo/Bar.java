@@ -0,0 +1,5 @@
+package org.rainday.swagger.converter.skip.foo;
+
+public class Bar {
+    public String name;
+}
@@ -0,0 +1,5 @@
+package org.rainday.swagger.converter.skip.foo.bar;
+
+public class Qux {
+    public String name;
+}
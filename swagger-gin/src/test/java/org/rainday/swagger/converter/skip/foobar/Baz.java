@@ -0,0 +1,5 @@
+package org.rainday.swagger.converter.skip.foobar;
+
+public class Baz {
+    public String name;
+}
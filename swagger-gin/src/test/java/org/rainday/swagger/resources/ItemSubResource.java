@@ -0,0 +1,51 @@
+package org.rainday.swagger.resources;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.annotations.PathParam;
+import org.rainday.swagger.annotations.QueryParam;
+import org.rainday.swagger.methods.DELETE;
+import org.rainday.swagger.methods.GET;
+import org.rainday.swagger.methods.PUT;
+import org.rainday.swagger.model.Category;
+import org.rainday.swagger.model.Pet;
+
+@Tag(name = "items")
+public class ItemSubResource {
+
+    @GET
+    public List<Pet> list(@QueryParam("limit") int limit) {
+        return null;
+    }
+
+    @GET
+    @Path("/{itemId}")
+    public Pet get(@PathParam("itemId") long itemId) {
+        return null;
+    }
+
+    @PUT
+    @Path("/{itemId}")
+    public Pet update(@PathParam("itemId") long itemId, Pet pet) {
+        return null;
+    }
+
+    @PUT
+    @Path("/{itemId}/category")
+    public Category category(@RequestBody(description = "the new category") Category category) {
+        return null;
+    }
+
+    @DELETE
+    @Path("/{itemId}")
+    public void remove(@Parameter(description = "item to remove") @PathParam("itemId") long itemId) {
+    }
+
+    @Path("/{itemId}/tags")
+    public TagSubResource tags() {
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package org.rainday.swagger.resources;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rainday.swagger.annotations.HeaderParam;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.annotations.PathParam;
+import org.rainday.swagger.methods.POST;
+import org.rainday.swagger.model.Pet;
+
+@Path("/orders")
+@Tag(name = "orders", description = "order operations")
+public class OrderResource {
+
+    @Path("/{orderId}/items")
+    public ItemSubResource items(@PathParam("orderId") String orderId) {
+        return null;
+    }
+
+    @Path("/carts/{cartId}/items")
+    @Tag(name = "carts")
+    public ItemSubResource cartItems(@PathParam("cartId") String cartId, @HeaderParam("X-Cart") String cart) {
+        return null;
+    }
+
+    @Path("/{orderId}/draft")
+    public ItemSubResource draft(@PathParam("orderId") String orderId, Pet pet) {
+        return null;
+    }
+
+    @POST
+    @Path("/{orderId}/pets")
+    public TagSubResource pets(@PathParam("orderId") String orderId, Pet pet) {
+        return null;
+    }
+}
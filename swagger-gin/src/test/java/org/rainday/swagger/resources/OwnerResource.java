@@ -0,0 +1,17 @@
+package org.rainday.swagger.resources;
+
+import java.util.List;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.annotations.QueryParam;
+import org.rainday.swagger.methods.GET;
+import org.rainday.swagger.model.Tag;
+
+@Path("/pets")
+public class OwnerResource {
+
+    @GET
+    @Path("/tags")
+    public List<Tag> find(@QueryParam("name") String name) {
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package org.rainday.swagger.resources;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.annotations.PathParam;
+import org.rainday.swagger.annotations.QueryParam;
+import org.rainday.swagger.methods.GET;
+import org.rainday.swagger.methods.POST;
+import org.rainday.swagger.model.Pet;
+
+@Path("/pets")
+@Tag(name = "pets", description = "pet operations")
+public class PetResource {
+
+    @GET
+    public List<Pet> find(@QueryParam("status") String status) {
+        return null;
+    }
+
+    @GET
+    @Path("/{id}")
+    public Pet get(@PathParam("id") long id) {
+        return null;
+    }
+
+    @POST
+    public Pet add(Pet pet) {
+        return null;
+    }
+}
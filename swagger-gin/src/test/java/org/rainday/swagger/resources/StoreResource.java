@@ -0,0 +1,33 @@
+package org.rainday.swagger.resources;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.annotations.PathParam;
+import org.rainday.swagger.methods.DELETE;
+import org.rainday.swagger.methods.GET;
+import org.rainday.swagger.model.Category;
+
+@Path("/store")
+@Tag(name = "store")
+public class StoreResource {
+
+    @GET
+    public List<Category> find() {
+        return null;
+    }
+
+    @GET
+    @Path("/{id}")
+    @Operation(operationId = "get")
+    public Category category(@PathParam("id") long id) {
+        return null;
+    }
+
+    @DELETE
+    @Path("/{id}")
+    @Tag(name = "pets", description = "declared again with another description")
+    public void remove(@PathParam("id") long id) {
+    }
+}
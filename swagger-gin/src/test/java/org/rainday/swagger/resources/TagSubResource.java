@@ -0,0 +1,19 @@
+package org.rainday.swagger.resources;
+
+import java.util.List;
+import org.rainday.swagger.annotations.Path;
+import org.rainday.swagger.methods.GET;
+import org.rainday.swagger.model.Tag;
+
+public class TagSubResource {
+
+    @GET
+    public List<Tag> list() {
+        return null;
+    }
+
+    @Path("/first")
+    public Tag first() {
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package org.rainday.swagger.scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.junit.Test;
+import org.rainday.swagger.SwaggerConfiguration;
+import org.rainday.swagger.controller.ResourceInPackageA;
+import org.rainday.swagger.controller.ResourceInParent;
+import org.rainday.swagger.model.Pet;
+import org.rainday.swagger.scanner.inherited.InheritedResource;
+
+public class ClassPathScannerTest {
+
+    @Test
+    public void scansResourcePackage() {
+        ClassPathScanner scanner = new ClassPathScanner();
+        scanner.setConfiguration(new SwaggerConfiguration()
+                .resourcePackages(Collections.singleton("org.rainday.swagger.controller")));
+
+        Set<Class<?>> classes = scanner.classes();
+        assertTrue(classes.contains(ResourceInPackageA.class));
+        assertTrue(classes.contains(ResourceInParent.class));
+        assertEquals(2, classes.size());
+    }
+
+    @Test
+    public void leavesOutSuperTypesOfOtherPackages() {
+        // iterates over names in reverse order and visits the ones added meanwhile, as a concurrent map may
+        ClassPathScanner scanner = new ClassPathScanner() {
+            @Override
+            protected Map<String, ClassFileInfo> scanClassFiles() {
+                Map<String, ClassFileInfo> index = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+                index.putAll(super.scanClassFiles());
+                return index;
+            }
+        };
+        scanner.setConfiguration(new SwaggerConfiguration()
+                .resourcePackages(Collections.singleton("org.rainday.swagger.scanner.inherited")));
+
+        assertEquals(Collections.singleton(InheritedResource.class.getName()), scanner.classNames());
+    }
+
+    @Test
+    public void skipsPackagesWithoutResources() {
+        ClassPathScanner scanner = new ClassPathScanner();
+        scanner.setConfiguration(new SwaggerConfiguration()
+                .resourcePackages(Collections.singleton("org.rainday.swagger.model")));
+
+        assertFalse(scanner.classes().contains(Pet.class));
+        assertTrue(scanner.classNames().isEmpty());
+    }
+}
@@ -0,0 +1,8 @@
+package org.rainday.swagger.scanner.inherited;
+
+/**
+ * Not a resource, scanned after {@link InheritedResource} in reverse name order.
+ */
+public class Helper {
+
+}
@@ -0,0 +1,10 @@
+package org.rainday.swagger.scanner.inherited;
+
+import org.rainday.swagger.controller.ResourceInParent;
+
+/**
+ * A resource only through an annotated interface of another package.
+ */
+public class InheritedResource implements ResourceInParent {
+
+}
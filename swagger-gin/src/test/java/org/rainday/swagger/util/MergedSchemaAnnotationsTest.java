@@ -0,0 +1,248 @@
+package org.rainday.swagger.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.swagger.v3.core.util.AnnotationsUtils;
+import io.swagger.v3.oas.annotations.ExternalDocumentation;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.DiscriminatorMapping;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import org.junit.Test;
+
+/**
+ * schema-annotation-merges.txt was written by the merge of the baseline, which wrapped both annotations in anonymous
+ * classes comparing them on every call.
+ */
+public class MergedSchemaAnnotationsTest {
+
+    static class Plain {
+    }
+
+    @Schema(description = "type", title = "Type", maxLength = 5, nullable = true, example = "e", allowableValues = "a",
+            implementation = Plain.class)
+    static class SchemaType {
+    }
+
+    @ArraySchema(maxItems = 3, uniqueItems = true, schema = @Schema(description = "item", format = "f"))
+    static class ArrayType {
+    }
+
+    @ArraySchema(minItems = 1, arraySchema = @Schema(description = "array"))
+    static class BareArrayType {
+    }
+
+    @Schema(description = "both", minimum = "1")
+    @ArraySchema(maxItems = 4, schema = @Schema(title = "bothItem"))
+    static class BothType {
+    }
+
+    @Schema(description = "updated")
+    static class UpdatedType {
+    }
+
+    static class Ctx {
+        public Object none;
+
+        @Schema(description = "ctx", title = "Ctx", minLength = 2, readOnly = true, requiredProperties = "id",
+                externalDocs = @ExternalDocumentation(url = "http://docs"),
+                extensions = @Extension(name = "x", properties = @ExtensionProperty(name = "a", value = "b")),
+                discriminatorProperty = "kind", discriminatorMapping = @DiscriminatorMapping(value = "p", schema = Plain.class))
+        public Object schema;
+
+        @ArraySchema(minItems = 2, uniqueItems = true, schema = @Schema(description = "ctxItem", pattern = "p"),
+                arraySchema = @Schema(title = "ctxArray"))
+        public Object array;
+
+        @ArraySchema(maxItems = 7)
+        public Object bareArray;
+
+        @Schema(description = "ctxBoth", maxLength = 9)
+        @ArraySchema(minItems = 1, schema = @Schema(format = "ctxFormat"))
+        public Object both;
+
+        @Schema(implementation = Plain.class, description = "other")
+        public Object other;
+    }
+
+    private static final List<Class<?>> TYPES = Arrays.asList(Plain.class, SchemaType.class, ArrayType.class,
+            BareArrayType.class, BothType.class, String.class, List.class);
+    private static final List<String> CTX = Arrays.asList("none", "schema", "array", "bareArray", "both");
+
+    @Test
+    public void mergesMatchTheBaseline() throws Exception {
+        assertEquals(read("/schema-annotation-merges.txt"), describeMerges());
+    }
+
+    @Test
+    public void repeatedMergesAreTheSameInstance() throws Exception {
+        for (Class<?> type : TYPES) {
+            for (String ctx : CTX) {
+                assertSame(type.getSimpleName() + " " + ctx, merge(ctx, type), merge(ctx, type));
+            }
+        }
+        assertNotSame(merge("schema", SchemaType.class), merge("other", SchemaType.class));
+    }
+
+    @Test
+    public void updateAnnotationDropsTheMerges() throws Exception {
+        Annotation merged = merge("schema", UpdatedType.class);
+        Schema replacement = SchemaType.class.getAnnotation(Schema.class);
+
+        AnnotationsUtils.updateAnnotation(UpdatedType.class, replacement);
+
+        Annotation again = merge("schema", UpdatedType.class);
+        assertNotSame(merged, again);
+        // the annotations of a class can only be replaced on java 8
+        if (UpdatedType.class.getAnnotation(Schema.class) == replacement) {
+            assertEquals("Type", ((Schema) again).title());
+        } else {
+            assertEquals(describe(merged), describe(again));
+        }
+    }
+
+    @Test
+    public void mergesOfApplicationAnnotationsDoNotKeepTheirClassLoader() throws Exception {
+        ClassLoader loader = new ReloadingClassLoader(Reloaded.class.getName(), getClass().getClassLoader());
+        Class<?> reloaded = loader.loadClass(Reloaded.class.getName());
+        assertNotSame(Reloaded.class, reloaded);
+        Annotation[] annotations = reloaded.getField("items").getAnnotations();
+        JavaType list = TypeFactory.defaultInstance().constructType(List.class);
+        Annotation merged = AnnotationsUtils.mergeSchemaAnnotations(annotations, list);
+        assertNotNull(merged);
+        assertSame(merged, AnnotationsUtils.mergeSchemaAnnotations(annotations, list));
+
+        WeakReference<ClassLoader> reference = new WeakReference<>(loader);
+        loader = null;
+        reloaded = null;
+        annotations = null;
+        merged = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    public static class Reloaded {
+        public static class Item {
+        }
+
+        @ArraySchema(schema = @Schema(implementation = Item.class, description = "reloaded"))
+        public List<Item> items;
+    }
+
+    /**
+     * Defines the classes of a prefix itself, like the class loader of an application deployed again.
+     */
+    static class ReloadingClassLoader extends ClassLoader {
+        private final String prefix;
+
+        ReloadingClassLoader(String prefix, ClassLoader parent) {
+            super(parent);
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(prefix)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> cls = findLoadedClass(name);
+                if (cls == null) {
+                    try {
+                        byte[] bytes = bytes(getParent().getResourceAsStream(name.replace('.', '/') + ".class"));
+                        cls = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return cls;
+            }
+        }
+    }
+
+    static String describeMerges() throws Exception {
+        StringBuilder out = new StringBuilder();
+        for (Class<?> type : TYPES) {
+            for (String ctx : CTX) {
+                out.append(type.getSimpleName()).append(' ').append(ctx).append(" -> ")
+                        .append(describe(merge(ctx, type))).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static Annotation merge(String ctx, Class<?> type) throws NoSuchFieldException {
+        return AnnotationsUtils.mergeSchemaAnnotations(Ctx.class.getField(ctx).getAnnotations(),
+                TypeFactory.defaultInstance().constructType(type));
+    }
+
+    /**
+     * @return every member of the annotation, nested annotations included, in the order of their names
+     */
+    private static String describe(Object value) throws Exception {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Annotation) {
+            Annotation annotation = (Annotation) value;
+            Method[] members = annotation.annotationType().getDeclaredMethods();
+            Arrays.sort(members, Comparator.comparing(Method::getName));
+            StringJoiner joiner = new StringJoiner(", ", "@" + annotation.annotationType().getSimpleName() + "(", ")");
+            for (Method member : members) {
+                joiner.add(member.getName() + "=" + describe(member.invoke(annotation)));
+            }
+            return joiner.toString();
+        }
+        if (value instanceof Class) {
+            return ((Class<?>) value).getSimpleName();
+        }
+        if (value.getClass().isArray()) {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (int i = 0; i < Array.getLength(value); i++) {
+                joiner.add(describe(Array.get(value, i)));
+            }
+            return joiner.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = MergedSchemaAnnotationsTest.class.getResourceAsStream(resource)) {
+            return new String(bytes(in), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+
+    private static byte[] bytes(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.rainday.swagger.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.OAuthFlows;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * The schema, parameter, security scheme, paths, responses and callback deserializers bind from the token stream.
+ * model-deserializer.txt was written by the earlier deserializers, which read every value into a tree first.
+ */
+public class ModelDeserializerTest {
+
+    private static final Map<Class<?>, List<String>> VALUES = new LinkedHashMap<>();
+
+    static {
+        VALUES.put(Schema.class, Arrays.asList("true", "\"x\"", "null", "[1]", "{}", "{\"type\":\"string\"}"));
+        VALUES.put(Parameter.class, Arrays.asList("true", "\"x\"", "[1]", "{\"name\":\"n\"}", "{\"in\":\"query\"}"));
+        VALUES.put(SecurityScheme.class, Arrays.asList("\"x\"", "[1]", "{}", "{\"type\":\"bogus\"}"));
+        VALUES.put(ApiResponses.class, Arrays.asList("true", "[1]", "{}"));
+        VALUES.put(Paths.class, Arrays.asList("true", "[1]", "{}"));
+        VALUES.put(Callback.class, Arrays.asList("true", "[1]", "{}", "{\"$ref\":\"r\",\"x-c\":1}"));
+    }
+
+    @Test
+    public void matchesTheTreeBasedResult() throws IOException {
+        assertEquals(expected(), describe(openAPI()));
+    }
+
+    @Test
+    public void keysAfterTheDiscriminatingKeysAreBound() throws IOException {
+        Map<String, Schema> schemas = openAPI().getComponents().getSchemas();
+
+        assertEquals("#/components/schemas/A", schemas.get("T").get$ref());
+        // a $ref replaces every other key
+        assertEquals(null, schemas.get("T").getDescription());
+        assertSame(IntegerSchema.class, schemas.get("U").getClass());
+        assertEquals("int64", schemas.get("U").getFormat());
+        assertEquals(10, schemas.get("U").getMaximum().intValue());
+        assertSame(DateSchema.class, schemas.get("W").getClass());
+        assertEquals(1, schemas.get("W").getEnum().size());
+
+        Parameter parameter = openAPI().getPaths().get("/a").getGet().getParameters().get(1);
+        assertSame(PathParameter.class, parameter.getClass());
+        assertEquals("p", parameter.getName());
+        assertEquals(1, parameter.getExtensions().get("x-p"));
+        assertSame(IntegerSchema.class, parameter.getSchema().getClass());
+    }
+
+    @Test
+    public void additionalPropertiesKeepTheirKind() throws IOException {
+        Map<String, Schema> schemas = openAPI().getComponents().getSchemas();
+
+        assertSame(MapSchema.class, schemas.get("X").getClass());
+        assertEquals(Boolean.TRUE, schemas.get("X").getAdditionalProperties());
+        assertSame(ObjectSchema.class, schemas.get("Y").getClass());
+        assertEquals(Boolean.FALSE, schemas.get("Y").getAdditionalProperties());
+        assertSame(MapSchema.class, schemas.get("V").getClass());
+        assertSame(IntegerSchema.class, schemas.get("V").getAdditionalProperties().getClass());
+        Schema<?> items = ((ArraySchema) schemas.get("Z")).getItems();
+        assertSame(MapSchema.class, items.getClass());
+        assertSame(ArraySchema.class, items.getAdditionalProperties().getClass());
+    }
+
+    @Test
+    public void extensionsAreKept() throws IOException {
+        OpenAPI openAPI = openAPI();
+        Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+
+        assertEquals(1, schemas.get("X").getExtensions().get("x-map"));
+        assertEquals(Collections.singletonMap("a", "b"), schemas.get("S").getExtensions().get("x-ext"));
+        assertEquals(Arrays.asList(1, "s"), schemas.get("S").getExtensions().get("x-ext2"));
+        assertTrue(schemas.get("C").getExtensions().containsKey("x-first"));
+        assertEquals(Collections.singletonMap("k", Arrays.asList(1, 2)),
+                openAPI.getPaths().get("/a").getGet().getResponses().getExtensions().get("x-r"));
+        assertEquals(true, openAPI.getPaths().get("/a").getGet().getCallbacks().get("cb2").getExtensions().get("x-c"));
+    }
+
+    @Test
+    public void oauthFlowsAreBoundOnceTheTypeIsKnown() throws IOException {
+        Map<String, SecurityScheme> securitySchemes = openAPI().getComponents().getSecuritySchemes();
+
+        OAuthFlows implicit = securitySchemes.get("o").getFlows();
+        assertEquals("http://a", implicit.getImplicit().getAuthorizationUrl());
+        assertEquals("read", implicit.getImplicit().getScopes().get("r"));
+
+        SecurityScheme scheme = securitySchemes.get("o2");
+        assertEquals(SecurityScheme.Type.OAUTH2, scheme.getType());
+        assertEquals("d", scheme.getDescription());
+        OAuthFlows flows = scheme.getFlows();
+        assertEquals("http://t", flows.getPassword().getTokenUrl());
+        assertEquals("http://r", flows.getClientCredentials().getRefreshUrl());
+        assertEquals(1, flows.getClientCredentials().getExtensions().get("x-f"));
+        assertEquals("write", flows.getAuthorizationCode().getScopes().get("w"));
+        assertEquals(true, flows.getExtensions().get("x-flows"));
+
+        // flows only belong to oauth2
+        assertEquals(null, securitySchemes.get("h").getFlows());
+        assertEquals("JWT", securitySchemes.get("h").getBearerFormat());
+    }
+
+    @Test
+    public void nonStringTypeIsAMismatchedInput() throws IOException {
+        try {
+            Json.mapper().readValue("{\"type\":1}", Schema.class);
+            fail();
+        } catch (MismatchedInputException e) {
+            // the tree-based deserializer failed with a ClassCastException
+        }
+    }
+
+    private static OpenAPI openAPI() throws IOException {
+        return Json.mapper().readValue(read("/model-deserializer.json"), OpenAPI.class);
+    }
+
+    private static String expected() throws IOException {
+        return read("/model-deserializer.txt");
+    }
+
+    /**
+     * The json of the result, then the class of every schema and parameter, then the outcome of values that are
+     * not objects or carry no discriminating key.
+     */
+    private static String describe(OpenAPI openAPI) {
+        StringBuilder out = new StringBuilder(Json.pretty(openAPI)).append('\n');
+        openAPI.getPaths().forEach((path, pathItem) -> pathItem(path, pathItem, out));
+        Components components = openAPI.getComponents();
+        components.getSchemas().forEach((name, schema) -> schema("#/components/schemas/" + name, schema, out));
+        components.getParameters().forEach((name, parameter) -> parameter("#/components/parameters/" + name, parameter, out));
+        components.getResponses().forEach((name, response) -> response("#/components/responses/" + name, response, out));
+        components.getCallbacks().forEach((name, callback) -> callback("#/components/callbacks/" + name, callback, out));
+        components.getSecuritySchemes().forEach((name, scheme) -> type("#/components/securitySchemes/" + name, scheme, out));
+        VALUES.forEach((type, values) -> {
+            for (String value : values) {
+                value(type.getSimpleName() + " " + value, value, type, out);
+            }
+        });
+        return normalize(out.toString());
+    }
+
+    private static void pathItem(String path, PathItem pathItem, StringBuilder out) {
+        if (pathItem == null) {
+            return;
+        }
+        pathItem.readOperationsMap().forEach((method, operation) -> {
+            String operationPath = path + "/" + method.toString().toLowerCase();
+            if (operation.getParameters() != null) {
+                for (int i = 0; i < operation.getParameters().size(); i++) {
+                    parameter(operationPath + "/parameters/" + i, operation.getParameters().get(i), out);
+                }
+            }
+            if (operation.getResponses() != null) {
+                operation.getResponses().forEach((code, response) -> response(operationPath + "/responses/" + code, response, out));
+            }
+            if (operation.getCallbacks() != null) {
+                operation.getCallbacks().forEach((name, callback) -> callback(operationPath + "/callbacks/" + name, callback, out));
+            }
+        });
+    }
+
+    private static void parameter(String path, Parameter parameter, StringBuilder out) {
+        type(path, parameter, out);
+        if (parameter != null) {
+            schema(path + "/schema", parameter.getSchema(), out);
+        }
+    }
+
+    private static void response(String path, ApiResponse response, StringBuilder out) {
+        type(path, response, out);
+        if (response != null) {
+            content(path + "/content", response.getContent(), out);
+        }
+    }
+
+    private static void callback(String path, Callback callback, StringBuilder out) {
+        type(path, callback, out);
+        if (callback != null) {
+            callback.forEach((expression, pathItem) -> pathItem(path + "/" + expression, pathItem, out));
+        }
+    }
+
+    private static void content(String path, Content content, StringBuilder out) {
+        if (content != null) {
+            content.forEach((mediaType, media) -> schema(path + "/" + mediaType + "/schema", media.getSchema(), out));
+        }
+    }
+
+    private static void schema(String path, Schema<?> schema, StringBuilder out) {
+        if (schema == null) {
+            return;
+        }
+        type(path, schema, out);
+        if (schema.getProperties() != null) {
+            schema.getProperties().forEach((name, property) -> schema(path + "/properties/" + name, property, out));
+        }
+        if (schema instanceof ArraySchema) {
+            schema(path + "/items", ((ArraySchema) schema).getItems(), out);
+        }
+        if (schema instanceof ComposedSchema) {
+            schemas(path + "/allOf", ((ComposedSchema) schema).getAllOf(), out);
+            schemas(path + "/anyOf", ((ComposedSchema) schema).getAnyOf(), out);
+            schemas(path + "/oneOf", ((ComposedSchema) schema).getOneOf(), out);
+        }
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            schema(path + "/additionalProperties", (Schema<?>) schema.getAdditionalProperties(), out);
+        } else {
+            type(path + "/additionalProperties", schema.getAdditionalProperties(), out);
+        }
+        schema(path + "/not", schema.getNot(), out);
+    }
+
+    private static void schemas(String path, List<Schema> schemas, StringBuilder out) {
+        if (schemas != null) {
+            for (int i = 0; i < schemas.size(); i++) {
+                schema(path + "/" + i, schemas.get(i), out);
+            }
+        }
+    }
+
+    private static void type(String path, Object value, StringBuilder out) {
+        if (value != null) {
+            out.append(path).append(' ').append(value.getClass().getSimpleName()).append('\n');
+        }
+    }
+
+    private static void value(String label, String json, Class<?> type, StringBuilder out) {
+        String outcome;
+        try {
+            Object value = Json.mapper().readValue(json, type);
+            outcome = value == null ? "null" : value.getClass().getSimpleName() + " " + Json.mapper().writeValueAsString(value);
+        } catch (IOException | RuntimeException e) {
+            outcome = "error";
+        }
+        out.append(label).append(" -> ").append(outcome).append('\n');
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = ModelDeserializerTest.class.getResourceAsStream(resource)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return normalize(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // the pretty printer uses the system line separator
+    private static String normalize(String text) {
+        return text.replace("\r\n", "\n");
+    }
+}
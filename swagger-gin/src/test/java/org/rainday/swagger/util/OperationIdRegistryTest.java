@@ -0,0 +1,31 @@
+package org.rainday.swagger.util;
+
+import static org.junit.Assert.assertEquals;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import org.junit.Test;
+
+public class OperationIdRegistryTest {
+
+    @Test
+    public void handsOutFirstFreeSuffix() {
+        Paths paths = new Paths()
+                .addPathItem("/a", new PathItem().get(new Operation().operationId("find")).post(new Operation().operationId("find_2")))
+                .addPathItem("/b", new PathItem().trace(new Operation().operationId("trace")));
+        OperationIdRegistry registry = OperationIdRegistry.of(paths);
+
+        assertEquals("trace", registry.next("trace"));
+        assertEquals("find_1", registry.next("find"));
+        // not added, so still free
+        assertEquals("find_1", registry.next("find"));
+
+        Operation find1 = new Operation().operationId("find_1");
+        registry.add(find1);
+        assertEquals("find_3", registry.next("find"));
+
+        registry.remove(find1);
+        assertEquals("find_1", registry.next("find"));
+    }
+}
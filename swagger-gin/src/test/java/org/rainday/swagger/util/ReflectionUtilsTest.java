@@ -0,0 +1,149 @@
+package org.rainday.swagger.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.swagger.v3.core.util.ReflectionUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * The lookups are cached per class, every one is checked twice against what reflection gives for the hierarchy.
+ */
+public class ReflectionUtilsTest {
+
+    @Operation(summary = "meta")
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface Summary {
+    }
+
+    interface Api<T> {
+        T find(@Parameter(description = "api") String id);
+
+        void save(List<T> values);
+    }
+
+    @Tag(name = "base")
+    abstract static class Base<T> implements Api<T> {
+        protected String name;
+        protected T value;
+
+        @Operation(summary = "base")
+        @Tag(name = "find")
+        @Override
+        public T find(@Schema(description = "base") String id) {
+            return null;
+        }
+    }
+
+    @Tag(name = "pets")
+    @Tag(name = "animals")
+    static class PetApi extends Base<String> {
+        protected String name;
+
+        @Override
+        public String find(@Parameter(description = "pet") String id) {
+            return null;
+        }
+
+        @Summary
+        @Override
+        public void save(List<String> values) {
+        }
+    }
+
+    @Test
+    public void overriddenAndBridgeMethods() throws Exception {
+        Method find = PetApi.class.getDeclaredMethod("find", String.class);
+        Method bridge = bridge(PetApi.class, "find");
+        Method save = PetApi.class.getDeclaredMethod("save", List.class);
+        Method baseFind = Base.class.getDeclaredMethod("find", String.class);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(bridge.isBridge());
+            assertEquals(baseFind, ReflectionUtils.getOverriddenMethod(find));
+            assertEquals(baseFind, ReflectionUtils.getOverriddenMethod(bridge));
+            assertEquals(Api.class.getMethod("save", List.class), ReflectionUtils.getOverriddenMethod(save));
+            assertNull(ReflectionUtils.getOverriddenMethod(Api.class.getMethod("find", String.class)));
+
+            assertEquals(baseFind, ReflectionUtils.findMethod(find, Base.class));
+            assertEquals(Api.class.getMethod("save", List.class), ReflectionUtils.findMethod(save, Base.class));
+
+            // same erasure, other generic parameter types
+            assertTrue(ReflectionUtils.isOverriddenMethod(save, PetApi.class));
+            assertFalse(ReflectionUtils.isOverriddenMethod(find, PetApi.class));
+        }
+    }
+
+    @Test
+    public void annotationsOfOverriddenMethods() throws Exception {
+        Method find = PetApi.class.getDeclaredMethod("find", String.class);
+        Method save = PetApi.class.getDeclaredMethod("save", List.class);
+        Method baseFind = Base.class.getDeclaredMethod("find", String.class);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(baseFind.getAnnotation(Operation.class), ReflectionUtils.getAnnotation(find, Operation.class));
+            assertEquals(Summary.class.getAnnotation(Operation.class), ReflectionUtils.getAnnotation(save, Operation.class));
+            assertNull(ReflectionUtils.getAnnotation(save, Tag.class));
+
+            assertEquals(Arrays.asList(baseFind.getAnnotationsByType(Tag.class)), ReflectionUtils.getRepeatableAnnotations(find, Tag.class));
+            assertTrue(ReflectionUtils.getRepeatableAnnotations(save, Tag.class).isEmpty());
+
+            Annotation[][] parameterAnnotations = ReflectionUtils.getParameterAnnotations(find);
+            assertArrayEquals(new Annotation[]{
+                    find.getParameterAnnotations()[0][0],
+                    baseFind.getParameterAnnotations()[0][0]
+            }, parameterAnnotations[0]);
+            // callers get their own arrays
+            parameterAnnotations[0][0] = null;
+        }
+    }
+
+    @Test
+    public void annotationsAndFieldsOfClasses() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(PetApi.class.getAnnotation(Tag.class), ReflectionUtils.getAnnotation(PetApi.class, Tag.class));
+            assertEquals(Base.class.getAnnotation(Tag.class), ReflectionUtils.getAnnotation(Base.class, Tag.class));
+            assertNull(ReflectionUtils.getAnnotation(Api.class, Tag.class));
+
+            Tag[] tags = ReflectionUtils.getRepeatableAnnotationsArray(PetApi.class, Tag.class);
+            assertArrayEquals(PetApi.class.getAnnotationsByType(Tag.class), tags);
+            tags[0] = null;
+
+            List<Field> fields = ReflectionUtils.getDeclaredFields(PetApi.class);
+            // the name of Base is hidden by the one of PetApi
+            assertEquals(Arrays.asList("PetApi.name", "Base.value"), fields.stream()
+                    .map(field -> field.getDeclaringClass().getSimpleName() + "." + field.getName())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private static Method bridge(Class<?> cls, String name) {
+        List<Method> bridges = new ArrayList<>();
+        for (Method method : cls.getDeclaredMethods()) {
+            if (method.getName().equals(name) && method.isBridge()) {
+                bridges.add(method);
+            }
+        }
+        assertEquals(1, bridges.size());
+        return bridges.get(0);
+    }
+}
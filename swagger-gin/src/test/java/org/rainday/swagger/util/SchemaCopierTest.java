@@ -0,0 +1,218 @@
+package org.rainday.swagger.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.SchemaCopier;
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BinarySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ByteArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.EmailSchema;
+import io.swagger.v3.oas.models.media.FileSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.PasswordSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.media.UUIDSchema;
+import io.swagger.v3.oas.models.media.XML;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class SchemaCopierTest {
+
+    @Test
+    public void copiesEveryFieldOfTheSchemaClasses() throws Exception {
+        for (Schema<Object> schema : Arrays.<Schema<Object>>asList(new Schema<>(), new ArraySchema(), new ComposedSchema(), new MapSchema())) {
+            fill(schema);
+            if (schema instanceof ArraySchema) {
+                ((ArraySchema) schema).setItems(new StringSchema());
+            } else if (schema instanceof ComposedSchema) {
+                ((ComposedSchema) schema).allOf(list(new ObjectSchema()))
+                        .anyOf(list(new StringSchema()))
+                        .oneOf(list(new IntegerSchema()));
+            }
+            Schema<Object> copy = SchemaCopier.copy(schema);
+
+            for (Class<?> cls = schema.getClass(); cls != Object.class; cls = cls.getSuperclass()) {
+                for (Field field : cls.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object value = field.get(schema);
+                    String name = schema.getClass().getSimpleName() + "." + field.getName();
+                    // a field added to the schema classes has to be filled here and copied by SchemaCopier
+                    assertNotNull(name + " is not filled", value);
+                    assertEquals(name, Json.mapper().valueToTree(value), Json.mapper().valueToTree(field.get(copy)));
+                    if (!(value instanceof String || value instanceof Boolean || value instanceof Number)) {
+                        assertNotSame(name, value, field.get(copy));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void copyIsWrittenLikeTheSource() {
+        ObjectNode example = Json.mapper().createObjectNode().put("id", 1);
+        example.putArray("tags").add("a");
+
+        ArraySchema array = new ArraySchema().items(new StringSchema()._enum(list("a", "b"))._default("a"));
+        array.example(list("a"));
+        array.addExtension("x-array", Collections.singletonMap("nested", list(1, 2)));
+
+        ComposedSchema composed = new ComposedSchema();
+        composed.allOf(list(new Schema<>().$ref("Pet"), new ObjectSchema().addProperties("name", new StringSchema())))
+                .oneOf(list(new Schema<>().$ref("Cat"), new Schema<>().$ref("Dog")))
+                .discriminator(new Discriminator().propertyName("kind").mapping("cat", "#/components/schemas/Cat"));
+        composed.example(example);
+
+        MapSchema map = new MapSchema();
+        map.additionalProperties(new IntegerSchema().format("int64")).description("counts");
+        map.setDefault(Collections.singletonMap("a", 1));
+        MapSchema openMap = new MapSchema();
+        openMap.additionalProperties(true);
+
+        DateSchema date = new DateSchema();
+        date.setExample("2020-01-02");
+        date.setDefault(new Date(0));
+
+        StringSchema stringEnum = new StringSchema()._enum(list("red", "green"));
+        stringEnum.example("red");
+        stringEnum.addExtension("x-names", list("Red", "Green"));
+        IntegerSchema integerEnum = new IntegerSchema().addEnumItem(1).addEnumItem(2)._default(2);
+
+        for (Schema<?> schema : Arrays.<Schema<?>>asList(array, composed, map, openMap, date, stringEnum, integerEnum)) {
+            Schema<?> copy = SchemaCopier.copy(schema);
+            assertSame(schema.getClass(), copy.getClass());
+            assertEquals(Json.pretty(schema), Json.pretty(copy));
+        }
+    }
+
+    @Test
+    public void copyKeepsTheSchemaClass() {
+        List<Schema<?>> schemas = Arrays.asList(new ArraySchema(), new BinarySchema(), new BooleanSchema(), new ByteArraySchema(),
+                new ComposedSchema(), new DateSchema(), new DateTimeSchema(), new EmailSchema(), new FileSchema(), new IntegerSchema(),
+                new MapSchema(), new NumberSchema(), new ObjectSchema(), new PasswordSchema(), new Schema<>(), new StringSchema(),
+                new UUIDSchema());
+        for (Schema<?> schema : schemas) {
+            schema.setName(schema.getClass().getSimpleName());
+            Schema<?> copy = SchemaCopier.copy(schema);
+            assertSame(schema.getClass(), copy.getClass());
+            assertEquals(schema.getName(), copy.getName());
+            assertEquals(Json.pretty(schema), Json.pretty(copy));
+        }
+    }
+
+    @Test
+    public void sharedAndCyclicSchemasStaySharedAndCyclic() {
+        ObjectSchema owner = new ObjectSchema();
+        ObjectSchema pet = new ObjectSchema();
+        pet.addProperties("owner", owner);
+        owner.addProperties("pet", pet);
+        owner.addProperties("previousPet", pet);
+        owner.addProperties("pets", new ArraySchema().items(pet));
+
+        ObjectSchema copy = SchemaCopier.copy(owner);
+
+        Schema<?> petCopy = copy.getProperties().get("pet");
+        assertNotSame(pet, petCopy);
+        assertSame(petCopy, copy.getProperties().get("previousPet"));
+        assertSame(petCopy, ((ArraySchema) copy.getProperties().get("pets")).getItems());
+        assertSame(copy, petCopy.getProperties().get("owner"));
+    }
+
+    @Test
+    public void changingTheCopyLeavesTheSource() {
+        ObjectNode example = Json.mapper().createObjectNode().put("id", 1);
+        StringSchema tag = new StringSchema()._enum(list("a"));
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperties("tag", tag);
+        schema.setExample(example);
+        schema.addExtension("x-tags", list("a"));
+        String json = Json.pretty(schema);
+
+        ObjectSchema copy = SchemaCopier.copy(schema);
+        copy.addProperties("name", new StringSchema());
+        ((StringSchema) copy.getProperties().get("tag")).addEnumItem("b");
+        copy.addExtension("x-other", true);
+        @SuppressWarnings("unchecked")
+        List<Object> tags = (List<Object>) copy.getExtensions().get("x-tags");
+        tags.add("b");
+        ((ObjectNode) copy.getExample()).put("id", 2);
+
+        assertEquals(json, Json.pretty(schema));
+        assertEquals(list("a"), tag.getEnum());
+        assertSame(example, schema.getExample());
+    }
+
+    private static void fill(Schema<Object> schema) {
+        Map<String, Schema> properties = new LinkedHashMap<>();
+        properties.put("id", new IntegerSchema());
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("x-list", list("a"));
+        extensions.put("x-map", Collections.singletonMap("a", 1));
+
+        schema.setName("full");
+        schema.setTitle("title");
+        schema.setMultipleOf(new BigDecimal("0.5"));
+        schema.setMaximum(BigDecimal.TEN);
+        schema.setExclusiveMaximum(true);
+        schema.setMinimum(BigDecimal.ONE);
+        schema.setExclusiveMinimum(false);
+        schema.setMaxLength(5);
+        schema.setMinLength(1);
+        schema.setPattern("^a");
+        schema.setMaxItems(3);
+        schema.setMinItems(1);
+        schema.setUniqueItems(true);
+        schema.setMaxProperties(4);
+        schema.setMinProperties(1);
+        schema.setRequired(list("id"));
+        schema.setType("object");
+        schema.setNot(new StringSchema());
+        schema.setProperties(properties);
+        schema.setAdditionalProperties(new StringSchema());
+        schema.setDescription("description");
+        schema.setFormat("format");
+        schema.set$ref("#/components/schemas/Other");
+        schema.setNullable(true);
+        schema.setReadOnly(true);
+        schema.setWriteOnly(false);
+        schema.setExample(Json.mapper().createObjectNode().put("id", 1));
+        schema.setExternalDocs(new ExternalDocumentation().url("http://docs").description("docs"));
+        schema.setDeprecated(true);
+        schema.setXml(new XML().name("full").wrapped(true));
+        schema.setExtensions(extensions);
+        schema.setEnum(list(Collections.singletonMap("id", 1)));
+        schema.setDiscriminator(new Discriminator().propertyName("kind").mapping("a", "#/components/schemas/A"));
+        schema.setDefault(new ArrayList<>(list(1, 2)));
+    }
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values) {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+}